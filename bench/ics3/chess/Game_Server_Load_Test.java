@@ -0,0 +1,232 @@
+package ics3.chess;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for the Game_Server. It plays many games at once over loopback, with two simulated clients
+ * per game, each on its own virtual thread. Every client keeps its own rules engine and plays random
+ * legal moves, resigning once the game reaches a certain length. The test reports the number of moves
+ * per second the server handled and the latency between sending a move and receiving its acknowledgement.
+ * Needs Java 21.
+ *
+ * Usage: java ics3.chess.Game_Server_Load_Test [games] [concurrent games] [max plies] [host:port]
+ *   (the defaults are 10000 games, 1000 at a time, 80 plies, and a server started inside the test)
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Game_Server_Load_Test {
+
+    // The latency of every acknowledged move, in nanoseconds
+    private static long[] latencies;
+    // The number of latencies recorded so far
+    private static final AtomicInteger latencyCount = new AtomicInteger();
+    // The number of games that did not finish properly
+    private static final AtomicInteger failedGames = new AtomicInteger();
+    // The number of games that ended by checkmate or stalemate, rather than by a resignation
+    private static final AtomicInteger decisiveGames = new AtomicInteger();
+    // Seeds the random number generator of each client
+    private static final AtomicLong seeds = new AtomicLong(1);
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Game_Server_Load_Test() {
+    }
+
+    /**
+     * Main method for the load test
+     *
+     * @param args The command-line arguments (see the class description)
+     * @throws Exception If the server cannot be started or the test is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int concurrentGames = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int maxPlies = args.length > 2 ? Integer.parseInt(args[2]) : 80;
+
+        Game_Server server = null;
+        String host;
+        int port;
+        if (args.length > 3) {
+            host = args[3].substring(0, args[3].lastIndexOf(':'));
+            port = Integer.parseInt(args[3].substring(args[3].lastIndexOf(':') + 1));
+        } else {
+            server = new Game_Server(0);
+            server.start();
+            host = InetAddress.getLoopbackAddress().getHostAddress();
+            port = server.getPort();
+        }
+
+        latencies = new long[games * (maxPlies + 1)];
+        Semaphore gameSlots = new Semaphore(concurrentGames);
+        long startTime = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < games; i++) {
+                gameSlots.acquire();
+                String name = "game-" + i;
+                AtomicInteger clientsLeft = new AtomicInteger(2);
+                for (int c = 0; c < 2; c++) {
+                    clients.execute(() -> {
+                        try {
+                            playGame(host, port, name, maxPlies);
+                        } catch (IOException | RuntimeException e) {
+                            failedGames.incrementAndGet();
+                        } finally {
+                            if (clientsLeft.decrementAndGet() == 0) {
+                                gameSlots.release();
+                            }
+                        }
+                    });
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        if (server != null) {
+            server.stop();
+        }
+
+        int moves = latencyCount.get();
+        long[] sorted = Arrays.copyOf(latencies, moves);
+        Arrays.sort(sorted);
+        System.out.println("Games: " + games + " (" + concurrentGames + " at a time)  Checkmates/stalemates: " + decisiveGames.get()
+                + "  Failed clients: " + failedGames.get());
+        System.out.println("Moves: " + moves + "  Time: " + elapsedNanos / 1000000 + " ms  Moves/s: " + (long) (moves * 1e9 / elapsedNanos));
+        if (moves > 0) {
+            System.out.printf("Move acknowledgement latency: p50 %.3f ms  p99 %.3f ms  max %.3f ms%n",
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, sorted[moves - 1] / 1e6);
+        }
+        if (failedGames.get() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Helper method that plays one side of a game until it ends
+     *
+     * @param host     The server's host
+     * @param port     The server's port
+     * @param name     The name of the game to join
+     * @param maxPlies The number of half-moves after which the player to move resigns
+     * @throws IOException If the connection fails
+     */
+    private static void playGame(String host, int port, String name, int maxPlies) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+            Random random = new Random(seeds.getAndIncrement());
+
+            send(writer, "JOIN " + name);
+            String line = expect(reader, "JOINED ");
+            int colour = line.endsWith("WHITE") ? Bitboard_Position.WHITE : Bitboard_Position.BLACK;
+            line = expect(reader, "START ");
+            Chess_Rules_Engine engine = new Chess_Rules_Engine();
+            engine.setUpPosition(line.substring("START ".length()));
+            engine.findAndStoreAllPossibleMovesForPlayer();
+
+            int plies = 0;
+            while (true) {
+                // With no legal moves, the game is over and the server's GAMEOVER is on its way
+                if (engine.getPosition().getSideToMove() == colour && engine.getPossibleMoveCount() > 0) {
+                    if (plies >= maxPlies) {
+                        send(writer, "RESIGN");
+                    } else {
+                        String move = Move.toCoordinateNotation(engine.getPossibleMove(random.nextInt(engine.getPossibleMoveCount())));
+                        long sentTime = System.nanoTime();
+                        send(writer, "MOVE " + move);
+                        expect(reader, "OK " + move);
+                        latencies[latencyCount.getAndIncrement()] = System.nanoTime() - sentTime;
+                        applyMove(engine, move);
+                        plies++;
+                    }
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Connection closed during the game");
+                } else if (line.startsWith("OPPONENT ")) {
+                    applyMove(engine, line.substring("OPPONENT ".length()));
+                    plies++;
+                } else if (line.startsWith("GAMEOVER ")) {
+                    if (colour == Bitboard_Position.WHITE && !line.endsWith("RESIGNATION")) {
+                        decisiveGames.incrementAndGet();
+                    }
+                    send(writer, "QUIT");
+                    return;
+                } else {
+                    throw new IllegalStateException("Unexpected reply: " + line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that makes a move on a client's own copy of the game
+     *
+     * @param engine             The client's rules engine
+     * @param coordinateNotation The move
+     */
+    private static void applyMove(Chess_Rules_Engine engine, String coordinateNotation) {
+        int move = engine.findPossibleMove(coordinateNotation);
+        if (move == Move.NONE) {
+            throw new IllegalStateException("Illegal move from the server: " + coordinateNotation);
+        }
+        engine.makeMove(move);
+        engine.findAndStoreAllPossibleMovesForPlayer();
+    }
+
+    /**
+     * Helper method that sends one line to the server
+     *
+     * @param writer The connection's writer
+     * @param line   The line
+     * @throws IOException If the connection fails
+     */
+    private static void send(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * Helper method that reads one line from the server and checks how it starts
+     *
+     * @param reader   The connection's reader
+     * @param prefix   What the line must start with
+     * @return String  The line
+     * @throws IOException If the connection fails
+     */
+    private static String expect(BufferedReader reader, String prefix) throws IOException {
+        String line = reader.readLine();
+        if (line == null || !line.startsWith(prefix)) {
+            throw new IllegalStateException("Expected " + prefix.trim() + " but got " + line);
+        }
+        return line;
+    }
+
+    /**
+     * Helper method that finds a percentile of some sorted values
+     *
+     * @param sorted   The values, in increasing order
+     * @param fraction The percentile, as a fraction (e.g. 0.99)
+     * @return long    The value at that percentile
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
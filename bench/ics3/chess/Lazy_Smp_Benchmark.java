@@ -0,0 +1,97 @@
+package ics3.chess;
+
+/**
+ * Benchmark for how well the Lazy_Smp_Search scales with the number of threads. For 1, 2, 4, ... threads
+ * (up to the number of cores, or the number given), it searches a fixed set of middlegame positions to a
+ * fixed depth, starting each search with an empty transposition table, and reports the time taken to reach
+ * the depth and the nodes per second, each compared with one thread. It also reports the fraction of cut-offs
+ * caused by the first move searched, which shows how well the search orders its moves.
+ *
+ * Usage: java ics3.chess.Lazy_Smp_Benchmark [depth] [max threads] [transposition table MB]
+ *   (the defaults are depth 7, every core, and 64 MB)
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Lazy_Smp_Benchmark {
+
+    // The positions that are searched
+    private static final String[] POSITIONS = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "r2q1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1BN2/PP2QPPP/R4RK1 b - - 3 11",
+            "r1bq1rk1/pp2ppbp/2np1np1/8/3NP3/2N1BP2/PPPQ2PP/R3KB1R w KQ - 3 9",
+            "2rq1rk1/pb1nbppp/1p2pn2/2pp4/2PP4/1PN1PN2/PB2BPPP/2RQ1RK1 w - - 4 12",
+            "r1b2rk1/2q1bppp/p2p1n2/np2p3/3PP3/5N1P/PPBN1PP1/R1BQR1K1 w - - 1 13",
+    };
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Lazy_Smp_Benchmark() {
+    }
+
+    /**
+     * Main method for the benchmark
+     *
+     * @param args The command-line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int tableSizeMegabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        Bitboard_Position[] positions = new Bitboard_Position[POSITIONS.length];
+        for (int i = 0; i < POSITIONS.length; i++) {
+            positions[i] = new Bitboard_Position();
+            positions[i].setFromFen(POSITIONS[i]);
+        }
+        Transposition_Table transposition_table = new Transposition_Table(tableSizeMegabytes);
+
+        // Warm up the JIT compiler with a shallower search of every position
+        Lazy_Smp_Search warmUp = new Lazy_Smp_Search(1, transposition_table);
+        for (Bitboard_Position position : positions) {
+            transposition_table.clear();
+            warmUp.prepare();
+            warmUp.search(position, Math.max(1, depth - 1), 0);
+        }
+
+        System.out.println("Depth " + depth + ", " + positions.length + " positions, " + tableSizeMegabytes + " MB table");
+        System.out.println("threads   time (ms)   speedup       nodes         nps   nps scaling   first-move cut-offs   pawn hash hits");
+        double singleThreadMillis = 0;
+        double singleThreadNps = 0;
+        // 1, 2, 4, ... threads, finishing with the maximum
+        int threads = 1;
+        while (true) {
+            Lazy_Smp_Search search = new Lazy_Smp_Search(threads, transposition_table);
+            long totalNanos = 0;
+            long totalNodes = 0;
+            double totalFirstMoveCutoffRate = 0;
+            double totalPawnHashHitRate = 0;
+            for (Bitboard_Position position : positions) {
+                transposition_table.clear();
+                long startTime = System.nanoTime();
+                search.prepare();
+                search.search(position, depth, 0);
+                totalNanos += System.nanoTime() - startTime;
+                totalNodes += search.getNodeCount();
+                totalFirstMoveCutoffRate += search.getFirstMoveCutoffRate();
+                totalPawnHashHitRate += search.getPawnHashHitRate();
+            }
+            double millis = totalNanos / 1e6;
+            double nps = totalNodes * 1e9 / totalNanos;
+            if (threads == 1) {
+                singleThreadMillis = millis;
+                singleThreadNps = nps;
+            }
+            System.out.printf("%7d %11.0f %9.2f %11d %11.0f %13.2f %20.1f%% %15.1f%%%n", threads, millis, singleThreadMillis / millis,
+                    totalNodes, nps, nps / singleThreadNps, 100 * totalFirstMoveCutoffRate / positions.length,
+                    100 * totalPawnHashHitRate / positions.length);
+            if (threads >= maxThreads) {
+                break;
+            }
+            threads = Math.min(threads * 2, maxThreads);
+        }
+    }
+}
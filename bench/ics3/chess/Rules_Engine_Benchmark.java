@@ -0,0 +1,263 @@
+package ics3.chess;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark for the hot paths of the rules engine, and of the parts of the search built on them (capture
+ * generation, static exchange evaluation, and the evaluation with and without its pawn hash table). Each
+ * benchmark runs over a fixed corpus of opening, middlegame and endgame positions, and reports its
+ * throughput (operations per second) and allocation rate (bytes allocated per operation, measured with the
+ * JVM's per-thread allocation counter). Every benchmark is warmed up first so that the JIT compiler has
+ * compiled it before it is measured.
+ *
+ * Usage: java ics3.chess.Rules_Engine_Benchmark [seconds per measurement iteration]
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Rules_Engine_Benchmark {
+
+    // The positions that every benchmark runs over
+    private static final String[] POSITIONS = {
+            // Openings
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3",
+            "rnbqkb1r/pp2pppp/3p1n2/8/3NP3/8/PPP2PPP/RNBQKB1R w KQkq - 1 5",
+            // Middlegames
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "r2q1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1BN2/PP2QPPP/R4RK1 b - - 3 11",
+            // Endgames
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "8/8/4k3/3p4/3P4/4K3/8/8 w - - 0 50",
+            "6k1/5ppp/8/8/8/8/r4PPP/1R4K1 w - - 0 30",
+    };
+
+    // Warm-up and measurement iterations for each benchmark
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    // Results are added into this field so that the JIT compiler cannot remove the benchmarked code
+    private static volatile long sink;
+
+    /**
+     * A benchmarked operation. Each call does one pass over the corpus and returns how many operations it
+     * did, along with a value that depends on the results (which is added into the sink).
+     */
+    private interface Operation {
+        /**
+         * Runs one pass of the benchmark
+         *
+         * @param result Array whose first element receives a value depending on the results
+         * @return int   The number of operations done
+         */
+        int run(long[] result);
+    }
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Rules_Engine_Benchmark() {
+    }
+
+    /**
+     * Main method for the benchmark
+     *
+     * @param args Optionally, the number of seconds each measurement iteration lasts (default 1)
+     */
+    public static void main(String[] args) {
+        double secondsPerIteration = args.length > 0 ? Double.parseDouble(args[0]) : 1.0;
+        long nanosPerIteration = (long) (secondsPerIteration * 1000000000L);
+
+        Chess_Rules_Engine engine = new Chess_Rules_Engine();
+        Bitboard_Position[] positions = new Bitboard_Position[POSITIONS.length];
+        // For each position, the [row, column] locations of the pieces that can move and of every square
+        int[][][] fromLocations = new int[POSITIONS.length][][];
+        int[][][] toLocations = new int[POSITIONS.length][][];
+        for (int i = 0; i < POSITIONS.length; i++) {
+            positions[i] = new Bitboard_Position();
+            positions[i].setFromFen(POSITIONS[i]);
+            int[] moves = new int[Move_Generator.MAX_MOVES];
+            int moveCount = Move_Generator.generateLegalMoves(positions[i], moves, 0);
+            fromLocations[i] = new int[moveCount][];
+            toLocations[i] = new int[moveCount][];
+            for (int m = 0; m < moveCount; m++) {
+                int fromSquare = Move.getFromSquare(moves[m]);
+                // Half of the targets are moved one square along, so that both legal and illegal moves are asked about
+                int toSquare = m % 2 == 0 ? Move.getToSquare(moves[m]) : (Move.getToSquare(moves[m]) + 1) & 63;
+                fromLocations[i][m] = new int[]{fromSquare / 8, fromSquare % 8};
+                toLocations[i][m] = new int[]{toSquare / 8, toSquare % 8};
+            }
+        }
+
+        // For each position, the captures and promotions that static exchange evaluation is run on
+        int[][] captures = new int[POSITIONS.length][];
+        for (int i = 0; i < POSITIONS.length; i++) {
+            int[] moves = new int[Move_Generator.MAX_MOVES];
+            captures[i] = Arrays.copyOf(moves, Move_Generator.generateLegalCaptures(positions[i], moves, 0));
+        }
+
+        // The positions after each legal move of the corpus positions, for the evaluation benchmarks (most of
+        // them share their pawn structure with their neighbours, as the positions in a search do)
+        List<Bitboard_Position> childPositions = new ArrayList<>();
+        for (Bitboard_Position position : positions) {
+            int[] moves = new int[Move_Generator.MAX_MOVES];
+            int moveCount = Move_Generator.generateLegalMoves(position, moves, 0);
+            for (int m = 0; m < moveCount; m++) {
+                Bitboard_Position child = new Bitboard_Position(position);
+                child.makeMove(moves[m]);
+                childPositions.add(child);
+            }
+        }
+        Bitboard_Position[] evaluatedPositions = childPositions.toArray(new Bitboard_Position[0]);
+        Pawn_Hash_Table pawn_hash_table = new Pawn_Hash_Table(Pawn_Hash_Table.DEFAULT_ENTRY_COUNT);
+
+        System.out.printf("%-40s %16s %14s%n", "Benchmark", "ops/s", "bytes/op");
+
+        run("findAndStoreAllPossibleMovesForPlayer", nanosPerIteration, result -> {
+            int operations = 0;
+            for (String fen : POSITIONS) {
+                engine.setUpPosition(fen);
+                for (int repeat = 0; repeat < 100; repeat++) {
+                    engine.findAndStoreAllPossibleMovesForPlayer();
+                    result[0] += engine.getPossibleMoveCount();
+                    operations++;
+                }
+            }
+            return operations;
+        });
+
+        run("isKingInCheck", nanosPerIteration, result -> {
+            int operations = 0;
+            for (String fen : POSITIONS) {
+                engine.setUpPosition(fen);
+                for (int repeat = 0; repeat < 1000; repeat++) {
+                    if (engine.isKingInCheck((repeat & 1) == 0)) {
+                        result[0]++;
+                    }
+                    operations++;
+                }
+            }
+            return operations;
+        });
+
+        run("isMovePartOfPossibleMoves", nanosPerIteration, result -> {
+            int operations = 0;
+            for (int i = 0; i < POSITIONS.length; i++) {
+                engine.setUpPosition(POSITIONS[i]);
+                engine.findAndStoreAllPossibleMovesForPlayer();
+                for (int repeat = 0; repeat < 100; repeat++) {
+                    for (int m = 0; m < fromLocations[i].length; m++) {
+                        if (engine.isMovePartOfPossibleMoves(fromLocations[i][m], toLocations[i][m])) {
+                            result[0]++;
+                        }
+                        operations++;
+                    }
+                }
+            }
+            return operations;
+        });
+
+        // The check test that replaced the old checkIfKingInCheck(): whether a move would leave the mover's
+        // king in check, asked for every pseudo-legal move in the position
+        run("doesMoveLeaveKingInCheck", nanosPerIteration, result -> {
+            int operations = 0;
+            for (Bitboard_Position position : positions) {
+                long pieces = position.getColourOccupancy(position.getSideToMove());
+                while (pieces != 0) {
+                    int fromSquare = Long.numberOfTrailingZeros(pieces);
+                    pieces &= pieces - 1;
+                    long targets = position.getPseudoLegalTargets(fromSquare);
+                    while (targets != 0) {
+                        int toSquare = Long.numberOfTrailingZeros(targets);
+                        targets &= targets - 1;
+                        if (position.doesMoveLeaveKingInCheck(fromSquare, toSquare)) {
+                            result[0]++;
+                        }
+                        operations++;
+                    }
+                }
+            }
+            return operations;
+        });
+
+        run("generateLegalCaptures", nanosPerIteration, result -> {
+            int[] moves = new int[Move_Generator.MAX_MOVES];
+            int operations = 0;
+            for (Bitboard_Position position : positions) {
+                for (int repeat = 0; repeat < 100; repeat++) {
+                    result[0] += Move_Generator.generateLegalCaptures(position, moves, 0);
+                    operations++;
+                }
+            }
+            return operations;
+        });
+
+        run("Evaluation.evaluate (pawn hash)", nanosPerIteration, result -> {
+            for (Bitboard_Position position : evaluatedPositions) {
+                result[0] += Evaluation.evaluate(position, pawn_hash_table);
+            }
+            return evaluatedPositions.length;
+        });
+
+        run("Evaluation.evaluate (no pawn hash)", nanosPerIteration, result -> {
+            for (Bitboard_Position position : evaluatedPositions) {
+                result[0] += Evaluation.evaluate(position);
+            }
+            return evaluatedPositions.length;
+        });
+
+        // One operation is one capture played out to the end of its exchange
+        run("Static_Exchange_Evaluator.evaluate", nanosPerIteration, result -> {
+            int operations = 0;
+            for (int i = 0; i < positions.length; i++) {
+                for (int repeat = 0; repeat < 100; repeat++) {
+                    for (int capture : captures[i]) {
+                        result[0] += Static_Exchange_Evaluator.evaluate(positions[i], capture);
+                        operations++;
+                    }
+                }
+            }
+            return operations;
+        });
+    }
+
+    /**
+     * Helper method that warms up, measures and prints one benchmark
+     *
+     * @param name              The name of the benchmark
+     * @param nanosPerIteration How long each iteration lasts, in nanoseconds
+     * @param operation         The benchmarked operation
+     */
+    private static void run(String name, long nanosPerIteration, Operation operation) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long[] result = new long[1];
+        double bestOperationsPerSecond = 0;
+        double totalOperationsPerSecond = 0;
+        double bytesPerOperation = 0;
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASUREMENT_ITERATIONS; iteration++) {
+            long operations = 0;
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            long startTime = System.nanoTime();
+            long elapsedNanos;
+            do {
+                operations += operation.run(result);
+                elapsedNanos = System.nanoTime() - startTime;
+            } while (elapsedNanos < nanosPerIteration);
+            long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (iteration >= WARMUP_ITERATIONS) {
+                double operationsPerSecond = operations * 1e9 / elapsedNanos;
+                totalOperationsPerSecond += operationsPerSecond;
+                bestOperationsPerSecond = Math.max(bestOperationsPerSecond, operationsPerSecond);
+                bytesPerOperation += (double) allocatedBytes / operations / MEASUREMENT_ITERATIONS;
+            }
+        }
+        sink += result[0];
+        System.out.printf("%-40s %16.0f %14.2f   (best %.0f ops/s)%n", name, totalOperationsPerSecond / MEASUREMENT_ITERATIONS, bytesPerOperation, bestOperationsPerSecond);
+    }
+}
@@ -0,0 +1,93 @@
+package ics3.chess;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Regression test for Tablebase.getBestMove() when some moves lead to positions the tables cannot answer.
+ * It generates the KPvK tables (and the smaller tables they need) into a temporary directory, and then
+ * looks at a position where only promoting the pawn wins. With every table, the best move must be the
+ * promotion to a queen; with the KQvK and KRvK tables missing, the promotions cannot be looked up and every
+ * other move draws, so there must be no best move (the search then chooses instead) rather than a drawing
+ * king move. The test exits with status 1 if either answer is wrong.
+ *
+ * Usage: java ics3.chess.Tablebase_Best_Move_Test
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Tablebase_Best_Move_Test {
+
+    // White wins only by promoting the pawn (to a queen or a rook); every other move draws
+    private static final String PROMOTION_FEN = "3K4/P7/k7/8/8/8/8/8 w - - 0 1";
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Tablebase_Best_Move_Test() {
+    }
+
+    /**
+     * Main method for the test
+     *
+     * @param args The command-line arguments (none are used)
+     * @throws IOException If the tables cannot be generated or read
+     */
+    public static void main(String[] args) throws IOException {
+        Path allTables = Files.createTempDirectory("tablebase-all");
+        Path someTables = Files.createTempDirectory("tablebase-some");
+        boolean isPassing;
+        try {
+            Tablebase_Generator.main(new String[] {allTables.toString(), "--distances", "KPvK"});
+            for (String signature : new String[] {"KPvK", "KBvK", "KNvK"}) {
+                String fileName = signature + Tablebase_File.FILE_EXTENSION;
+                Files.copy(allTables.resolve(fileName), someTables.resolve(fileName));
+            }
+
+            Bitboard_Position position = new Bitboard_Position();
+            position.setFromFen(PROMOTION_FEN);
+            int withAllTables = new Tablebase(allTables).getBestMove(position);
+            int withSomeTables = new Tablebase(someTables).getBestMove(position);
+            System.out.println("Best move with every table: " + describe(withAllTables));
+            System.out.println("Best move without KQvK and KRvK: " + describe(withSomeTables));
+            isPassing = describe(withAllTables).equals("a7a8q") && withSomeTables == Move.NONE;
+        } finally {
+            deleteDirectory(allTables);
+            deleteDirectory(someTables);
+        }
+
+        if (!isPassing) {
+            System.out.println("FAILED");
+            System.exit(1);
+        }
+        System.out.println("Passed");
+    }
+
+    /**
+     * Helper method that writes a move for the report
+     *
+     * @param move   The packed move, or Move.NONE
+     * @return String The move in coordinate notation, or "none"
+     */
+    private static String describe(int move) {
+        return move == Move.NONE ? "none" : Move.toCoordinateNotation(move);
+    }
+
+    /**
+     * Helper method that deletes a directory and everything in it
+     *
+     * @param directory The directory
+     * @throws IOException If something in it cannot be deleted
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
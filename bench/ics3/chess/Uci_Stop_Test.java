@@ -0,0 +1,152 @@
+package ics3.chess;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression test for the Uci_Engine's handling of "stop". It drives an engine (in-process, through its
+ * input and output streams) with "go infinite" and "go ponder" searches that are stopped straight away,
+ * which is when a stop can arrive before the search thread has started the search. Each stopped search
+ * must send its "bestmove", and the engine must go on answering "isready" and starting new searches. The
+ * test exits with status 1 if any answer does not arrive within a few seconds.
+ *
+ * Usage: java ics3.chess.Uci_Stop_Test [rounds]
+ *   (the default is 200 rounds, each of which stops one infinite and one ponder search)
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Uci_Stop_Test {
+
+    // The longest to wait for any one answer (in seconds)
+    private static final long ANSWER_TIMEOUT_SECONDS = 5;
+
+    // The lines the engine has sent, in order
+    private static final BlockingQueue<String> answers = new LinkedBlockingQueue<>();
+    // Where the commands are written (the engine reads them from the other end of the pipe)
+    private static PipedWriter commands;
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Uci_Stop_Test() {
+    }
+
+    /**
+     * Main method for the test
+     *
+     * @param args The command-line arguments (see the class description)
+     * @throws Exception If the engine cannot be started or the test is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        commands = new PipedWriter();
+        BufferedReader engineInput = new BufferedReader(new PipedReader(commands, 1 << 16));
+        Uci_Engine engine = new Uci_Engine(new PrintStream(new Line_Collector(), true, StandardCharsets.UTF_8));
+        Thread engineThread = new Thread(() -> {
+            try {
+                engine.run(engineInput);
+            } catch (IOException e) {
+                answers.add("error " + e.getMessage());
+            }
+        }, "uci-engine");
+        engineThread.setDaemon(true);
+        engineThread.start();
+
+        boolean isPassing = expect("uci", "uciok");
+        String[] searches = {"go infinite", "go ponder wtime 10000 btime 10000"};
+        for (int round = 0; round < rounds && isPassing; round++) {
+            for (int i = 0; i < searches.length && isPassing; i++) {
+                send("position startpos");
+                send(searches[i]);
+                isPassing = expect("stop", "bestmove") && expect("isready", "readyok");
+                if (!isPassing) {
+                    System.out.println("Round " + (round + 1) + ": no answer after \"" + searches[i] + "\" and \"stop\"");
+                }
+            }
+            // A new position and a search to a fixed depth must still work after the stopped searches
+            isPassing = isPassing && expect("position startpos moves e2e4", null) && expect("go depth 2", "bestmove")
+                    && expect("isready", "readyok");
+        }
+        send("quit");
+
+        if (!isPassing) {
+            System.out.println("FAILED");
+            System.exit(1);
+        }
+        System.out.println("All " + rounds + " rounds passed");
+    }
+
+    /**
+     * Helper method that sends a command and waits for the engine's answer to it, skipping any "info" and
+     * other lines before it
+     *
+     * @param command       The command to send
+     * @param answerPrefix  The start of the expected answer, or null if no answer is expected
+     * @return boolean      Whether or not the answer arrived in time
+     * @throws IOException          If the command cannot be sent
+     * @throws InterruptedException If the test is interrupted while waiting
+     */
+    private static boolean expect(String command, String answerPrefix) throws IOException, InterruptedException {
+        send(command);
+        if (answerPrefix == null) {
+            return true;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ANSWER_TIMEOUT_SECONDS);
+        while (true) {
+            String answer = answers.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (answer == null) {
+                return false;
+            }
+            if (answer.startsWith(answerPrefix)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Helper method that sends one command to the engine
+     *
+     * @param command The command
+     * @throws IOException If the command cannot be written
+     */
+    private static void send(String command) throws IOException {
+        commands.write(command + "\n");
+        commands.flush();
+    }
+
+    /**
+     * Collects what the engine writes into lines, and adds each finished line to the answers
+     */
+    private static final class Line_Collector extends OutputStream {
+
+        // The bytes of the line being written
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        /**
+         * Implementation of the write() method of OutputStream
+         *
+         * @param b The byte to write
+         */
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                answers.add(line.toString(StandardCharsets.UTF_8).trim());
+                line.reset();
+            } else {
+                line.write(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package ics3.chess;
+
+/**
+ * Utility class that computes the squares attacked by each type of chess piece on a bitboard.
+ * Squares are numbered (row * 8 + column), using the same rows and columns as the
+ * Chess_Board.board_squares array, so square 0 is the top left corner (a8) and square 63 is the
+ * bottom right corner (h1). Bit n of a bitboard represents square n.
+ *
+ * All of the attacks are worked out once when the class is loaded and stored in tables, so that each
+ * query is only a few array lookups. The tables are never changed afterwards, so they can be shared by
+ * any number of positions and threads. Rook and bishop attacks depend on which squares are occupied,
+ * and are looked up with "magic bitboards": the occupied squares that can block the piece are multiplied
+ * by a number (a "magic number", one per square) that packs them into a small index into the table.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Bitboard_Attacks {
+
+    // Masks used to stop shifted bitboards from wrapping around to the other side of the board
+    static final long COLUMN_A = 0x0101010101010101L;
+    static final long COLUMN_H = COLUMN_A << 7;
+    static final long NOT_COLUMN_A = ~COLUMN_A;
+    static final long NOT_COLUMN_H = ~COLUMN_H;
+    static final long NOT_COLUMNS_AB = ~(COLUMN_A | (COLUMN_A << 1));
+    static final long NOT_COLUMNS_GH = ~(COLUMN_H | (COLUMN_H >>> 1));
+
+    // The row and column step of each sliding direction (the first four are rook directions, the last four bishop directions)
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] COLUMN_STEPS = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    // The squares attacked by a knight, a king and a pawn of each colour on each square
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    // For each square, the squares that can block a rook or bishop on it (the edge squares at the end of
+    // each ray are left out, since the piece attacks them whether or not they are occupied)
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    // The magic number of each square (found ahead of time by testing random numbers with few bits set
+    // until one mapped every blocker arrangement of the square to a usable index)
+    private static final long[] ROOK_MAGICS = {
+            0x8080002040008010L, 0x0240100020004000L, 0x0200200A00108040L, 0x0200100822000440L,
+            0x06000A0004600810L, 0x0980020001140080L, 0x040004029008110EL, 0x0200004100802402L,
+            0x0080800040008020L, 0x0050400040201000L, 0x0004802001100080L, 0x2810801002880180L,
+            0x1300800800040080L, 0x5802001004020008L, 0x0005000402000100L, 0x0202000061008A04L,
+            0x1010820021004200L, 0x500140C010002001L, 0x0000410010200101L, 0x0900220010084200L,
+            0x8001010004100800L, 0x0A02008004008002L, 0x0400040010020108L, 0x01004A0000910044L,
+            0x0200400080008030L, 0x0000400040201000L, 0x0A41004100102000L, 0x1040080080100080L,
+            0x0008008080040008L, 0x1414020080800400L, 0x0414888400010210L, 0x0008004200008104L,
+            0x0242004082002100L, 0x2400201000400040L, 0x0006200841001100L, 0x080240100A002200L,
+            0x0124004008080080L, 0x8404004100400200L, 0xA401000401000200L, 0x4020042042001081L,
+            0x0030804000208000L, 0x3010002002444010L, 0x000A002080120040L, 0x8808008030028048L,
+            0x080C000802808004L, 0x0045000204010008L, 0x8000020110040008L, 0x320002824402002DL,
+            0xA800800220C01280L, 0x1404400084200480L, 0x4021001020004100L, 0x0200800800100080L,
+            0x498C000800048080L, 0x0300020004008080L, 0x0004411088020400L, 0x4080010084004200L,
+            0x04081A8000210143L, 0x1600400080110021L, 0x0000401008200501L, 0x0414081001002005L,
+            0x0081000800500205L, 0x40070002181C0005L, 0x0C04103802010084L, 0x2000082400830942L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x0860240108023084L, 0x40A0018200910200L, 0x0022008102000710L, 0x0104040292028416L,
+            0x0084042000008000L, 0x0000882088800200L, 0x009108080CD40880L, 0x000A01C20A104280L,
+            0x0004040868184088L, 0x4420A00114008C80L, 0x41000802241020A1L, 0x0000080841004224L,
+            0x03040D1040104000L, 0x8000060824040028L, 0x0021024818080880L, 0x8240010400820800L,
+            0x2184200820081208L, 0x201803042820C40AL, 0x00040008004C0008L, 0x0064211044008000L,
+            0x1044002280A04280L, 0x8410408280504000L, 0x0021001848029000L, 0x04004B0904121900L,
+            0x40200840101AD840L, 0x3108023208108914L, 0x0244010D02180101L, 0x00C4080014021002L,
+            0x0008840040802000L, 0x2204084048080210L, 0x0000810822280220L, 0x000108422B240409L,
+            0x0A0848402048C208L, 0x0828220850107108L, 0x001404C800040124L, 0x0808200900200900L,
+            0xA7D00A02004C2008L, 0x1460004080810098L, 0x12C1041428050904L, 0x604200A203012A00L,
+            0x42041004122184B0L, 0x0400523010202410L, 0x800080C040441808L, 0x0050020122040400L,
+            0x1000021040413401L, 0x0040300040400080L, 0x0044902081000208L, 0x3009022281004204L,
+            0x8C00880410046004L, 0x8692020884050081L, 0x0801212108188220L, 0x0000000508680060L,
+            0x2020041202020000L, 0x2020200421220080L, 0x0025100292040031L, 0x0888010400820400L,
+            0x1002808088014120L, 0x0800143404041460L, 0x0800881020841084L, 0x2818024904208810L,
+            0x0402000440504108L, 0x4221001002100444L, 0x200084C808580890L, 0x0002100101090200L
+    };
+    // How far the product of the blockers and the magic number is shifted to leave just the index
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    // Where each square's part of the attack table starts
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    // The attacks of every square and blocker arrangement, indexed by offset + magic index
+    private static final long[] ROOK_TABLE = new long[102400];
+    private static final long[] BISHOP_TABLE = new long[5248];
+
+    // The squares strictly between two squares, and the whole line through them, for each pair of
+    // squares on a shared row, column or diagonal (0 for other pairs)
+    private static final long[][] SQUARES_BETWEEN = new long[64][64];
+    private static final long[][] LINES_THROUGH = new long[64][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = computeKnightAttacks(square);
+            KING_ATTACKS[square] = computeKingAttacks(square);
+            PAWN_ATTACKS[Bitboard_Position.WHITE][square] = computePawnAttacks(Bitboard_Position.WHITE, square);
+            PAWN_ATTACKS[Bitboard_Position.BLACK][square] = computePawnAttacks(Bitboard_Position.BLACK, square);
+        }
+        initMagics(ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS, ROOK_TABLE, 0, 4);
+        initMagics(BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS, BISHOP_TABLE, 4, 8);
+        for (int first = 0; first < 64; first++) {
+            for (int second = 0; second < 64; second++) {
+                long firstBit = 1L << first;
+                long secondBit = 1L << second;
+                if (first == second) {
+                    continue;
+                }
+                // Attacks from each square, with only the other square blocking, overlap exactly on the squares between them
+                if ((rookAttacks(first, 0L) & secondBit) != 0) {
+                    SQUARES_BETWEEN[first][second] = rookAttacks(first, secondBit) & rookAttacks(second, firstBit);
+                    LINES_THROUGH[first][second] = (rookAttacks(first, 0L) & rookAttacks(second, 0L)) | firstBit | secondBit;
+                } else if ((bishopAttacks(first, 0L) & secondBit) != 0) {
+                    SQUARES_BETWEEN[first][second] = bishopAttacks(first, secondBit) & bishopAttacks(second, firstBit);
+                    LINES_THROUGH[first][second] = (bishopAttacks(first, 0L) & bishopAttacks(second, 0L)) | firstBit | secondBit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Bitboard_Attacks() {
+    }
+
+    /**
+     * Returns the squares attacked by a knight on the given square
+     *
+     * @param square The square the knight is on
+     * @return long  The bitboard of attacked squares
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Returns the squares attacked by a king on the given square
+     *
+     * @param square The square the king is on
+     * @return long  The bitboard of attacked squares
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Returns the squares attacked (diagonally) by a pawn of the given colour on the given square.
+     * White pawns move up the board (towards row 0) and black pawns move down the board.
+     *
+     * @param colour The colour of the pawn (Bitboard_Position.WHITE or Bitboard_Position.BLACK)
+     * @param square The square the pawn is on
+     * @return long  The bitboard of attacked squares
+     */
+    public static long pawnAttacks(int colour, int square) {
+        return PAWN_ATTACKS[colour][square];
+    }
+
+    /**
+     * Returns the squares attacked by a rook on the given square, stopping at (and including) the
+     * first occupied square in each direction
+     *
+     * @param square    The square the rook is on
+     * @param occupancy The bitboard of all occupied squares
+     * @return long     The bitboard of attacked squares
+     */
+    public static long rookAttacks(int square, long occupancy) {
+        return ROOK_TABLE[ROOK_OFFSETS[square] + (int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    /**
+     * Returns the squares attacked by a bishop on the given square, stopping at (and including) the
+     * first occupied square in each direction
+     *
+     * @param square    The square the bishop is on
+     * @param occupancy The bitboard of all occupied squares
+     * @return long     The bitboard of attacked squares
+     */
+    public static long bishopAttacks(int square, long occupancy) {
+        return BISHOP_TABLE[BISHOP_OFFSETS[square] + (int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    /**
+     * Returns the squares attacked by a queen on the given square
+     *
+     * @param square    The square the queen is on
+     * @param occupancy The bitboard of all occupied squares
+     * @return long     The bitboard of attacked squares
+     */
+    public static long queenAttacks(int square, long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    /**
+     * Returns the squares strictly between two squares that lie on the same row, column or diagonal
+     *
+     * @param firstSquare  The first square
+     * @param secondSquare The second square
+     * @return long        The squares between them, or 0 if they are not on a shared line
+     */
+    public static long squaresBetween(int firstSquare, int secondSquare) {
+        return SQUARES_BETWEEN[firstSquare][secondSquare];
+    }
+
+    /**
+     * Returns the whole row, column or diagonal passing through two squares (edge to edge)
+     *
+     * @param firstSquare  The first square
+     * @param secondSquare The second square
+     * @return long        The squares of the line, or 0 if the squares are not on a shared line
+     */
+    public static long lineThrough(int firstSquare, int secondSquare) {
+        return LINES_THROUGH[firstSquare][secondSquare];
+    }
+
+    /**
+     * Helper method that works out the squares attacked by a knight (used to fill KNIGHT_ATTACKS)
+     *
+     * @param square The square the knight is on
+     * @return long  The bitboard of attacked squares
+     */
+    private static long computeKnightAttacks(int square) {
+        long bit = 1L << square;
+        return ((bit << 17) & NOT_COLUMN_A) | ((bit << 15) & NOT_COLUMN_H)
+                | ((bit << 10) & NOT_COLUMNS_AB) | ((bit << 6) & NOT_COLUMNS_GH)
+                | ((bit >>> 17) & NOT_COLUMN_H) | ((bit >>> 15) & NOT_COLUMN_A)
+                | ((bit >>> 10) & NOT_COLUMNS_GH) | ((bit >>> 6) & NOT_COLUMNS_AB);
+    }
+
+    /**
+     * Helper method that works out the squares attacked by a king (used to fill KING_ATTACKS)
+     *
+     * @param square The square the king is on
+     * @return long  The bitboard of attacked squares
+     */
+    private static long computeKingAttacks(int square) {
+        long bit = 1L << square;
+        long sideways = ((bit << 1) & NOT_COLUMN_A) | ((bit >>> 1) & NOT_COLUMN_H);
+        long row = bit | sideways;
+        return sideways | (row << 8) | (row >>> 8);
+    }
+
+    /**
+     * Helper method that works out the squares attacked by a pawn (used to fill PAWN_ATTACKS)
+     *
+     * @param colour The colour of the pawn
+     * @param square The square the pawn is on
+     * @return long  The bitboard of attacked squares
+     */
+    private static long computePawnAttacks(int colour, int square) {
+        long bit = 1L << square;
+        if (colour == Bitboard_Position.WHITE) {
+            return ((bit >>> 9) & NOT_COLUMN_H) | ((bit >>> 7) & NOT_COLUMN_A);
+        } else {
+            return ((bit << 7) & NOT_COLUMN_H) | ((bit << 9) & NOT_COLUMN_A);
+        }
+    }
+
+    /**
+     * Helper method that fills in the attack table for either rooks or bishops. For each square, the
+     * attacks for every arrangement of blockers are worked out and stored at the index given by the
+     * square's magic number.
+     *
+     * @param masks          Receives the blocker mask of each square
+     * @param magics         The magic number of each square
+     * @param shifts         Receives the shift of each square
+     * @param offsets        Receives where each square's part of the table starts
+     * @param table          The attack table to fill in
+     * @param firstDirection The index of the piece's first sliding direction
+     * @param lastDirection  The index after the piece's last sliding direction
+     * @throws IllegalStateException If a magic number maps two blocker arrangements with different attacks to the same index
+     */
+    private static void initMagics(long[] masks, long[] magics, int[] shifts, int[] offsets, long[] table,
+                                   int firstDirection, int lastDirection) {
+        int offset = 0;
+        for (int square = 0; square < 64; square++) {
+            long mask = computeBlockerMask(square, firstDirection, lastDirection);
+            int size = 1 << Long.bitCount(mask);
+            masks[square] = mask;
+            shifts[square] = 64 - Long.bitCount(mask);
+            offsets[square] = offset;
+
+            // Go through every subset of the mask (the "carry-rippler" trick)
+            long blockers = 0L;
+            for (int i = 0; i < size; i++) {
+                long attacks = slidingAttacks(square, blockers, firstDirection, lastDirection);
+                int index = offset + (int) ((blockers * magics[square]) >>> shifts[square]);
+                // Every arrangement attacks at least one square, so a 0 entry has not been filled in yet
+                if (table[index] != 0L && table[index] != attacks) {
+                    throw new IllegalStateException("Bad magic number for square " + square);
+                }
+                table[index] = attacks;
+                blockers = (blockers - mask) & mask;
+            }
+            offset += size;
+        }
+    }
+
+    /**
+     * Helper method that returns the squares that can block a sliding piece (its empty-board attacks,
+     * without the last square of each ray)
+     *
+     * @param square         The square the sliding piece is on
+     * @param firstDirection The index of the first direction
+     * @param lastDirection  The index after the last direction
+     * @return long          The blocker mask
+     */
+    private static long computeBlockerMask(int square, int firstDirection, int lastDirection) {
+        long mask = 0L;
+        for (int direction = firstDirection; direction < lastDirection; direction++) {
+            int row = (square >>> 3) + ROW_STEPS[direction];
+            int column = (square & 7) + COLUMN_STEPS[direction];
+            // Only include a square if the ray carries on past it
+            while (row + ROW_STEPS[direction] >= 0 && row + ROW_STEPS[direction] < 8
+                    && column + COLUMN_STEPS[direction] >= 0 && column + COLUMN_STEPS[direction] < 8) {
+                mask |= 1L << (row * 8 + column);
+                row += ROW_STEPS[direction];
+                column += COLUMN_STEPS[direction];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Helper method that walks each of the given sliding directions one square at a time until
+     * the edge of the board or an occupied square is reached (used to fill the attack tables)
+     *
+     * @param square         The square the sliding piece is on
+     * @param occupancy      The bitboard of all occupied squares
+     * @param firstDirection The index of the first direction to walk
+     * @param lastDirection  The index after the last direction to walk
+     * @return long          The bitboard of attacked squares
+     */
+    private static long slidingAttacks(int square, long occupancy, int firstDirection, int lastDirection) {
+        long attacks = 0L;
+        for (int direction = firstDirection; direction < lastDirection; direction++) {
+            int row = (square >>> 3) + ROW_STEPS[direction];
+            int column = (square & 7) + COLUMN_STEPS[direction];
+            while (row >= 0 && row < 8 && column >= 0 && column < 8) {
+                long bit = 1L << (row * 8 + column);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                row += ROW_STEPS[direction];
+                column += COLUMN_STEPS[direction];
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,888 @@
+package ics3.chess;
+
+import java.util.Arrays;
+
+/**
+ * Model class that stores a chess position as a set of 64-bit bitboards (one for each piece type
+ * and colour), along with the occupancy of each colour and the other state needed to decide which
+ * moves are legal (side to move, castling rights, en passant square and move clocks). Squares are
+ * numbered (row * 8 + column) as described in the Bitboard_Attacks class.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Bitboard_Position {
+
+    // Colours
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    // Piece types
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    // The FEN string of the starting position of a chess game
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // Value stored in the pieceOnSquare array for an empty square
+    public static final int NO_PIECE = -1;
+    // Value of the en passant square when no en passant capture is possible
+    public static final int NO_SQUARE = -1;
+
+    // Value of the cached checkers while they have not been worked out (no position has a piece on
+    // every square giving check, so this can never be a real set of checkers)
+    private static final long UNKNOWN_CHECKERS = -1L;
+
+    // Castling right flags
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    // One bitboard for each piece (index = colour * 6 + type)
+    private final long[] pieceBitboards = new long[12];
+    // The squares occupied by each colour
+    private final long[] colourOccupancy = new long[2];
+    // The squares occupied by any piece
+    private long occupancy;
+    // The piece (colour * 6 + type) standing on each square, or NO_PIECE
+    private final int[] pieceOnSquare = new int[64];
+
+    // The colour whose turn it is
+    private int sideToMove;
+    // The castling rights that are still available (combination of the castling right flags)
+    private int castlingRights;
+    // The square a pawn can move to in order to capture en passant, or NO_SQUARE
+    private int enPassantSquare;
+    // Number of half-moves since the last capture or pawn move, and the current move number
+    private int halfmoveClock;
+    private int fullmoveNumber;
+    // The Zobrist key of the position (see the Zobrist_Keys class), which is kept up to date as pieces
+    // are placed and moves are made
+    private long zobristKey;
+    // The Zobrist key of the pawns alone (used to look up the pawn structure in a Pawn_Hash_Table)
+    private long pawnZobristKey;
+    // The material and piece-square scores of the pieces for the middlegame and for the endgame (from
+    // white's point of view), and the game phase, which are also kept up to date as pieces are placed and
+    // removed so that the Evaluation does not have to look at every piece
+    private int middlegameScore;
+    private int endgameScore;
+    private int phase;
+    // The enemy pieces giving check to the king of the side to move, or UNKNOWN_CHECKERS if they have not
+    // been worked out since the position last changed (see getCheckers())
+    private long checkers;
+
+    // The castling rights that are kept when a piece moves from or to each square (moving the king or a
+    // rook, or capturing a rook in its corner, loses the matching rights)
+    private static final int[] CASTLING_RIGHTS_KEPT = new int[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            CASTLING_RIGHTS_KEPT[square] = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        }
+        CASTLING_RIGHTS_KEPT[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        CASTLING_RIGHTS_KEPT[63] &= ~WHITE_KING_SIDE;
+        CASTLING_RIGHTS_KEPT[56] &= ~WHITE_QUEEN_SIDE;
+        CASTLING_RIGHTS_KEPT[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        CASTLING_RIGHTS_KEPT[7] &= ~BLACK_KING_SIDE;
+        CASTLING_RIGHTS_KEPT[0] &= ~BLACK_QUEEN_SIDE;
+    }
+
+    // The undo stack, which stores everything makeMove() changes that cannot be worked out from the move
+    // itself. The arrays are allocated up front (and only grow in the rare case that a game is longer
+    // than their capacity) so that making and unmaking moves does not create any objects.
+    private int[] undoMoves = new int[1024];
+    private int[] undoCapturedPieces = new int[1024];
+    private int[] undoCastlingRights = new int[1024];
+    private int[] undoEnPassantSquares = new int[1024];
+    private int[] undoHalfmoveClocks = new int[1024];
+    private long[] undoZobristKeys = new long[1024];
+    private long[] undoCheckers = new long[1024];
+    // The number of moves on the undo stack
+    private int undoCount;
+
+    /**
+     * Constructor for the Bitboard_Position class (creates an empty board with white to move)
+     */
+    public Bitboard_Position() {
+        clear();
+    }
+
+    /**
+     * Copy constructor for the Bitboard_Position class. The copy has the same position and the same moves
+     * on its undo stack, but shares nothing with the original, so the two can be changed (for example by
+     * two search threads) independently.
+     *
+     * @param other The position to copy
+     */
+    public Bitboard_Position(Bitboard_Position other) {
+        System.arraycopy(other.pieceBitboards, 0, pieceBitboards, 0, pieceBitboards.length);
+        System.arraycopy(other.colourOccupancy, 0, colourOccupancy, 0, colourOccupancy.length);
+        occupancy = other.occupancy;
+        System.arraycopy(other.pieceOnSquare, 0, pieceOnSquare, 0, pieceOnSquare.length);
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+        zobristKey = other.zobristKey;
+        pawnZobristKey = other.pawnZobristKey;
+        middlegameScore = other.middlegameScore;
+        endgameScore = other.endgameScore;
+        phase = other.phase;
+        checkers = other.checkers;
+        undoMoves = other.undoMoves.clone();
+        undoCapturedPieces = other.undoCapturedPieces.clone();
+        undoCastlingRights = other.undoCastlingRights.clone();
+        undoEnPassantSquares = other.undoEnPassantSquares.clone();
+        undoHalfmoveClocks = other.undoHalfmoveClocks.clone();
+        undoZobristKeys = other.undoZobristKeys.clone();
+        undoCheckers = other.undoCheckers.clone();
+        undoCount = other.undoCount;
+    }
+
+    /**
+     * Removes every piece from the board and resets the rest of the state
+     */
+    public void clear() {
+        for (int i = 0; i < pieceBitboards.length; i++) {
+            pieceBitboards[i] = 0L;
+        }
+        colourOccupancy[WHITE] = 0L;
+        colourOccupancy[BLACK] = 0L;
+        occupancy = 0L;
+        for (int square = 0; square < 64; square++) {
+            pieceOnSquare[square] = NO_PIECE;
+        }
+        sideToMove = WHITE;
+        castlingRights = 0;
+        enPassantSquare = NO_SQUARE;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        undoCount = 0;
+        checkers = UNKNOWN_CHECKERS;
+        zobristKey = computeZobristKey();
+        pawnZobristKey = 0L;
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+    }
+
+    /**
+     * Sets up the position described by a FEN string (e.g. the starting position is
+     * "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"). The move clocks may be left out.
+     *
+     * @param fen The FEN string
+     * @throws IllegalArgumentException If the FEN string cannot be read
+     */
+    public void setFromFen(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("FEN needs at least 4 fields: " + fen);
+        }
+        clear();
+        int square = 0;
+        for (char symbol : fields[0].toCharArray()) {
+            if (symbol == '/') {
+                continue;
+            }
+            if (symbol >= '1' && symbol <= '8') {
+                square += symbol - '0';
+                continue;
+            }
+            int type = "pnbrqk".indexOf(Character.toLowerCase(symbol));
+            if (type < 0 || square >= 64) {
+                throw new IllegalArgumentException("Bad piece placement in FEN: " + fen);
+            }
+            putPiece(Character.isUpperCase(symbol) ? WHITE : BLACK, type, square++);
+        }
+        if (square != 64) {
+            throw new IllegalArgumentException("Bad piece placement in FEN: " + fen);
+        }
+        if (Long.bitCount(pieceBitboards[WHITE * 6 + KING]) != 1 || Long.bitCount(pieceBitboards[BLACK * 6 + KING]) != 1) {
+            throw new IllegalArgumentException("FEN must have one king of each colour: " + fen);
+        }
+        sideToMove = fields[1].equals("b") ? BLACK : WHITE;
+        castlingRights = 0;
+        for (char symbol : fields[2].toCharArray()) {
+            int right = "KQkq".indexOf(symbol);
+            if (right >= 0) {
+                castlingRights |= 1 << right;
+            }
+        }
+        enPassantSquare = fields[3].equals("-") ? NO_SQUARE : Move.parseSquare(fields[3]);
+        halfmoveClock = fields.length > 4 ? Integer.parseInt(fields[4]) : 0;
+        fullmoveNumber = fields.length > 5 ? Integer.parseInt(fields[5]) : 1;
+        zobristKey = computeZobristKey();
+    }
+
+    /**
+     * Returns the FEN string that describes the position
+     *
+     * @return String  The FEN string
+     */
+    public String toFen() {
+        StringBuilder fen = new StringBuilder();
+        for (int row = 0; row < 8; row++) {
+            int emptySquares = 0;
+            for (int column = 0; column < 8; column++) {
+                int piece = pieceOnSquare[row * 8 + column];
+                if (piece == NO_PIECE) {
+                    emptySquares++;
+                    continue;
+                }
+                if (emptySquares > 0) {
+                    fen.append(emptySquares);
+                    emptySquares = 0;
+                }
+                char symbol = "pnbrqk".charAt(piece % 6);
+                fen.append(piece / 6 == WHITE ? Character.toUpperCase(symbol) : symbol);
+            }
+            if (emptySquares > 0) {
+                fen.append(emptySquares);
+            }
+            if (row < 7) {
+                fen.append('/');
+            }
+        }
+        fen.append(sideToMove == WHITE ? " w " : " b ");
+        if (castlingRights == 0) {
+            fen.append('-');
+        }
+        for (int right = 0; right < 4; right++) {
+            if ((castlingRights & (1 << right)) != 0) {
+                fen.append("KQkq".charAt(right));
+            }
+        }
+        fen.append(' ').append(enPassantSquare == NO_SQUARE ? "-" : Move.getSquareName(enPassantSquare));
+        fen.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber);
+        return fen.toString();
+    }
+
+    /**
+     * Places a piece on an empty square
+     *
+     * @param colour The colour of the piece
+     * @param type   The type of the piece
+     * @param square The square to place the piece on
+     */
+    public void putPiece(int colour, int type, int square) {
+        long bit = 1L << square;
+        pieceBitboards[colour * 6 + type] |= bit;
+        colourOccupancy[colour] |= bit;
+        occupancy |= bit;
+        pieceOnSquare[square] = colour * 6 + type;
+        zobristKey ^= Zobrist_Keys.getPieceKey(colour * 6 + type, square);
+        if (type == PAWN) {
+            pawnZobristKey ^= Zobrist_Keys.getPieceKey(colour * 6 + type, square);
+        }
+        middlegameScore += Evaluation.getMiddlegameValue(colour * 6 + type, square);
+        endgameScore += Evaluation.getEndgameValue(colour * 6 + type, square);
+        phase += Evaluation.getPhaseWeight(type);
+        checkers = UNKNOWN_CHECKERS;
+    }
+
+    /**
+     * Removes the piece (if any) standing on a square
+     *
+     * @param square The square to clear
+     */
+    public void removePiece(int square) {
+        int piece = pieceOnSquare[square];
+        if (piece == NO_PIECE) {
+            return;
+        }
+        long bit = 1L << square;
+        pieceBitboards[piece] &= ~bit;
+        colourOccupancy[piece / 6] &= ~bit;
+        occupancy &= ~bit;
+        pieceOnSquare[square] = NO_PIECE;
+        zobristKey ^= Zobrist_Keys.getPieceKey(piece, square);
+        if (piece % 6 == PAWN) {
+            pawnZobristKey ^= Zobrist_Keys.getPieceKey(piece, square);
+        }
+        middlegameScore -= Evaluation.getMiddlegameValue(piece, square);
+        endgameScore -= Evaluation.getEndgameValue(piece, square);
+        phase -= Evaluation.getPhaseWeight(piece % 6);
+        checkers = UNKNOWN_CHECKERS;
+    }
+
+    /**
+     * Getter method for the bitboard of a certain piece type and colour
+     *
+     * @param colour The colour of the pieces
+     * @param type   The type of the pieces
+     * @return long  The squares occupied by those pieces
+     */
+    public long getPieces(int colour, int type) {
+        return pieceBitboards[colour * 6 + type];
+    }
+
+    /**
+     * Getter method for the squares occupied by one colour
+     *
+     * @param colour The colour of the pieces
+     * @return long  The squares occupied by that colour
+     */
+    public long getColourOccupancy(int colour) {
+        return colourOccupancy[colour];
+    }
+
+    /**
+     * Getter method for the squares occupied by any piece
+     *
+     * @return long  The squares occupied by any piece
+     */
+    public long getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Getter method for the piece standing on a square
+     *
+     * @param square The square to look at
+     * @return int   The piece (colour * 6 + type), or NO_PIECE if the square is empty
+     */
+    public int getPieceOnSquare(int square) {
+        return pieceOnSquare[square];
+    }
+
+    /**
+     * Getter method for the colour whose turn it is
+     *
+     * @return int  The side to move (WHITE or BLACK)
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Setter method for the colour whose turn it is
+     *
+     * @param sideToMove The side to move (WHITE or BLACK)
+     */
+    public void setSideToMove(int sideToMove) {
+        this.sideToMove = sideToMove;
+        checkers = UNKNOWN_CHECKERS;
+        zobristKey = computeZobristKey();
+    }
+
+    /**
+     * Getter method for the castling rights
+     *
+     * @return int  The castling right flags that are still available
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Setter method for the castling rights
+     *
+     * @param castlingRights The castling right flags that are still available
+     */
+    public void setCastlingRights(int castlingRights) {
+        this.castlingRights = castlingRights;
+        zobristKey = computeZobristKey();
+    }
+
+    /**
+     * Getter method for the en passant square
+     *
+     * @return int  The square that can be captured onto en passant, or NO_SQUARE
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    /**
+     * Setter method for the en passant square
+     *
+     * @param enPassantSquare The square that can be captured onto en passant, or NO_SQUARE
+     */
+    public void setEnPassantSquare(int enPassantSquare) {
+        this.enPassantSquare = enPassantSquare;
+        zobristKey = computeZobristKey();
+    }
+
+    /**
+     * Getter method for the number of half-moves since the last capture or pawn move
+     *
+     * @return int  The halfmove clock
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Setter method for the number of half-moves since the last capture or pawn move
+     *
+     * @param halfmoveClock The halfmove clock
+     */
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * Getter method for the current move number (starts at 1 and increases after black moves)
+     *
+     * @return int  The fullmove number
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Setter method for the current move number
+     *
+     * @param fullmoveNumber The fullmove number
+     */
+    public void setFullmoveNumber(int fullmoveNumber) {
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    /**
+     * Getter method for the Zobrist key of the position. Two positions with the same pieces on the same
+     * squares, side to move, castling rights and usable en passant square have the same key.
+     *
+     * @return long  The Zobrist key
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Getter method for the Zobrist key of the pawns alone. Two positions with the same pawns on the same
+     * squares have the same pawn key, whatever the other pieces are.
+     *
+     * @return long  The pawn Zobrist key
+     */
+    public long getPawnZobristKey() {
+        return pawnZobristKey;
+    }
+
+    /**
+     * Works out the Zobrist key of the position from scratch (makeMove() and unmakeMove() instead update
+     * the key incrementally, so this is only needed when setting up a position)
+     *
+     * @return long  The Zobrist key
+     */
+    public long computeZobristKey() {
+        long key = 0L;
+        for (int square = 0; square < 64; square++) {
+            if (pieceOnSquare[square] != NO_PIECE) {
+                key ^= Zobrist_Keys.getPieceKey(pieceOnSquare[square], square);
+            }
+        }
+        key ^= Zobrist_Keys.getCastlingKey(castlingRights) ^ getEnPassantZobristKey();
+        if (sideToMove == WHITE) {
+            key ^= Zobrist_Keys.getWhiteToMoveKey();
+        }
+        return key;
+    }
+
+    /**
+     * Helper method that returns the Zobrist number of the en passant square. The square only counts
+     * if a pawn of the side to move could capture onto it, so that positions that only differ by an
+     * en passant square nobody can use have the same key.
+     *
+     * @return long  The Zobrist number, or 0 if there is no usable en passant square
+     */
+    private long getEnPassantZobristKey() {
+        if (enPassantSquare == NO_SQUARE
+                || (Bitboard_Attacks.pawnAttacks(sideToMove ^ 1, enPassantSquare) & pieceBitboards[sideToMove * 6 + PAWN]) == 0) {
+            return 0L;
+        }
+        return Zobrist_Keys.getEnPassantKey(enPassantSquare & 7);
+    }
+
+    /**
+     * Getter method for the middlegame score of the pieces: the sum of their middlegame values (material
+     * plus piece-square bonus, see the Evaluation class), from white's point of view
+     *
+     * @return int  The middlegame score in centipawns
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * Getter method for the endgame score of the pieces: the sum of their endgame values, from white's
+     * point of view
+     *
+     * @return int  The endgame score in centipawns
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * Getter method for the game phase: the sum of the phase weights of the pieces on the board (see the
+     * Evaluation class), which goes down as pieces are traded
+     *
+     * @return int  The game phase
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Getter method for the number of moves that can currently be unmade
+     *
+     * @return int  The number of moves on the undo stack
+     */
+    public int getUndoCount() {
+        return undoCount;
+    }
+
+    /**
+     * Getter method for a move on the undo stack
+     *
+     * @param index The index of the move (0 is the first move made since the position was set up)
+     * @return int  The packed move
+     */
+    public int getMadeMove(int index) {
+        return undoMoves[index];
+    }
+
+    /**
+     * Checks whether the position has already occurred since the last capture or pawn move (with the same
+     * side to move), using the keys saved on the undo stack. The search treats a repeated position as a
+     * draw, since the side that repeated it could repeat it again.
+     *
+     * @return boolean Whether or not the position is a repetition
+     */
+    public boolean isRepetition() {
+        // Only positions since the last irreversible move can be the same as this one
+        int earliestIndex = Math.max(0, undoCount - halfmoveClock);
+        for (int i = undoCount - 2; i >= earliestIndex; i -= 2) {
+            if (undoZobristKeys[i] == zobristKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes a move on the board. The move must be legal in this position (as produced by the
+     * Move_Generator). Everything needed to take the move back is pushed onto the undo stack.
+     *
+     * @param move The packed move to make
+     */
+    public void makeMove(int move) {
+        int fromSquare = Move.getFromSquare(move);
+        int toSquare = Move.getToSquare(move);
+        int piece = pieceOnSquare[fromSquare];
+        int colour = piece / 6;
+
+        if (undoCount == undoMoves.length) {
+            growUndoStack();
+        }
+        undoMoves[undoCount] = move;
+        undoCastlingRights[undoCount] = castlingRights;
+        undoEnPassantSquares[undoCount] = enPassantSquare;
+        undoHalfmoveClocks[undoCount] = halfmoveClock;
+        undoZobristKeys[undoCount] = zobristKey;
+        undoCheckers[undoCount] = checkers;
+        // Take the castling rights and en passant square out of the key (they are put back in once they
+        // have been updated); the pieces update the key themselves as they are moved
+        zobristKey ^= Zobrist_Keys.getCastlingKey(castlingRights) ^ getEnPassantZobristKey();
+
+        // Remove the captured piece (an en passant capture removes the pawn behind the target square)
+        int capturedPiece;
+        if (Move.isEnPassant(move)) {
+            int capturedSquare = colour == WHITE ? toSquare + 8 : toSquare - 8;
+            capturedPiece = pieceOnSquare[capturedSquare];
+            removePiece(capturedSquare);
+        } else {
+            capturedPiece = pieceOnSquare[toSquare];
+            if (capturedPiece != NO_PIECE) {
+                removePiece(toSquare);
+            }
+        }
+        undoCapturedPieces[undoCount] = capturedPiece;
+        undoCount++;
+
+        // Move the piece (or the piece it is promoted to)
+        removePiece(fromSquare);
+        if (Move.isPromotion(move)) {
+            putPiece(colour, Move.getPromotionType(move), toSquare);
+        } else {
+            putPiece(colour, piece % 6, toSquare);
+        }
+
+        // A castle also moves the rook to the other side of the king
+        if (Move.getFlags(move) == Move.KING_SIDE_CASTLE) {
+            removePiece(fromSquare + 3);
+            putPiece(colour, ROOK, fromSquare + 1);
+        } else if (Move.getFlags(move) == Move.QUEEN_SIDE_CASTLE) {
+            removePiece(fromSquare - 4);
+            putPiece(colour, ROOK, fromSquare - 1);
+        }
+
+        castlingRights &= CASTLING_RIGHTS_KEPT[fromSquare] & CASTLING_RIGHTS_KEPT[toSquare];
+        enPassantSquare = Move.getFlags(move) == Move.DOUBLE_PAWN_PUSH ? (fromSquare + toSquare) / 2 : NO_SQUARE;
+        if (piece % 6 == PAWN || capturedPiece != NO_PIECE) {
+            halfmoveClock = 0;
+        } else {
+            halfmoveClock++;
+        }
+        if (colour == BLACK) {
+            fullmoveNumber++;
+        }
+        sideToMove = colour ^ 1;
+        zobristKey ^= Zobrist_Keys.getCastlingKey(castlingRights) ^ getEnPassantZobristKey() ^ Zobrist_Keys.getWhiteToMoveKey();
+    }
+
+    /**
+     * Takes back the most recent move that was made with makeMove()
+     */
+    public void unmakeMove() {
+        undoCount--;
+        int move = undoMoves[undoCount];
+        int fromSquare = Move.getFromSquare(move);
+        int toSquare = Move.getToSquare(move);
+        int colour = sideToMove ^ 1;
+
+        // Put the moving piece back (a promoted piece turns back into a pawn)
+        int movedType = Move.isPromotion(move) ? PAWN : pieceOnSquare[toSquare] % 6;
+        removePiece(toSquare);
+        putPiece(colour, movedType, fromSquare);
+
+        // Put back the rook of a castle
+        if (Move.getFlags(move) == Move.KING_SIDE_CASTLE) {
+            removePiece(fromSquare + 1);
+            putPiece(colour, ROOK, fromSquare + 3);
+        } else if (Move.getFlags(move) == Move.QUEEN_SIDE_CASTLE) {
+            removePiece(fromSquare - 1);
+            putPiece(colour, ROOK, fromSquare - 4);
+        }
+
+        // Put back the captured piece
+        int capturedPiece = undoCapturedPieces[undoCount];
+        if (capturedPiece != NO_PIECE) {
+            int capturedSquare = toSquare;
+            if (Move.isEnPassant(move)) {
+                capturedSquare = colour == WHITE ? toSquare + 8 : toSquare - 8;
+            }
+            putPiece(capturedPiece / 6, capturedPiece % 6, capturedSquare);
+        }
+
+        castlingRights = undoCastlingRights[undoCount];
+        enPassantSquare = undoEnPassantSquares[undoCount];
+        halfmoveClock = undoHalfmoveClocks[undoCount];
+        zobristKey = undoZobristKeys[undoCount];
+        // The position is back to how it was, so the checkers worked out for it (if any) are valid again
+        checkers = undoCheckers[undoCount];
+        if (colour == BLACK) {
+            fullmoveNumber--;
+        }
+        sideToMove = colour;
+    }
+
+    /**
+     * Helper method that doubles the capacity of the undo stack
+     */
+    private void growUndoStack() {
+        int capacity = undoMoves.length * 2;
+        undoMoves = Arrays.copyOf(undoMoves, capacity);
+        undoCapturedPieces = Arrays.copyOf(undoCapturedPieces, capacity);
+        undoCastlingRights = Arrays.copyOf(undoCastlingRights, capacity);
+        undoEnPassantSquares = Arrays.copyOf(undoEnPassantSquares, capacity);
+        undoHalfmoveClocks = Arrays.copyOf(undoHalfmoveClocks, capacity);
+        undoZobristKeys = Arrays.copyOf(undoZobristKeys, capacity);
+        undoCheckers = Arrays.copyOf(undoCheckers, capacity);
+    }
+
+    /**
+     * Returns the square of the king of the given colour
+     *
+     * @param colour The colour of the king
+     * @return int   The square of the king, or 64 if there is no king of that colour
+     */
+    public int getKingSquare(int colour) {
+        return Long.numberOfTrailingZeros(pieceBitboards[colour * 6 + KING]);
+    }
+
+    /**
+     * Returns all the pieces of the given colour that attack a square, assuming the given occupancy.
+     * This works backwards from the target square: a piece attacks the square if a piece of the same
+     * type standing on the target square would attack it.
+     *
+     * @param square    The square being attacked
+     * @param byColour  The colour of the attacking pieces
+     * @param occupancy The occupancy to use for the sliding pieces
+     * @return long     The squares of the attacking pieces
+     */
+    public long getAttackersOf(int square, int byColour, long occupancy) {
+        int offset = byColour * 6;
+        long queens = pieceBitboards[offset + QUEEN];
+        return (Bitboard_Attacks.pawnAttacks(byColour ^ 1, square) & pieceBitboards[offset + PAWN])
+                | (Bitboard_Attacks.knightAttacks(square) & pieceBitboards[offset + KNIGHT])
+                | (Bitboard_Attacks.kingAttacks(square) & pieceBitboards[offset + KING])
+                | (Bitboard_Attacks.bishopAttacks(square, occupancy) & (pieceBitboards[offset + BISHOP] | queens))
+                | (Bitboard_Attacks.rookAttacks(square, occupancy) & (pieceBitboards[offset + ROOK] | queens));
+    }
+
+    /**
+     * Checks whether or not a square is attacked by any piece of the given colour
+     *
+     * @param square   The square being attacked
+     * @param byColour The colour of the attacking pieces
+     * @return boolean Whether or not the square is attacked
+     */
+    public boolean isSquareAttacked(int square, int byColour) {
+        return getAttackersOf(square, byColour, occupancy) != 0;
+    }
+
+    /**
+     * Returns the enemy pieces that are giving check to the king of the side to move. They are found by
+     * looking outwards from the king square (see getAttackersOf()), and the result is kept until the
+     * position changes, so asking again (or asking isInCheck()) is a single field read.
+     *
+     * @return long The squares of the checking pieces (0 if the side to move is not in check)
+     */
+    public long getCheckers() {
+        if (checkers == UNKNOWN_CHECKERS) {
+            checkers = getAttackersOf(getKingSquare(sideToMove), sideToMove ^ 1, occupancy);
+        }
+        return checkers;
+    }
+
+    /**
+     * Checks whether or not the king of the side to move is in check
+     *
+     * @return boolean Whether or not the side to move is in check
+     */
+    public boolean isInCheck() {
+        return getCheckers() != 0;
+    }
+
+    /**
+     * Checks whether moving the piece on one square to another square would leave the mover's king
+     * in check. The position itself is not changed; instead the occupancy after the move is worked
+     * out on the bitboards, and the captured piece (if any) is masked out of the attackers.
+     *
+     * @param fromSquare The square of the moving piece
+     * @param toSquare   The square the piece moves to
+     * @return boolean   Whether or not the mover's king would be in check after the move
+     */
+    public boolean doesMoveLeaveKingInCheck(int fromSquare, int toSquare) {
+        int mover = pieceOnSquare[fromSquare] / 6;
+        int enemy = mover ^ 1;
+        long fromBit = 1L << fromSquare;
+        long toBit = 1L << toSquare;
+        long capturedMask = ~toBit;
+        long occupancyAfterMove = (occupancy ^ fromBit) | toBit;
+
+        // An en passant capture removes a pawn that is not standing on the target square
+        if (toSquare == enPassantSquare && pieceOnSquare[fromSquare] % 6 == PAWN) {
+            long capturedPawnBit = mover == WHITE ? toBit << 8 : toBit >>> 8;
+            occupancyAfterMove &= ~capturedPawnBit;
+            capturedMask &= ~capturedPawnBit;
+        }
+
+        int kingSquare = pieceOnSquare[fromSquare] % 6 == KING ? toSquare : getKingSquare(mover);
+        int offset = enemy * 6;
+        long queens = pieceBitboards[offset + QUEEN];
+        long attackers = (Bitboard_Attacks.pawnAttacks(mover, kingSquare) & pieceBitboards[offset + PAWN])
+                | (Bitboard_Attacks.knightAttacks(kingSquare) & pieceBitboards[offset + KNIGHT])
+                | (Bitboard_Attacks.kingAttacks(kingSquare) & pieceBitboards[offset + KING])
+                | (Bitboard_Attacks.bishopAttacks(kingSquare, occupancyAfterMove) & (pieceBitboards[offset + BISHOP] | queens))
+                | (Bitboard_Attacks.rookAttacks(kingSquare, occupancyAfterMove) & (pieceBitboards[offset + ROOK] | queens));
+        return (attackers & capturedMask) != 0;
+    }
+
+    /**
+     * Returns the squares that the piece on the given square could move to if checks were ignored
+     * (the "pseudo-legal" targets). Castling and en passant are included.
+     *
+     * @param fromSquare The square of the moving piece
+     * @return long      The bitboard of target squares
+     */
+    public long getPseudoLegalTargets(int fromSquare) {
+        int piece = pieceOnSquare[fromSquare];
+        int colour = piece / 6;
+        long own = colourOccupancy[colour];
+        switch (piece % 6) {
+            case PAWN:
+                return getPawnTargets(colour, fromSquare);
+            case KNIGHT:
+                return Bitboard_Attacks.knightAttacks(fromSquare) & ~own;
+            case BISHOP:
+                return Bitboard_Attacks.bishopAttacks(fromSquare, occupancy) & ~own;
+            case ROOK:
+                return Bitboard_Attacks.rookAttacks(fromSquare, occupancy) & ~own;
+            case QUEEN:
+                return Bitboard_Attacks.queenAttacks(fromSquare, occupancy) & ~own;
+            default:
+                return (Bitboard_Attacks.kingAttacks(fromSquare) & ~own) | getCastlingTargets(colour);
+        }
+    }
+
+    /**
+     * Helper method that returns the pushes and captures available to a pawn
+     *
+     * @param colour     The colour of the pawn
+     * @param fromSquare The square of the pawn
+     * @return long      The bitboard of target squares
+     */
+    private long getPawnTargets(int colour, int fromSquare) {
+        long fromBit = 1L << fromSquare;
+        long empty = ~occupancy;
+        long targets;
+        if (colour == WHITE) {
+            long singlePush = (fromBit >>> 8) & empty;
+            // A pawn on its starting row (row 6 for white) can also move two squares
+            targets = singlePush | ((singlePush & 0x0000FF0000000000L) >>> 8) & empty;
+        } else {
+            long singlePush = (fromBit << 8) & empty;
+            // A pawn on its starting row (row 1 for black) can also move two squares
+            targets = singlePush | ((singlePush & 0x0000000000FF0000L) << 8) & empty;
+        }
+        long capturable = colourOccupancy[colour ^ 1];
+        if (enPassantSquare != NO_SQUARE) {
+            capturable |= 1L << enPassantSquare;
+        }
+        return targets | (Bitboard_Attacks.pawnAttacks(colour, fromSquare) & capturable);
+    }
+
+    /**
+     * Helper method that returns the squares the king can castle to. Castling is only possible if
+     * the right is still available, the squares between the king and rook are empty, and the king
+     * is not in check and does not pass over or land on an attacked square.
+     *
+     * @param colour The colour of the king
+     * @return long  The bitboard of castling target squares
+     */
+    private long getCastlingTargets(int colour) {
+        int kingSideRight = colour == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        int queenSideRight = colour == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        if ((castlingRights & (kingSideRight | queenSideRight)) == 0) {
+            return 0L;
+        }
+        int kingSquare = colour == WHITE ? 60 : 4;
+        int enemy = colour ^ 1;
+        boolean isInCheck = colour == sideToMove ? getCheckers() != 0 : isSquareAttacked(kingSquare, enemy);
+        if (isInCheck) {
+            return 0L;
+        }
+        long targets = 0L;
+        // The king moves two squares towards the rook in the column 7 corner
+        if ((castlingRights & kingSideRight) != 0 && (occupancy & (3L << (kingSquare + 1))) == 0
+                && !isSquareAttacked(kingSquare + 1, enemy) && !isSquareAttacked(kingSquare + 2, enemy)) {
+            targets |= 1L << (kingSquare + 2);
+        }
+        // The king moves two squares towards the rook in the column 0 corner
+        if ((castlingRights & queenSideRight) != 0 && (occupancy & (7L << (kingSquare - 3))) == 0
+                && !isSquareAttacked(kingSquare - 1, enemy) && !isSquareAttacked(kingSquare - 2, enemy)) {
+            targets |= 1L << (kingSquare - 2);
+        }
+        return targets;
+    }
+}
@@ -4,6 +4,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
 
 
 /**
@@ -40,6 +42,11 @@ public class Chess {
     // Objects for the two players
     public static Player whitePlayer, blackPlayer;
 
+    // The opening book that the computer plays from and whose moves are shown (null if there is none)
+    public static Polyglot_Book opening_book;
+    // The endgame tables that the computer plays from (null if there are none)
+    public static Tablebase tablebase;
+
     /**
      * Constructor for the Chess class
      */
@@ -96,6 +103,15 @@ public class Chess {
         // Add the showPossibleMoves CheckBoxMenuItem to the difficultyMenu
         difficultyMenu.add(showPossibleMoves);
 
+        // CheckBoxMenuItem for whether or not the computer plays black (from the next game onwards)
+        JCheckBoxMenuItem computerPlaysBlack = new JCheckBoxMenuItem("Computer plays black");
+        computerPlaysBlack.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_2, ActionEvent.ALT_MASK));
+        computerPlaysBlack.getAccessibleContext().setAccessibleDescription("Set whether or not the computer plays black in the next game");
+        computerPlaysBlack.setState(false);
+        computerPlaysBlack.addActionListener(gameflow_controller_engine);
+
+        difficultyMenu.add(computerPlaysBlack);
+
         // Add the menus to the menuBar of the frame
         ui.addMenuToMenuBar(difficultyMenu);
 
@@ -170,11 +186,27 @@ public class Chess {
     }
 
     /**
-     * Entry point to the program, which adds the game to the Event Dispatching Thread
+     * Entry point to the program, which opens the opening book and endgame tables (if they are given) and
+     * adds the game to the Event Dispatching Thread
      *
-     * @param args Unused
+     * @param args The path of a Polyglot opening book (or "-" for none) and the directory of the endgame
+     *             tables (both optional)
      */
     public static void main(String[] args) {
+        if (args.length > 0 && !args[0].equals("-")) {
+            try {
+                opening_book = new Polyglot_Book(Path.of(args[0]));
+            } catch (IOException e) {
+                System.err.println("Could not open the opening book: " + e.getMessage());
+            }
+        }
+        if (args.length > 1) {
+            try {
+                tablebase = new Tablebase(Path.of(args[1]));
+            } catch (IOException e) {
+                System.err.println("Could not open the endgame tables: " + e.getMessage());
+            }
+        }
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
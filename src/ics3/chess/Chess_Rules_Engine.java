@@ -1,11 +1,11 @@
 package ics3.chess;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
 /**
- * Model class that is used to implement the rules of the Chess game. This is a Singleton
- * class that only has one instance in the program.
+ * Model class that is used to implement the rules of the Chess game. Each game has its own
+ * instance, which holds that game's position (a Bitboard_Position) and its possible moves. The
+ * legal moves are worked out by the Move_Generator, which keeps no state of its own, so any number
+ * of engines can be used at the same time on different threads without locking (a single engine
+ * must only be used by one thread at a time).
  *
  * @author Sukhveer Sahota
  * @version 1.0
@@ -13,458 +13,243 @@ import java.util.Arrays;
  */
 public class Chess_Rules_Engine {
 
-    // The only instance of the Chess_Rules_Engine
-    private static Chess_Rules_Engine rulesEngineInstance = new Chess_Rules_Engine();
+    // Array storing all possible moves that can be made by the player whose turn it is, packed into
+    // ints (see the Move class). It is reused every turn.
+    private int[] possibleMoves;
+    // The number of possible moves stored in the possibleMoves array
+    private int possibleMoveCount;
 
-    // Getter method for the instance of the Chess_Rules_Engine
-    public static Chess_Rules_Engine getInstance() {
-        return rulesEngineInstance;
-    }
+    // The bitboard representation of the game's position, which is used to answer all legality questions
+    private Bitboard_Position position;
 
-    // ArrayList storing all possible moves that can be made by all pieces
-    private ArrayList<int[]>[] possibleMoves;
+    // The squares that the piece on each square can legally move to, so that a move can be looked up
+    // without searching the possibleMoves array
+    private long[] legalTargets;
 
     /**
-     * Constructor for the Chess_Rules_Engine class
+     * Constructor for the Chess_Rules_Engine class (the position starts out empty; see setUpPosition())
      */
-    private Chess_Rules_Engine() {
-        // Initialize the possibleMoves array
-        // It is of length 16 since each player has 16 pieces (maximum), and all the possible
-        // moves for those 16 pieces are stored in this array.
-        possibleMoves = new ArrayList[16];
+    public Chess_Rules_Engine() {
+        this(new Bitboard_Position());
     }
 
     /**
-     * Method used to determine if a certain move is valid
+     * Constructor for the Chess_Rules_Engine class that uses an existing position. The engine changes the
+     * position as moves are made, so the position must not be shared with another engine.
      *
-     * @param chess_pieces      The array storing all the chess pieces
-     * @param movingPieceIndex  The index of the moving piece
-     * @param board_squares     The 2D array storing all the board squares
-     * @param newPieceLocation  The new piece location
-     * @param isBlackMove       Whether or not it is the black player's move
-     * @return boolean          Whether or not the move is valid/legal
-     * @throws Exception        If the location of the board square occupied by the moving chess piece is (-1,-1)
-     *                          that means that the chess piece location hasn't been updated
+     * @param position The position
      */
-    private boolean isMoveValid(Chess_Piece[] chess_pieces, int movingPieceIndex, Board_Square[][] board_squares, int[] newPieceLocation, boolean isBlackMove) throws Exception {
-        Chess_Piece movingChessPiece = chess_pieces[movingPieceIndex];
-        if (movingChessPiece.getLocationOfBoardSquareOccupied()[0] == -1 || movingChessPiece.getLocationOfBoardSquareOccupied()[1] == -1) {
-            throw new Exception("VARIABLE 'locationOfBoardSquareOccupied' HAS NOT BEEN UPDATED!!!");
-        }
-
-        // The index of the piece in the new location
-        int indexOfPieceInNewLocation = -1;
-
-        // If the moving piece and the piece in the new location are the same colour, then return false (since you cannot capture your own piece)
-        if (board_squares[newPieceLocation[0]][newPieceLocation[1]].isOccupiedByPiece()) {
-            indexOfPieceInNewLocation = board_squares[newPieceLocation[0]][newPieceLocation[1]].getIndexOfOccupyingPiece();
-            if (chess_pieces[indexOfPieceInNewLocation].getIsBlack() == movingChessPiece.getIsBlack()) {
-                return false;
-            }
-        }
-
-        // The row and column delta variables storing how many rows up/down and columns left/right the piece is moving
-        int rowDelta = newPieceLocation[0] - movingChessPiece.getLocationOfBoardSquareOccupied()[0];
-        int columnDelta = newPieceLocation[1] - movingChessPiece.getLocationOfBoardSquareOccupied()[1];
-
-        // Used to check if a castling (a special move between the king and rook) is taking place
-        if (movingChessPiece.getPieceIdentity().equals("king") && movingChessPiece.getIsFirstMove() && rowDelta == 0 && indexOfPieceInNewLocation == -1) {
-            // King goes right
-            if (columnDelta == 2) {
-                int rookIndexToCastleWith = board_squares[movingChessPiece.getLocationOfBoardSquareOccupied()[0]][movingChessPiece.getLocationOfBoardSquareOccupied()[1] + 3].getIndexOfOccupyingPiece();
-                Chess_Piece rookToCastleWith = chess_pieces[rookIndexToCastleWith];
-                if (rookToCastleWith.getIsFirstMove() && !board_squares[movingChessPiece.getLocationOfBoardSquareOccupied()[0]][movingChessPiece.getLocationOfBoardSquareOccupied()[1] + 1].isOccupiedByPiece()) {
-                    boolean oneStepLegal = !checkIfKingInCheck(chess_pieces, movingPieceIndex, board_squares, new int[]{movingChessPiece.getLocationOfBoardSquareOccupied()[0], movingChessPiece.getLocationOfBoardSquareOccupied()[1] + 1}, isBlackMove, -1);
-                    boolean twoStepLegal = !checkIfKingInCheck(chess_pieces, movingPieceIndex, board_squares, new int[]{movingChessPiece.getLocationOfBoardSquareOccupied()[0], movingChessPiece.getLocationOfBoardSquareOccupied()[1] + 2}, isBlackMove, -1);
-                    wasMoveACastle = true;
-                    if (isBlackMove) {
-                        rookBeingCastledWithAndDirection[0] = -rookIndexToCastleWith;
-                        boardSquareLocationsToCastle[0][0] = movingChessPiece.getLocationOfBoardSquareOccupied()[0];
-                        boardSquareLocationsToCastle[0][1] = movingChessPiece.getLocationOfBoardSquareOccupied()[1] + 2;
-                        System.out.println(boardSquareLocationsToCastle[0][0] + ":" + boardSquareLocationsToCastle[0][1]);
-                    } else {
-                        rookBeingCastledWithAndDirection[1] = -rookIndexToCastleWith;
-                        boardSquareLocationsToCastle[1][0] = movingChessPiece.getLocationOfBoardSquareOccupied()[0];
-                        boardSquareLocationsToCastle[1][1] = movingChessPiece.getLocationOfBoardSquareOccupied()[1] + 2;
-                        System.out.println(boardSquareLocationsToCastle[1][0] + ":" + boardSquareLocationsToCastle[1][1]);
-                    }
-                    return oneStepLegal && twoStepLegal;
-                }
-            }
-            // King goes left
-            else if (columnDelta == -2) {
-                int rookIndexToCastleWith = board_squares[movingChessPiece.getLocationOfBoardSquareOccupied()[0]][movingChessPiece.getLocationOfBoardSquareOccupied()[1] - 4].getIndexOfOccupyingPiece();
-                Chess_Piece rookToCastleWith = chess_pieces[rookIndexToCastleWith];
-                if (rookToCastleWith.getIsFirstMove() && !board_squares[movingChessPiece.getLocationOfBoardSquareOccupied()[0]][movingChessPiece.getLocationOfBoardSquareOccupied()[1] - 1].isOccupiedByPiece()) {
-                    boolean oneStepLegal = !checkIfKingInCheck(chess_pieces, movingPieceIndex, board_squares, new int[]{movingChessPiece.getLocationOfBoardSquareOccupied()[0], movingChessPiece.getLocationOfBoardSquareOccupied()[1] - 1}, isBlackMove, -1);
-                    boolean twoStepLegal = !checkIfKingInCheck(chess_pieces, movingPieceIndex, board_squares, new int[]{movingChessPiece.getLocationOfBoardSquareOccupied()[0], movingChessPiece.getLocationOfBoardSquareOccupied()[1] - 2}, isBlackMove, -1);
-                    wasMoveACastle = true;
-                    if (isBlackMove) {
-                        rookBeingCastledWithAndDirection[2] = rookIndexToCastleWith;
-                        boardSquareLocationsToCastle[2][0] = movingChessPiece.getLocationOfBoardSquareOccupied()[0];
-                        boardSquareLocationsToCastle[2][1] = movingChessPiece.getLocationOfBoardSquareOccupied()[1] - 2;
-                        System.out.println(boardSquareLocationsToCastle[2][0] + ":" + boardSquareLocationsToCastle[2][1]);
-                    } else {
-                        rookBeingCastledWithAndDirection[3] = rookIndexToCastleWith;
-                        boardSquareLocationsToCastle[3][0] = movingChessPiece.getLocationOfBoardSquareOccupied()[0];
-                        boardSquareLocationsToCastle[3][1] = movingChessPiece.getLocationOfBoardSquareOccupied()[1] - 2;
-                        System.out.println(boardSquareLocationsToCastle[3][0] + ":" + boardSquareLocationsToCastle[3][1]);
-                    }
-                    return oneStepLegal && twoStepLegal;
-                }
-            }
-        }
-
-        // If the move pattern is invalid, return false
-        if (!isMovePatternValid(chess_pieces[movingPieceIndex], rowDelta, columnDelta, board_squares[newPieceLocation[0]][newPieceLocation[1]])) {
-            return false;
-        }
+    public Chess_Rules_Engine(Bitboard_Position position) {
+        possibleMoves = new int[Move_Generator.MAX_MOVES];
+        possibleMoveCount = 0;
+        this.position = position;
+        legalTargets = new long[64];
+    }
 
-        // If the piece is not a knight and is jumping over another piece, return false
-        if (!chess_pieces[movingPieceIndex].getPieceIdentity().equals("knight")) {
-            if (checkIfPieceInWay(chess_pieces[movingPieceIndex].getLocationOfBoardSquareOccupied(), new int[]{rowDelta, columnDelta}, board_squares)) {
-                return false;
-            }
-        }
+    /**
+     * Getter method for the position held by the rules engine
+     *
+     * @return Bitboard_Position  The position
+     */
+    public Bitboard_Position getPosition() {
+        return position;
+    }
 
-        // If the king isn't in check, then return true, else return false
-        return !checkIfKingInCheck(chess_pieces, movingPieceIndex, board_squares, newPieceLocation, isBlackMove, indexOfPieceInNewLocation);
+    /**
+     * Method that sets up the rules engine's position from a FEN string
+     *
+     * @param fen The FEN string
+     * @throws IllegalArgumentException If the FEN string cannot be read
+     */
+    public void setUpPosition(String fen) {
+        position.setFromFen(fen);
     }
 
     /**
-     * Method that checks if the move pattern of a specific piece is correct (e.g. if a bishop is moving in its
-     * predefined way).
+     * Helper method that converts a piece identity (e.g. "rook") into a Bitboard_Position piece type
      *
-     * @param chess_piece   The chess_piece that is being moved
-     * @param rowDelta      The row delta of movement (how many squares left/right)
-     * @param columnDelta   The column delta of movement (how many squares up/down)
-     * @param targetBoardSquare The square being moved to
-     * @return boolean      Whether or not the move pattern is valid
+     * @param pieceIdentity The identity of the chess piece
+     * @return int          The piece type
      */
-    private boolean isMovePatternValid(Chess_Piece chess_piece, int rowDelta, int columnDelta, Board_Square targetBoardSquare) {
-        if (rowDelta == 0 && columnDelta == 0) {
-            return false;
-        }
-        switch (chess_piece.getPieceIdentity()) {
-            case "rook":
-                // If one of left/right delta changes, but not both
-                if (columnDelta * rowDelta == 0) {
-                    return true;
-                }
-                break;
+    private static int decodePieceType(String pieceIdentity) {
+        switch (pieceIdentity) {
+            case "pawn":
+                return Bitboard_Position.PAWN;
             case "knight":
-                if ((Math.abs(columnDelta) == 1 && Math.abs(rowDelta) == 2) || (Math.abs(columnDelta) == 2 && Math.abs(rowDelta) == 1)) {
-                    return true;
-                }
-                break;
+                return Bitboard_Position.KNIGHT;
             case "bishop":
-                if (Math.abs(columnDelta) == Math.abs(rowDelta)) {
-                    return true;
-                }
-                break;
+                return Bitboard_Position.BISHOP;
+            case "rook":
+                return Bitboard_Position.ROOK;
             case "queen":
-                // Move_Chain of a rook
-                if (columnDelta * rowDelta == 0) {
-                    return true;
-                }
-                // Move_Chain of a bishop
-                if (Math.abs(columnDelta) == Math.abs(rowDelta)) {
-                    return true;
-                }
-                break;
-            case "king":
-                // If the king moves more than 1 square away, then it's invalid
-                if (Math.abs(columnDelta) > 1 || Math.abs(rowDelta) > 1) {
-                    break;
-                }
-                // Move_Chain horizontally or vertically
-                if (columnDelta * rowDelta == 0) {
-                    return true;
-                }
-                // Move_Chain diagonally
-                if (Math.abs(columnDelta) == Math.abs(rowDelta)) {
-                    return true;
-                }
-                break;
-            case "pawn":
-                if (!chess_piece.getIsBlack()) {
-                    rowDelta = -rowDelta;
-                }
-                // If it goes too far diagonally (more than 1 square)
-                if (Math.abs(columnDelta) > 1) {
-                    break;
-                }
-                // Moving diagonally one square
-                else if (Math.abs(columnDelta) == 1 && rowDelta == 1) {
-                    // Only returns true if there is a piece to be captured at the new location
-                    if (targetBoardSquare.isOccupiedByPiece()) {
-                        return true;
-                    }
-                } else {
-
-                    if (rowDelta == 1 && !targetBoardSquare.isOccupiedByPiece()) {
-                        return true;
-                    }
-                    if (rowDelta == 2 && chess_piece.getIsFirstMove() && columnDelta == 0 && !targetBoardSquare.isOccupiedByPiece()) {
-                        return true;
-                    }
-                }
-                break;
+                return Bitboard_Position.QUEEN;
+            default:
+                return Bitboard_Position.KING;
         }
-        return false;
     }
 
     /**
-     * Method checks if a piece is in the way of movement of the moving piece
+     * Method that packs a move between two [row, column] locations into an int (see the Move class)
      *
-     * @param currentBoardLocationPiece     The current [row,column] location of the board square occupied by the moving piece
-     * @param RCDelta       The row column delta of movement
-     * @param board_squares The 2D board_squares array
-     * @return boolean      Whether or not a piece is in the way of the movement of the moving piece
+     * @param fromLocation      The [row, column] location the piece moves from
+     * @param toLocation        The [row, column] location the piece moves to
+     * @param promotionIdentity The identity of the piece a pawn is promoted to (e.g. "queen"), or null if the move is not a promotion
+     * @return int              The packed move
      */
-    private boolean checkIfPieceInWay(int[] currentBoardLocationPiece, int RCDelta[], Board_Square[][] board_squares) {
-        // Cycle through every row-delta, and increase column-delta by the corresponding amount (ratio method) and check
-        // if there is a piece in the way
-
-        // Find the row delta and column delta per square of movement
-        int perRowDelta = RCDelta[0] / Math.max(Math.abs(RCDelta[0]), Math.abs(RCDelta[1]));
-        int perColumnDelta = RCDelta[1] / Math.max(Math.abs(RCDelta[0]), Math.abs(RCDelta[1]));
-        // Iterate through each square in between the current location and target location and check if there is a piece
-        // in the way.
-        int passNumber = 1;
-        while (passNumber < Math.max(Math.abs(RCDelta[0]), Math.abs(RCDelta[1]))) {
-            if (board_squares[currentBoardLocationPiece[0] + (passNumber * perRowDelta)][currentBoardLocationPiece[1] + (passNumber * perColumnDelta)].isOccupiedByPiece()) {
-                return true;
-            }
-            passNumber++;
-        }
-        // If the iteration completes and no piece was in the way, return false
-        return false;
+    public int createMove(int[] fromLocation, int[] toLocation, String promotionIdentity) {
+        int promotionType = promotionIdentity == null ? Bitboard_Position.QUEEN : decodePieceType(promotionIdentity);
+        return Move_Generator.createMove(position, fromLocation[0] * 8 + fromLocation[1], toLocation[0] * 8 + toLocation[1], promotionType);
     }
 
-    // Properties pertaining to castling (a special move between the king and rook)
-    private boolean wasMoveACastle = false;
-    private int rookBeingCastledWithAndDirection[] = new int[4];
-    private int[][] boardSquareLocationsToCastle = new int[4][2];
-
     /**
-     * Getter method for whether or not the most recent move was a castle
+     * Makes a move in the rules engine's position. The move must be one of the possible moves of the
+     * player whose turn it is.
      *
-     * @return boolean  Whether or not the most recent move was a castle
+     * @param move  The packed move to make
      */
-    public boolean getWasMoveACastle() {
-        return wasMoveACastle;
+    public void makeMove(int move) {
+        position.makeMove(move);
     }
 
     /**
-     * Setter method for whether or not the most recent move was a castle
-     *
-     * @param state     Whether or not the most recent move was a castle
+     * Takes back the most recent move made with makeMove()
      */
-    public void setWasMoveACastle(boolean state) {
-        this.wasMoveACastle = state;
+    public void unmakeMove() {
+        position.unmakeMove();
     }
 
     /**
-     * Getter method for a certain element of the rookBeingCastledWithAndDirection array
+     * Getter method for the Zobrist key of the current position (see the Zobrist_Keys class), which can
+     * be used to recognise a position that has been seen before
      *
-     * @return int  The rook being castled with and the direction that the rook moves
+     * @return long  The Zobrist key
      */
-    public int getRookBeingCastledWithAndDirection(int index) {
-        return rookBeingCastledWithAndDirection[index];
+    public long getPositionKey() {
+        return position.getZobristKey();
     }
 
     /**
-     * Checks if a certain move is part of one of the possible castle moves
+     * Checks whether or not the king is in check (returns true if it is)
      *
-     * @param newKingLocation   The location where the king is being moved
-     * @return boolean      Whether or not the inputted move is a castling move
+     * @param isBlackMove   Whether or not it is the black player's move
+     * @return boolean      Whether or not the king is in check
      */
-    public boolean checkIfOneOfCastleMoves(int[] newKingLocation) {
-        for (int[] castleLocation : boardSquareLocationsToCastle) {
-            if (Arrays.equals(castleLocation, newKingLocation)) {
-                return true;
-            }
+    public boolean isKingInCheck(boolean isBlackMove) {
+        int colour = isBlackMove ? Bitboard_Position.BLACK : Bitboard_Position.WHITE;
+        // The side to move's checkers are cached by the position
+        if (colour == position.getSideToMove()) {
+            return position.isInCheck();
         }
-        return false;
+        return position.isSquareAttacked(position.getKingSquare(colour), colour ^ 1);
     }
 
     /**
-     * Method checks whether or not the player's (whose turn it currently is) king is in check
+     * Counts the leaf positions of the game tree below the current position to a certain depth (see the
+     * Perft class). The position is the same afterwards.
      *
-     * @param chess_pieces  The chess_pieces array
-     * @param movingPieceIndex The index of the moving piece (in the chess_pieces array)
-     * @param board_squares     The board_squares 2D array
-     * @param newPieceLocation  The location to which the piece is to be moved
-     * @param isBlackMove       Whether or not it is the black player's move
-     * @param indexOfPieceInNewLocation Index of the piece that is occupying the new location
-     * @return boolean      Whether or not the player's king is in check
+     * @param depth The number of half-moves to look ahead
+     * @return long The number of leaf positions
      */
-    private boolean checkIfKingInCheck(Chess_Piece[] chess_pieces, int movingPieceIndex, Board_Square[][] board_squares, int[] newPieceLocation, boolean isBlackMove, int indexOfPieceInNewLocation) {
-// Remove the pre-existing piece from the target square
-        if (indexOfPieceInNewLocation != -1) {
-            chess_pieces[indexOfPieceInNewLocation].setLocationOfBoardSquareOccupied(new int[]{-1, -1});
-        }
-
-        // Remove the piece from the old location
-        int[] oldLocationOfMovingPiece = new int[2];
-        oldLocationOfMovingPiece[0] = chess_pieces[movingPieceIndex].getLocationOfBoardSquareOccupied()[0];
-        oldLocationOfMovingPiece[1] = chess_pieces[movingPieceIndex].getLocationOfBoardSquareOccupied()[1];
-
-        board_squares[oldLocationOfMovingPiece[0]][oldLocationOfMovingPiece[1]].setOccupiedByPiece(false);
-        board_squares[oldLocationOfMovingPiece[0]][oldLocationOfMovingPiece[1]].setIndexOfOccupyingPiece(-1);
-
-        // Move_Chain it to the new location
-        chess_pieces[movingPieceIndex].setLocationOfBoardSquareOccupied(newPieceLocation);
-
-        board_squares[newPieceLocation[0]][newPieceLocation[1]].setOccupiedByPiece(true);
-        board_squares[newPieceLocation[0]][newPieceLocation[1]].setIndexOfOccupyingPiece(movingPieceIndex);
-
-        boolean isCheck = false;
-
-        if (isKingInCheck(isBlackMove, chess_pieces, board_squares)) {
-            //System.out.println("IN CHECK");
-            isCheck = true;
-        }
-
-        // Remove the piece from the new location
-        // Put the piece back in the old location
-        chess_pieces[movingPieceIndex].setLocationOfBoardSquareOccupied(oldLocationOfMovingPiece);
-        board_squares[oldLocationOfMovingPiece[0]][oldLocationOfMovingPiece[1]].setOccupiedByPiece(true);
-        board_squares[oldLocationOfMovingPiece[0]][oldLocationOfMovingPiece[1]].setIndexOfOccupyingPiece(movingPieceIndex);
+    public long perft(int depth) {
+        return Perft.perft(position, depth);
+    }
 
-        // Move_Chain original piece back (if applicable)
-        if (indexOfPieceInNewLocation != -1) {
-            chess_pieces[indexOfPieceInNewLocation].setLocationOfBoardSquareOccupied(new int[]{newPieceLocation[0], newPieceLocation[1]});
-            board_squares[newPieceLocation[0]][newPieceLocation[1]].setIndexOfOccupyingPiece(indexOfPieceInNewLocation);
+    /**
+     * Method to find and store all the possible moves for the player whose turn it is in the possibleMoves
+     * array. This must be called again after the position changes.
+     */
+    public void findAndStoreAllPossibleMovesForPlayer() {
+        possibleMoveCount = Move_Generator.generateLegalMoves(position, possibleMoves, 0);
+        for (int square = 0; square < 64; square++) {
+            legalTargets[square] = 0L;
         }
-        // Otherwise unoccupy the new location square
-        else {
-            board_squares[newPieceLocation[0]][newPieceLocation[1]].setOccupiedByPiece(false);
-            board_squares[newPieceLocation[0]][newPieceLocation[1]].setIndexOfOccupyingPiece(-1);
+        for (int i = 0; i < possibleMoveCount; i++) {
+            legalTargets[Move.getFromSquare(possibleMoves[i])] |= 1L << Move.getToSquare(possibleMoves[i]);
         }
-        return isCheck;
     }
 
     /**
-     * Checks whether or not the king is in check (returns true if it is)
+     * Getter method for the number of possible moves stored by findAndStoreAllPossibleMovesForPlayer()
      *
-     * @param isBlackMove   Whether or not it is the black player's move
-     * @param chess_pieces  The chess_pieces array
-     * @param board_squares The board_squares 2D array
-     * @return boolean      Whether or not the king is in check
+     * @return int  The number of possible moves
      */
-    private boolean isKingInCheck(boolean isBlackMove, Chess_Piece[] chess_pieces, Board_Square[][] board_squares) {
-        int rowDelta, columnDelta;
+    public int getPossibleMoveCount() {
+        return possibleMoveCount;
+    }
 
-        if (isBlackMove) {
-            int[] boardSquareLocationKing = {chess_pieces[4].getLocationOfBoardSquareOccupied()[0], chess_pieces[4].getLocationOfBoardSquareOccupied()[1]};
-            for (int i = 16; i < chess_pieces.length; i++) {
-                if (i == 28) {
-                    continue;
-                }
-                rowDelta = boardSquareLocationKing[0] - chess_pieces[i].getLocationOfBoardSquareOccupied()[0];
-                columnDelta = boardSquareLocationKing[1] - chess_pieces[i].getLocationOfBoardSquareOccupied()[1];
-                if (!isMovePatternValid(chess_pieces[i], rowDelta, columnDelta, board_squares[boardSquareLocationKing[0]][boardSquareLocationKing[1]])) {
-                    continue;
-                }
-                if (checkIfPieceInWay(chess_pieces[i].getLocationOfBoardSquareOccupied(), new int[]{rowDelta, columnDelta}, board_squares)) {
-                    continue;
-                }
-                return true;
-            }
-        } else {
-            int[] boardSquareLocationKing = {chess_pieces[28].getLocationOfBoardSquareOccupied()[0], chess_pieces[28].getLocationOfBoardSquareOccupied()[1]};
-            for (int i = 0; i < 16; i++) {
-                if (i == 4) {
-                    continue;
-                }
-                rowDelta = boardSquareLocationKing[0] - chess_pieces[i].getLocationOfBoardSquareOccupied()[0];
-                columnDelta = boardSquareLocationKing[1] - chess_pieces[i].getLocationOfBoardSquareOccupied()[1];
-                if (!isMovePatternValid(chess_pieces[i], rowDelta, columnDelta, board_squares[boardSquareLocationKing[0]][boardSquareLocationKing[1]])) {
-                    continue;
-                }
-                if (checkIfPieceInWay(chess_pieces[i].getLocationOfBoardSquareOccupied(), new int[]{rowDelta, columnDelta}, board_squares)) {
-                    continue;
-                }
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Getter method for one of the possible moves stored by findAndStoreAllPossibleMovesForPlayer()
+     *
+     * @param index The index of the move (from 0 to getPossibleMoveCount() - 1)
+     * @return int  The packed move
+     */
+    public int getPossibleMove(int index) {
+        return possibleMoves[index];
     }
 
     /**
-     * Method that determines all possible moves that can be made with a given piece
+     * Checks whether or not a packed move is one of the possible moves stored by
+     * findAndStoreAllPossibleMovesForPlayer() (including, for a promotion, the piece promoted to)
      *
-     * @param chess_pieces  The chess_pieces array
-     * @param pieceIndex    The index of the moving piece (in the chess_pieces array)
-     * @param board_squares The board_squares 2D array
-     * @return ArrayList<int[]>  The possible locations to which the specified piece can move to
+     * @param move      The packed move
+     * @return boolean  Whether or not the move is legal
      */
-    private ArrayList<int[]> findPossibleMovesForPiece(Chess_Piece[] chess_pieces, int pieceIndex, Board_Square[][] board_squares) {
-        ArrayList<int[]> possibleMoveLocations = new ArrayList<>();
-        for (int r = 0; r < board_squares.length; r++) {
-            for (int c = 0; c < board_squares[r].length; c++) {
-                try {
-                    if (isMoveValid(chess_pieces, pieceIndex, board_squares, new int[]{r, c}, chess_pieces[pieceIndex].getIsBlack())) {
-                        possibleMoveLocations.add(new int[]{r, c});
-                    }
-                } catch (Exception e) {
-                }
+    public boolean isPossibleMove(int move) {
+        for (int i = 0; i < possibleMoveCount; i++) {
+            if (possibleMoves[i] == move) {
+                return true;
             }
         }
-        return possibleMoveLocations;
+        return false;
     }
 
     /**
-     * Method to find and store all the possible moves for a player in the possibleMoves array
+     * Finds the possible move written in coordinate notation (e.g. "e2e4", or "e7e8q" for a promotion)
      *
-     * @param chess_pieces  The chess_pieces array
-     * @param board_squares The board_squares 2D array
-     * @param isBlack       Whether or not it is the black player's turn
+     * @param coordinateNotation The move in coordinate notation
+     * @return int               The packed move, or Move.NONE if it is not one of the possible moves
      */
-    public void findAndStoreAllPossibleMovesForPlayer(Chess_Piece[] chess_pieces, Board_Square[][] board_squares, boolean isBlack) {
-        if (isBlack) {
-            for (int i = 0; i < 16; i++) {
-                possibleMoves[i] = findPossibleMovesForPiece(chess_pieces, i, board_squares);
-            }
-        } else {
-            for (int i = 0; i < 16; i++) {
-                possibleMoves[i] = findPossibleMovesForPiece(chess_pieces, i + 16, board_squares);
+    public int findPossibleMove(String coordinateNotation) {
+        if (coordinateNotation.length() != 4 && coordinateNotation.length() != 5) {
+            return Move.NONE;
+        }
+        int fromSquare;
+        int toSquare;
+        try {
+            fromSquare = Move.parseSquare(coordinateNotation.substring(0, 2));
+            toSquare = Move.parseSquare(coordinateNotation.substring(2, 4));
+        } catch (IllegalArgumentException e) {
+            return Move.NONE;
+        }
+        // A promotion must name the piece promoted to, and other moves must not
+        int promotionType = coordinateNotation.length() == 5 ? "nbrq".indexOf(coordinateNotation.charAt(4)) + Bitboard_Position.KNIGHT : -1;
+        for (int i = 0; i < possibleMoveCount; i++) {
+            int move = possibleMoves[i];
+            if (Move.getFromSquare(move) == fromSquare && Move.getToSquare(move) == toSquare
+                    && (Move.isPromotion(move) ? Move.getPromotionType(move) == promotionType : promotionType == -1)) {
+                return move;
             }
         }
+        return Move.NONE;
     }
 
     /**
-     * Getter method for all the possible moves for a specific piece
+     * Getter method for all the squares that the piece on a certain square can move to
      *
-     * @param pieceIndex    The index of the piece (in the chess_pieces array) for which the possible moves are to be returned
-     * @return ArrayList<int[]>  The possible locations to which the specified piece can move to
+     * @param pieceLocation The [row, column] location of the piece
+     * @return long         The bitboard of squares (bit row * 8 + column) that the piece can move to
      */
-    public ArrayList<int[]> findPossibleMovesForPiece(int pieceIndex) {
-        // If it's more than 16, then it is a white piece, so decrease it by 16
-        if (pieceIndex >= 16) {
-            pieceIndex -= 16;
-        }
-        return possibleMoves[pieceIndex];
+    public long getPossibleTargetSquares(int[] pieceLocation) {
+        return legalTargets[pieceLocation[0] * 8 + pieceLocation[1]];
     }
 
     /**
-     * @param indexOfMovingPiece The index of the moving chess piece in the chess_pieces array
-     * @param target_location    The new location to which the square will be moved
-     * @return boolean              Whether or not the move is legal
+     * @param pieceLocation   The [row, column] location of the moving chess piece
+     * @param target_location The new location to which the piece will be moved
+     * @return boolean        Whether or not the move is legal
      */
-    public boolean isMovePartOfPossibleMoves(int indexOfMovingPiece, int[] target_location) {
-        // If it's more than 16, then it is a white piece, so decrease it by 16
-        if (indexOfMovingPiece >= 16) {
-            indexOfMovingPiece -= 16;
-        }
-        for (int[] possibleLocation : possibleMoves[indexOfMovingPiece]) {
-            if (Arrays.equals(target_location, possibleLocation)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isMovePartOfPossibleMoves(int[] pieceLocation, int[] target_location) {
+        return (getPossibleTargetSquares(pieceLocation) & (1L << (target_location[0] * 8 + target_location[1]))) != 0;
     }
 
     /**
@@ -473,33 +258,6 @@ public class Chess_Rules_Engine {
      * @return boolean  Whether or not the game is over
      */
     public boolean isGameOver() {
-        for (ArrayList<int[]> possibleMove : possibleMoves) {
-            if (possibleMove.size() > 0) {
-                return false;
-            }
-        }
-        return true;
+        return possibleMoveCount == 0;
     }
-
-    /**
-     * Whether or not the pawn is upgradeable/promotable (which occurs
-     * when the pawn reaches the 1st or 8th rank)
-     *
-     * @param pawn  The pawn that might get upgraded
-     * @param targetRank   The rank that the pawn is moving to
-     * @return boolean      Whether or not the pawn is promotable
-     */
-    public boolean isPawnUpgradeable(Chess_Piece pawn, int targetRank) {
-        // If the pawn is black
-        if (pawn.getIsBlack()) {
-            // If the black pawn is to be placed in the 1st rank (index 7), then it is upgradable
-            return targetRank == 7;
-        }
-        // Otherwise if it's white
-        else {
-            // If the white pawn to be placed in the 8th rank (index 0), then it is upgradable
-            return targetRank == 0;
-        }
-    }
-
 }
@@ -0,0 +1,408 @@
+package ics3.chess;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A computer opponent that plays one colour of a Game. It observes the game, and whenever it becomes its
+ * turn it searches the position with a Lazy_Smp_Search (one thread per core) in the background, so that
+ * the thread that owns the game (the Swing event dispatch thread, in the user interface) is never blocked.
+ * The chosen move is handed back to that thread through an Executor (e.g. SwingUtilities::invokeLater),
+ * which makes it.
+ *
+ * If it has an opening book, a position that is in the book is not searched at all: a book move is picked
+ * at once (at random, in proportion to the moves' weights). Likewise, if it has a Tablebase that knows the
+ * best move of a position, that move is played without searching (on the background thread, since a probe
+ * may have to read and inflate part of a table); the searches also use the tablebase.
+ *
+ * While the opponent thinks, the computer searches the position after the reply it expects (the second
+ * move of its last search's principal variation) with its time limits paused ("pondering"). If the
+ * opponent makes that reply, the search carries on as the search for the computer's move, with its limits
+ * started then (see Time_Manager.ponderHit), so nothing it has done is lost; otherwise it is stopped and a
+ * new search is started, which still finds the ponder search's work in the shared transposition table.
+ *
+ * The progress of each search (depth, score, nodes, nodes per second and principal variation) is printed
+ * to standard output.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Computer_Player implements Game_Listener, Search_Listener {
+
+    // By default, the computer thinks for up to a second per move
+    public static final long DEFAULT_THINKING_TIME_MILLIS = 1000;
+
+    // The game being played, and the colour the computer plays in it
+    private Game game;
+    private int colour;
+
+    // Runs code on the thread that owns the game
+    private Executor gameExecutor;
+
+    // The search, and the background thread that runs it (the search's helper threads run alongside it)
+    private Lazy_Smp_Search search;
+    private ExecutorService searchThread;
+
+    // The longest the computer thinks about a move in an untimed game (in milliseconds), and the deepest it
+    // searches
+    private long thinkingTimeMillis;
+    private int maxDepth;
+
+    // The opening book (may be null), and the random number generator used to choose book moves
+    private Polyglot_Book openingBook;
+    private final Random random;
+    // The endgame tables (may be null)
+    private Tablebase tablebase;
+
+    // Increased whenever the current search becomes out of date (e.g. when the game is restarted), so that
+    // its move is thrown away instead of being made
+    private final AtomicInteger searchGeneration;
+
+    // While pondering: the expected reply, the Zobrist key of the position after it, and the ponder search's
+    // time limits (Move.NONE and null while not pondering). These and the fields below are only used on
+    // the thread that owns the game.
+    private int ponderMove;
+    private long ponderPositionKey;
+    private Time_Manager ponderTimeManager;
+    // Whether or not the opponent has made the expected reply ("ponder hit")
+    private boolean isPonderHit;
+    // Whether or not the ponder search finished before the opponent moved, and if so, its best move and the
+    // reply it expects to that move
+    private boolean isPonderSearchFinished;
+    private int ponderBestMove;
+    private int ponderBestMoveReply;
+
+    /**
+     * Constructor for the Computer_Player class
+     *
+     * @param game         The game to play in
+     * @param colour       The colour to play (Bitboard_Position.WHITE or Bitboard_Position.BLACK)
+     * @param gameExecutor Runs code on the thread that owns the game (the move is made through it)
+     */
+    public Computer_Player(Game game, int colour, Executor gameExecutor) {
+        this.game = game;
+        this.colour = colour;
+        this.gameExecutor = gameExecutor;
+        search = new Lazy_Smp_Search(Runtime.getRuntime().availableProcessors());
+        search.setListener(this);
+        searchThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "computer-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+        thinkingTimeMillis = DEFAULT_THINKING_TIME_MILLIS;
+        maxDepth = Search_Engine.MAX_PLY - 1;
+        random = new Random();
+        searchGeneration = new AtomicInteger();
+        ponderMove = Move.NONE;
+    }
+
+    /**
+     * Getter method for the colour the computer plays
+     *
+     * @return int  The colour (Bitboard_Position.WHITE or Bitboard_Position.BLACK)
+     */
+    public int getColour() {
+        return colour;
+    }
+
+    /**
+     * Setter method for the longest the computer thinks about a move in an untimed game (in a timed game, the
+     * time comes from its clock)
+     *
+     * @param thinkingTimeMillis The time (in milliseconds)
+     */
+    public void setThinkingTime(long thinkingTimeMillis) {
+        this.thinkingTimeMillis = thinkingTimeMillis;
+    }
+
+    /**
+     * Setter method for the deepest the computer searches (it stops early if it reaches this depth before
+     * its thinking time is up)
+     *
+     * @param maxDepth The depth (in half-moves)
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Setter method for the opening book the computer plays from
+     *
+     * @param openingBook The opening book, or null for none
+     */
+    public void setOpeningBook(Polyglot_Book openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Setter method for the endgame tables the computer plays from and searches with. Must not be called
+     * while the computer is thinking.
+     *
+     * @param tablebase The tablebase, or null for none
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+        search.setTablebase(tablebase);
+    }
+
+    /**
+     * Starts thinking about a move if it is the computer's turn. Must be called on the thread that owns the
+     * game (the game's listeners call it after every move, but it must also be called when a game starts).
+     */
+    public void startThinkingIfToMove() {
+        if (game.isGameOver() || game.getPosition().getSideToMove() != colour) {
+            return;
+        }
+        // The search gets its own copy of the position, since the game belongs to another thread
+        Bitboard_Position position = new Bitboard_Position(game.getPosition());
+        Time_Manager time_manager = createTimeManager();
+        int generation = searchGeneration.get();
+        // A book move is played without searching (it is still made later, so that the other listeners of
+        // the move that was just made are told about it first)
+        if (openingBook != null) {
+            int bookMove = openingBook.chooseMove(position, random);
+            if (bookMove != Move.NONE) {
+                gameExecutor.execute(() -> makeMove(generation, position.getZobristKey(), bookMove, Move.NONE));
+                return;
+            }
+        }
+        searchThread.execute(() -> {
+            if (!prepareSearch(generation)) {
+                return;
+            }
+            // A position in the tablebase is played perfectly without searching
+            if (tablebase != null) {
+                int tablebaseMove = tablebase.getBestMove(position);
+                if (tablebaseMove != Move.NONE) {
+                    gameExecutor.execute(() -> makeMove(generation, position.getZobristKey(), tablebaseMove, Move.NONE));
+                    return;
+                }
+            }
+            int move = search.search(position, maxDepth, time_manager);
+            int reply = getExpectedReply(move);
+            if (move != Move.NONE) {
+                gameExecutor.execute(() -> makeMove(generation, position.getZobristKey(), move, reply));
+            }
+        });
+    }
+
+    /**
+     * Stops the current search (if any, including a ponder search) and throws away its move. Must be called
+     * on the thread that owns the game, e.g. before the game is restarted.
+     */
+    public void cancel() {
+        searchGeneration.incrementAndGet();
+        search.stop();
+        ponderMove = Move.NONE;
+        ponderTimeManager = null;
+    }
+
+    /**
+     * Helper method, called on the search thread before each search, that gets the search ready unless it
+     * has become out of date. The search is prepared before the generation is checked: cancel() moves the
+     * generation on before it stops the search, so either the check fails or the stop comes after the
+     * search was prepared and still stops it. (Preparing on the thread that owns the game instead would
+     * undo the stop of a search that is still finishing, e.g. a ponder search that missed.)
+     *
+     * @param generation The search generation when the search was handed to the search thread
+     * @return boolean   Whether or not the search should go ahead
+     */
+    private boolean prepareSearch(int generation) {
+        search.prepare();
+        return generation == searchGeneration.get();
+    }
+
+    /**
+     * Helper method that makes the time limits for the computer's next move. In a timed game they come from
+     * the computer's clock (the games have no increment); otherwise the thinking time is used.
+     *
+     * @return Time_Manager The time limits, started from now
+     */
+    private Time_Manager createTimeManager() {
+        if (game.isTimed()) {
+            return Time_Manager.forClock(game.getTimeRemainingMillis(colour), 0, 0);
+        }
+        return Time_Manager.forMoveTime(thinkingTimeMillis);
+    }
+
+    /**
+     * Helper method, called on the search thread after a search, that finds the reply the search expects
+     * to its best move
+     *
+     * @param bestMove The move the search chose
+     * @return int     The second move of the search's principal variation, or Move.NONE if there is none
+     */
+    private int getExpectedReply(int bestMove) {
+        int[] principalVariation = search.getPrincipalVariation();
+        if (principalVariation.length < 2 || principalVariation[0] != bestMove) {
+            return Move.NONE;
+        }
+        return principalVariation[1];
+    }
+
+    /**
+     * Helper method that makes the move a search chose, unless the game has changed since the search
+     * started, and then starts pondering on the reply the search expects
+     *
+     * @param generation  The search generation when the search started
+     * @param positionKey The Zobrist key of the position that was searched
+     * @param move        The move that was chosen
+     * @param reply       The reply the search expects, or Move.NONE if it has none
+     */
+    private void makeMove(int generation, long positionKey, int move, int reply) {
+        if (generation == searchGeneration.get() && !game.isGameOver() && game.getPosition().getZobristKey() == positionKey) {
+            game.makeMove(move);
+            startPondering(reply);
+        }
+    }
+
+    /**
+     * Helper method that starts searching the position after the opponent's expected reply while the
+     * opponent thinks, unless the reply is not legal (a principal variation can be cut short by the table)
+     * or the resulting position is in the opening book
+     *
+     * @param reply The reply the computer expects, or Move.NONE if it has none
+     */
+    private void startPondering(int reply) {
+        if (reply == Move.NONE || game.isGameOver() || game.getPosition().getSideToMove() == colour) {
+            return;
+        }
+        Bitboard_Position position = new Bitboard_Position(game.getPosition());
+        int[] moves = new int[Move_Generator.MAX_MOVES];
+        int moveCount = Move_Generator.generateLegalMoves(position, moves, 0);
+        boolean isLegal = false;
+        for (int i = 0; i < moveCount && !isLegal; i++) {
+            isLegal = moves[i] == reply;
+        }
+        if (!isLegal) {
+            return;
+        }
+        position.makeMove(reply);
+        if (openingBook != null && openingBook.chooseMove(position, random) != Move.NONE) {
+            return;
+        }
+
+        // The limits are paused until the opponent makes the reply (the computer's clock is stopped until
+        // then, so they are already the right ones)
+        Time_Manager time_manager = createTimeManager();
+        time_manager.pause();
+        ponderMove = reply;
+        ponderPositionKey = position.getZobristKey();
+        ponderTimeManager = time_manager;
+        isPonderHit = false;
+        isPonderSearchFinished = false;
+        int generation = searchGeneration.get();
+        searchThread.execute(() -> {
+            if (!prepareSearch(generation)) {
+                return;
+            }
+            int move = search.search(position, maxDepth, time_manager);
+            int nextReply = getExpectedReply(move);
+            gameExecutor.execute(() -> ponderSearchFinished(generation, move, nextReply));
+        });
+    }
+
+    /**
+     * Helper method, called on the thread that owns the game when the ponder search returns, that makes its
+     * move if the opponent has made the expected reply, or keeps it until then if the search finished on its
+     * own first (e.g. by finding a forced checkmate). A search that was stopped because the opponent played
+     * something else is out of date, and its move is thrown away.
+     *
+     * @param generation The search generation when the ponder search started
+     * @param move       The move the ponder search chose
+     * @param reply      The reply it expects to that move, or Move.NONE if it has none
+     */
+    private void ponderSearchFinished(int generation, int move, int reply) {
+        if (generation != searchGeneration.get()) {
+            return;
+        }
+        if (!isPonderHit) {
+            isPonderSearchFinished = true;
+            ponderBestMove = move;
+            ponderBestMoveReply = reply;
+            return;
+        }
+        long positionKey = ponderPositionKey;
+        ponderMove = Move.NONE;
+        ponderTimeManager = null;
+        if (move != Move.NONE) {
+            makeMove(generation, positionKey, move, reply);
+        }
+    }
+
+    /**
+     * Helper method, called when the opponent makes the expected reply, that turns the ponder search into
+     * the search for the computer's move by starting its time limits
+     */
+    private void ponderHit() {
+        isPonderHit = true;
+        ponderTimeManager.ponderHit();
+        if (isPonderSearchFinished) {
+            // The move is still made later, so that the other listeners are told about the reply first
+            int generation = searchGeneration.get();
+            int move = ponderBestMove;
+            int reply = ponderBestMoveReply;
+            gameExecutor.execute(() -> ponderSearchFinished(generation, move, reply));
+        }
+    }
+
+    /**
+     * Implementation of the moveMade() method in the Game_Listener interface. If the computer is pondering,
+     * a move that is the expected reply lets the ponder search carry on, and any other move stops it. Then,
+     * if it is now the computer's turn and it has no search running, it starts thinking.
+     *
+     * @param game The game the move was made in
+     * @param move The packed move that was made
+     */
+    @Override
+    public void moveMade(Game game, int move) {
+        if (ponderMove != Move.NONE) {
+            if (move == ponderMove && game.getPosition().getZobristKey() == ponderPositionKey) {
+                ponderHit();
+                return;
+            }
+            cancel();
+        }
+        startThinkingIfToMove();
+    }
+
+    /**
+     * Implementation of the gameOver() method in the Game_Listener interface. It stops thinking.
+     *
+     * @param game The game that ended
+     */
+    @Override
+    public void gameOver(Game game) {
+        cancel();
+    }
+
+    /**
+     * Implementation of the depthCompleted() method in the Search_Listener interface. It prints the progress
+     * of the search.
+     *
+     * @param depth              The depth that was finished
+     * @param score              The score of the best move in centipawns
+     * @param nodes              The number of positions searched so far
+     * @param elapsedNanos       The time the search has taken so far (in nanoseconds)
+     * @param principalVariation The best line found
+     */
+    @Override
+    public void depthCompleted(int depth, int score, long nodes, long elapsedNanos, int[] principalVariation) {
+        StringBuilder line = new StringBuilder();
+        line.append("depth ").append(depth)
+                .append("  score ").append(score)
+                .append("  nodes ").append(nodes)
+                .append("  nps ").append(nodes * 1000000000L / Math.max(1, elapsedNanos))
+                .append("  hashfull ").append(search.getTranspositionTable().getFillPermille())
+                .append("  pv");
+        for (int move : principalVariation) {
+            line.append(' ').append(Move.toCoordinateNotation(move));
+        }
+        System.out.println(line);
+    }
+}
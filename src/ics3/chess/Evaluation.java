@@ -0,0 +1,478 @@
+package ics3.chess;
+
+/**
+ * Utility class that scores a position for the search. The score is the material of each side plus a
+ * bonus or penalty for the square each piece stands on (piece-square tables), in centipawns (a pawn is
+ * worth 100). Each piece has a middlegame and an endgame value, and the two are blended by how much
+ * material is left on the board, so that (for example) the king hides in the middlegame but walks to the
+ * centre in the endgame.
+ *
+ * The pawn structure is also scored: doubled, isolated and backward pawns are penalised, passed pawns get a
+ * bonus (more in the endgame, and more when the enemy king is far from them), and in the middlegame the
+ * king is penalised for missing pawns in front of it.
+ *
+ * The sums of the middlegame and endgame values, and the phase, are kept by the Bitboard_Position itself
+ * (updated as each piece is placed or removed), and the pawn structure scores are kept in a Pawn_Hash_Table
+ * (the pawns rarely move, so the same structure is scored again and again), so scoring a position usually
+ * takes a few additions rather than a pass over every piece.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Evaluation {
+
+    // The value of each piece type (pawn to king) in centipawns, in the middlegame and in the endgame
+    private static final int[] MIDDLEGAME_PIECE_VALUES = {82, 337, 365, 477, 1025, 0};
+    private static final int[] ENDGAME_PIECE_VALUES = {94, 281, 297, 512, 936, 0};
+
+    // How much each piece type counts towards the game phase (24 with all the pieces on the board, 0 with
+    // only kings and pawns)
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+    private static final int MAX_PHASE = 24;
+
+    // Pawn structure penalties for each doubled pawn (one with a pawn of its own side in front of it),
+    // isolated pawn (one with no pawns of its own side on the columns next to it) and backward pawn (one
+    // whose square in front is attacked by an enemy pawn and can never be defended by its own pawns), in
+    // the middlegame and in the endgame
+    private static final int DOUBLED_PAWN_MIDDLEGAME = -10;
+    private static final int DOUBLED_PAWN_ENDGAME = -20;
+    private static final int ISOLATED_PAWN_MIDDLEGAME = -10;
+    private static final int ISOLATED_PAWN_ENDGAME = -15;
+    private static final int BACKWARD_PAWN_MIDDLEGAME = -8;
+    private static final int BACKWARD_PAWN_ENDGAME = -10;
+
+    // The bonus for a passed pawn (one that no enemy pawn can stop) on each row, counted from its own side
+    // of the board (row 1 is where the pawns start)
+    private static final int[] PASSED_PAWN_MIDDLEGAME = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_PAWN_ENDGAME = {0, 10, 20, 35, 60, 100, 150, 0};
+
+    // The middlegame penalty for each column next to (or of) a king on its first two rows that has no pawn
+    // of its own on its second row, depending on whether there is one on the third row instead
+    private static final int SHELTER_PAWN_ADVANCED = -10;
+    private static final int SHELTER_PAWN_MISSING = -25;
+
+    // The second and third rows of each colour (from its own side of the board)
+    private static final long[] SECOND_ROWS = {0x00FF000000000000L, 0x000000000000FF00L};
+    private static final long[] THIRD_ROWS = {0x0000FF0000000000L, 0x0000000000FF0000L};
+
+    // Piece-square tables for white, one for each piece type, with a8 first and h1 last (the same order
+    // as the squares of a Bitboard_Position). Black's tables are the same tables flipped vertically.
+    private static final int[][] MIDDLEGAME_TABLES = {
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    50, 50, 50, 50, 50, 50, 50, 50,
+                    10, 10, 20, 30, 30, 20, 10, 10,
+                    5, 5, 10, 25, 25, 10, 5, 5,
+                    0, 0, 0, 20, 20, 0, 0, 0,
+                    5, -5, -10, 0, 0, -10, -5, 5,
+                    5, 10, 10, -20, -20, 10, 10, 5,
+                    0, 0, 0, 0, 0, 0, 0, 0
+            },
+            {
+                    -50, -40, -30, -30, -30, -30, -40, -50,
+                    -40, -20, 0, 0, 0, 0, -20, -40,
+                    -30, 0, 10, 15, 15, 10, 0, -30,
+                    -30, 5, 15, 20, 20, 15, 5, -30,
+                    -30, 0, 15, 20, 20, 15, 0, -30,
+                    -30, 5, 10, 15, 15, 10, 5, -30,
+                    -40, -20, 0, 5, 5, 0, -20, -40,
+                    -50, -40, -30, -30, -30, -30, -40, -50
+            },
+            {
+                    -20, -10, -10, -10, -10, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 10, 10, 5, 0, -10,
+                    -10, 5, 5, 10, 10, 5, 5, -10,
+                    -10, 0, 10, 10, 10, 10, 0, -10,
+                    -10, 10, 10, 10, 10, 10, 10, -10,
+                    -10, 5, 0, 0, 0, 0, 5, -10,
+                    -20, -10, -10, -10, -10, -10, -10, -20
+            },
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    5, 10, 10, 10, 10, 10, 10, 5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    0, 0, 0, 5, 5, 0, 0, 0
+            },
+            {
+                    -20, -10, -10, -5, -5, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 5, 5, 5, 0, -10,
+                    -5, 0, 5, 5, 5, 5, 0, -5,
+                    0, 0, 5, 5, 5, 5, 0, -5,
+                    -10, 5, 5, 5, 5, 5, 0, -10,
+                    -10, 0, 5, 0, 0, 0, 0, -10,
+                    -20, -10, -10, -5, -5, -10, -10, -20
+            },
+            {
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -20, -30, -30, -40, -40, -30, -30, -20,
+                    -10, -20, -20, -20, -20, -20, -20, -10,
+                    20, 20, 0, 0, 0, 0, 20, 20,
+                    20, 30, 10, 0, 0, 10, 30, 20
+            }
+    };
+    private static final int[][] ENDGAME_TABLES = {
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    80, 80, 80, 80, 80, 80, 80, 80,
+                    50, 50, 50, 50, 50, 50, 50, 50,
+                    30, 30, 30, 30, 30, 30, 30, 30,
+                    20, 20, 20, 20, 20, 20, 20, 20,
+                    10, 10, 10, 10, 10, 10, 10, 10,
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    0, 0, 0, 0, 0, 0, 0, 0
+            },
+            MIDDLEGAME_TABLES[Bitboard_Position.KNIGHT],
+            MIDDLEGAME_TABLES[Bitboard_Position.BISHOP],
+            MIDDLEGAME_TABLES[Bitboard_Position.ROOK],
+            MIDDLEGAME_TABLES[Bitboard_Position.QUEEN],
+            {
+                    -50, -40, -30, -20, -20, -30, -40, -50,
+                    -30, -20, -10, 0, 0, -10, -20, -30,
+                    -30, -10, 20, 30, 30, 20, -10, -30,
+                    -30, -10, 30, 40, 40, 30, -10, -30,
+                    -30, -10, 30, 40, 40, 30, -10, -30,
+                    -30, -10, 20, 30, 30, 20, -10, -30,
+                    -30, -30, 0, 0, 0, 0, -30, -30,
+                    -50, -30, -30, -30, -30, -30, -30, -50
+            }
+    };
+
+    // The middlegame and endgame value of each piece (colour * 6 + type) on each square, including its
+    // material, from white's point of view (black's pieces have negative values)
+    private static final int[][] MIDDLEGAME_VALUES = new int[12][64];
+    private static final int[][] ENDGAME_VALUES = new int[12][64];
+
+    static {
+        for (int type = Bitboard_Position.PAWN; type <= Bitboard_Position.KING; type++) {
+            for (int square = 0; square < 64; square++) {
+                MIDDLEGAME_VALUES[type][square] = MIDDLEGAME_PIECE_VALUES[type] + MIDDLEGAME_TABLES[type][square];
+                ENDGAME_VALUES[type][square] = ENDGAME_PIECE_VALUES[type] + ENDGAME_TABLES[type][square];
+                // Flipping the row gives black the same table from its own side of the board
+                MIDDLEGAME_VALUES[6 + type][square] = -(MIDDLEGAME_PIECE_VALUES[type] + MIDDLEGAME_TABLES[type][square ^ 56]);
+                ENDGAME_VALUES[6 + type][square] = -(ENDGAME_PIECE_VALUES[type] + ENDGAME_TABLES[type][square ^ 56]);
+            }
+        }
+    }
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Evaluation() {
+    }
+
+    /**
+     * Scores a position from the point of view of the side to move, working out its pawn structure from
+     * scratch
+     *
+     * @param position The position
+     * @return int     The score in centipawns (positive if the side to move is better)
+     */
+    public static int evaluate(Bitboard_Position position) {
+        return evaluate(position, null);
+    }
+
+    /**
+     * Scores a position from the point of view of the side to move. The position keeps its material and
+     * piece-square scores and its phase up to date as moves are made and unmade, and the pawn structure is
+     * looked up in a pawn hash table (and only worked out when it is not there yet), so this is usually only
+     * a few additions.
+     *
+     * @param position        The position
+     * @param pawn_hash_table The pawn hash table to use, or null to work out the pawn structure from scratch
+     * @return int            The score in centipawns (positive if the side to move is better)
+     */
+    public static int evaluate(Bitboard_Position position, Pawn_Hash_Table pawn_hash_table) {
+        int middlegameScore = position.getMiddlegameScore();
+        int endgameScore = position.getEndgameScore();
+        int whiteKingSquare = position.getKingSquare(Bitboard_Position.WHITE);
+        int blackKingSquare = position.getKingSquare(Bitboard_Position.BLACK);
+
+        int index = pawn_hash_table == null ? -1 : pawn_hash_table.probe(position.getPawnZobristKey());
+        long passedPawns;
+        int whiteShelterScore;
+        int blackShelterScore;
+        if (index >= 0) {
+            middlegameScore += pawn_hash_table.getMiddlegameScore(index);
+            endgameScore += pawn_hash_table.getEndgameScore(index);
+            passedPawns = pawn_hash_table.getPassedPawns(index);
+            whiteShelterScore = pawn_hash_table.getShelterScore(index, Bitboard_Position.WHITE, whiteKingSquare & 7);
+            blackShelterScore = pawn_hash_table.getShelterScore(index, Bitboard_Position.BLACK, blackKingSquare & 7);
+        } else {
+            long whitePawns = position.getPieces(Bitboard_Position.WHITE, Bitboard_Position.PAWN);
+            long blackPawns = position.getPieces(Bitboard_Position.BLACK, Bitboard_Position.PAWN);
+            passedPawns = getPassedPawns(whitePawns, blackPawns, Bitboard_Position.WHITE)
+                    | getPassedPawns(blackPawns, whitePawns, Bitboard_Position.BLACK);
+            int pawnMiddlegameScore = 0;
+            int pawnEndgameScore = 0;
+            for (int colour = Bitboard_Position.WHITE; colour <= Bitboard_Position.BLACK; colour++) {
+                long ownPawns = colour == Bitboard_Position.WHITE ? whitePawns : blackPawns;
+                long enemyPawns = colour == Bitboard_Position.WHITE ? blackPawns : whitePawns;
+                int doubled = Long.bitCount(getDoubledPawns(ownPawns, colour));
+                long isolatedPawns = getIsolatedPawns(ownPawns);
+                int isolated = Long.bitCount(isolatedPawns);
+                int backward = Long.bitCount(getBackwardPawns(ownPawns, enemyPawns, colour) & ~isolatedPawns);
+                int colourMiddlegameScore = doubled * DOUBLED_PAWN_MIDDLEGAME + isolated * ISOLATED_PAWN_MIDDLEGAME
+                        + backward * BACKWARD_PAWN_MIDDLEGAME;
+                int colourEndgameScore = doubled * DOUBLED_PAWN_ENDGAME + isolated * ISOLATED_PAWN_ENDGAME
+                        + backward * BACKWARD_PAWN_ENDGAME;
+                long passed = passedPawns & ownPawns;
+                while (passed != 0) {
+                    int row = getRelativeRow(Long.numberOfTrailingZeros(passed), colour);
+                    passed &= passed - 1;
+                    colourMiddlegameScore += PASSED_PAWN_MIDDLEGAME[row];
+                    colourEndgameScore += PASSED_PAWN_ENDGAME[row];
+                }
+                pawnMiddlegameScore += colour == Bitboard_Position.WHITE ? colourMiddlegameScore : -colourMiddlegameScore;
+                pawnEndgameScore += colour == Bitboard_Position.WHITE ? colourEndgameScore : -colourEndgameScore;
+            }
+            middlegameScore += pawnMiddlegameScore;
+            endgameScore += pawnEndgameScore;
+
+            if (pawn_hash_table == null) {
+                whiteShelterScore = getShelterScore(whitePawns, Bitboard_Position.WHITE, whiteKingSquare & 7);
+                blackShelterScore = getShelterScore(blackPawns, Bitboard_Position.BLACK, blackKingSquare & 7);
+            } else {
+                // The shelter is stored for every column the king could be on, since the king is not part of
+                // the pawn key
+                index = pawn_hash_table.store(position.getPawnZobristKey(), pawnMiddlegameScore, pawnEndgameScore, passedPawns);
+                for (int column = 0; column < 8; column++) {
+                    pawn_hash_table.setShelterScore(index, Bitboard_Position.WHITE, column, getShelterScore(whitePawns, Bitboard_Position.WHITE, column));
+                    pawn_hash_table.setShelterScore(index, Bitboard_Position.BLACK, column, getShelterScore(blackPawns, Bitboard_Position.BLACK, column));
+                }
+                whiteShelterScore = pawn_hash_table.getShelterScore(index, Bitboard_Position.WHITE, whiteKingSquare & 7);
+                blackShelterScore = pawn_hash_table.getShelterScore(index, Bitboard_Position.BLACK, blackKingSquare & 7);
+            }
+        }
+
+        // The shelter only counts while the king is still on its first two rows
+        if (whiteKingSquare >= 48) {
+            middlegameScore += whiteShelterScore;
+        }
+        if (blackKingSquare < 16) {
+            middlegameScore -= blackShelterScore;
+        }
+        // In the endgame, a passed pawn is worth more the further the enemy king is from the square in front
+        // of it (and the closer its own king is), since the kings decide whether it can be stopped
+        endgameScore += getPassedPawnKingScore(passedPawns & position.getColourOccupancy(Bitboard_Position.WHITE),
+                Bitboard_Position.WHITE, whiteKingSquare, blackKingSquare);
+        endgameScore -= getPassedPawnKingScore(passedPawns & position.getColourOccupancy(Bitboard_Position.BLACK),
+                Bitboard_Position.BLACK, blackKingSquare, whiteKingSquare);
+
+        // Early promotions can take the phase above the starting amount
+        int phase = Math.min(position.getPhase(), MAX_PHASE);
+        int score = (middlegameScore * phase + endgameScore * (MAX_PHASE - phase)) / MAX_PHASE;
+        return position.getSideToMove() == Bitboard_Position.WHITE ? score : -score;
+    }
+
+    /**
+     * Helper method that finds the passed pawns of one side: the pawns with no enemy pawn in front of them
+     * on their own column or the columns next to it, and no pawn of their own side in front of them
+     *
+     * @param ownPawns   The pawns of the side
+     * @param enemyPawns The pawns of the other side
+     * @param colour     The colour of the side
+     * @return long      The passed pawns
+     */
+    private static long getPassedPawns(long ownPawns, long enemyPawns, int colour) {
+        // The squares each enemy pawn can stop a pawn on (the ones in front of it, and those it attacks on
+        // the way)
+        long enemyFront = getFrontSpan(enemyPawns, colour ^ 1);
+        long stoppedSquares = enemyFront | ((enemyFront & Bitboard_Attacks.NOT_COLUMN_A) >>> 1) | ((enemyFront & Bitboard_Attacks.NOT_COLUMN_H) << 1);
+        return ownPawns & ~stoppedSquares & ~getFrontSpan(ownPawns, colour ^ 1);
+    }
+
+    /**
+     * Helper method that finds the doubled pawns of one side: the pawns with a pawn of their own side in
+     * front of them (so the front pawn of each column is not counted)
+     *
+     * @param ownPawns The pawns of the side
+     * @param colour   The colour of the side
+     * @return long    The doubled pawns
+     */
+    private static long getDoubledPawns(long ownPawns, int colour) {
+        return ownPawns & getFrontSpan(ownPawns, colour ^ 1);
+    }
+
+    /**
+     * Helper method that finds the isolated pawns of one side: the pawns with no pawn of their own side on
+     * either of the columns next to them
+     *
+     * @param ownPawns The pawns of the side
+     * @return long    The isolated pawns
+     */
+    private static long getIsolatedPawns(long ownPawns) {
+        long columns = ownPawns;
+        columns |= columns >>> 8;
+        columns |= columns >>> 16;
+        columns |= columns >>> 32;
+        columns = (columns & 0xFFL) * Bitboard_Attacks.COLUMN_A;
+        long neighbouringColumns = ((columns & Bitboard_Attacks.NOT_COLUMN_A) >>> 1) | ((columns & Bitboard_Attacks.NOT_COLUMN_H) << 1);
+        return ownPawns & ~neighbouringColumns;
+    }
+
+    /**
+     * Helper method that finds the backward pawns of one side: the pawns whose square in front is attacked
+     * by an enemy pawn and can never be defended by a pawn of their own side (because the pawns on the
+     * columns next to them have all gone past it)
+     *
+     * @param ownPawns   The pawns of the side
+     * @param enemyPawns The pawns of the other side
+     * @param colour     The colour of the side
+     * @return long      The backward pawns
+     */
+    private static long getBackwardPawns(long ownPawns, long enemyPawns, int colour) {
+        long ownAttacks = getPawnAttacks(ownPawns, colour);
+        // The squares the side's pawns attack now or can attack later by moving forward
+        long defendableSquares = ownAttacks | getFrontSpan(ownAttacks, colour);
+        long stopSquares = colour == Bitboard_Position.WHITE ? ownPawns >>> 8 : ownPawns << 8;
+        long backwardStopSquares = stopSquares & getPawnAttacks(enemyPawns, colour ^ 1) & ~defendableSquares;
+        return colour == Bitboard_Position.WHITE ? backwardStopSquares << 8 : backwardStopSquares >>> 8;
+    }
+
+    /**
+     * Helper method that works out the shelter a side's pawns give its king on a column: a penalty for each
+     * of the king's column and the columns next to it that does not have a pawn on the side's second row
+     *
+     * @param ownPawns The pawns of the side
+     * @param colour   The colour of the side
+     * @param column   The column of the king
+     * @return int     The shelter score (0 or less)
+     */
+    private static int getShelterScore(long ownPawns, int colour, int column) {
+        int score = 0;
+        for (int shelterColumn = Math.max(0, column - 1); shelterColumn <= Math.min(7, column + 1); shelterColumn++) {
+            long columnPawns = ownPawns & (Bitboard_Attacks.COLUMN_A << shelterColumn);
+            if ((columnPawns & SECOND_ROWS[colour]) != 0) {
+                continue;
+            }
+            score += (columnPawns & THIRD_ROWS[colour]) != 0 ? SHELTER_PAWN_ADVANCED : SHELTER_PAWN_MISSING;
+        }
+        return score;
+    }
+
+    /**
+     * Helper method that works out the endgame bonus of one side's passed pawns for where the kings stand
+     *
+     * @param passedPawns     The passed pawns of the side
+     * @param colour          The colour of the side
+     * @param ownKingSquare   The square of the side's king
+     * @param enemyKingSquare The square of the other side's king
+     * @return int            The bonus in centipawns
+     */
+    private static int getPassedPawnKingScore(long passedPawns, int colour, int ownKingSquare, int enemyKingSquare) {
+        int score = 0;
+        while (passedPawns != 0) {
+            int square = Long.numberOfTrailingZeros(passedPawns);
+            passedPawns &= passedPawns - 1;
+            // Only the pawns that have reached the other half of the board count
+            int weight = getRelativeRow(square, colour) - 3;
+            if (weight > 0) {
+                int stopSquare = colour == Bitboard_Position.WHITE ? square - 8 : square + 8;
+                score += (3 * getDistance(enemyKingSquare, stopSquare) - getDistance(ownKingSquare, stopSquare)) * weight;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Helper method that finds every square in front of a set of pawns (from their own side's point of
+     * view), not counting the squares of the pawns themselves
+     *
+     * @param pawns  The pawns
+     * @param colour The colour of the pawns
+     * @return long  The squares in front of them
+     */
+    private static long getFrontSpan(long pawns, int colour) {
+        if (colour == Bitboard_Position.WHITE) {
+            long span = pawns >>> 8;
+            span |= span >>> 8;
+            span |= span >>> 16;
+            span |= span >>> 32;
+            return span;
+        }
+        long span = pawns << 8;
+        span |= span << 8;
+        span |= span << 16;
+        span |= span << 32;
+        return span;
+    }
+
+    /**
+     * Helper method that finds the squares a set of pawns attack
+     *
+     * @param pawns  The pawns
+     * @param colour The colour of the pawns
+     * @return long  The attacked squares
+     */
+    private static long getPawnAttacks(long pawns, int colour) {
+        if (colour == Bitboard_Position.WHITE) {
+            return ((pawns & Bitboard_Attacks.NOT_COLUMN_A) >>> 9) | ((pawns & Bitboard_Attacks.NOT_COLUMN_H) >>> 7);
+        }
+        return ((pawns & Bitboard_Attacks.NOT_COLUMN_A) << 7) | ((pawns & Bitboard_Attacks.NOT_COLUMN_H) << 9);
+    }
+
+    /**
+     * Helper method that returns the row of a square counted from one side's end of the board
+     *
+     * @param square The square
+     * @param colour The side
+     * @return int   The row (0 is the side's back row, 7 is the other side's back row)
+     */
+    private static int getRelativeRow(int square, int colour) {
+        return colour == Bitboard_Position.WHITE ? 7 - square / 8 : square / 8;
+    }
+
+    /**
+     * Helper method that returns the number of king moves between two squares
+     *
+     * @param firstSquare  The first square
+     * @param secondSquare The second square
+     * @return int         The distance
+     */
+    private static int getDistance(int firstSquare, int secondSquare) {
+        return Math.max(Math.abs(firstSquare / 8 - secondSquare / 8), Math.abs((firstSquare & 7) - (secondSquare & 7)));
+    }
+
+    /**
+     * Getter method for the middlegame value of a piece on a square (its material plus its piece-square
+     * bonus)
+     *
+     * @param piece  The piece (colour * 6 + type)
+     * @param square The square
+     * @return int   The value in centipawns, from white's point of view (negative for black's pieces)
+     */
+    public static int getMiddlegameValue(int piece, int square) {
+        return MIDDLEGAME_VALUES[piece][square];
+    }
+
+    /**
+     * Getter method for the endgame value of a piece on a square (its material plus its piece-square bonus)
+     *
+     * @param piece  The piece (colour * 6 + type)
+     * @param square The square
+     * @return int   The value in centipawns, from white's point of view (negative for black's pieces)
+     */
+    public static int getEndgameValue(int piece, int square) {
+        return ENDGAME_VALUES[piece][square];
+    }
+
+    /**
+     * Getter method for how much a piece type counts towards the game phase
+     *
+     * @param type The piece type (Bitboard_Position.PAWN to Bitboard_Position.KING)
+     * @return int The phase weight
+     */
+    public static int getPhaseWeight(int type) {
+        return PHASE_WEIGHTS[type];
+    }
+}
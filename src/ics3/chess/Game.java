@@ -0,0 +1,321 @@
+package ics3.chess;
+
+import java.util.ArrayList;
+
+/**
+ * Model class for a single game of chess, which holds the position (in a Chess_Rules_Engine), the
+ * players' clocks and the result. It does not use Swing or AWT at all, so games can be played without
+ * a display (e.g. with java.awt.headless=true); a user interface observes the game by registering a
+ * Game_Listener. A game must only be used by one thread at a time, but any number of games can be
+ * played at the same time.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Game {
+
+    // The results of a game
+    public static final int IN_PROGRESS = 0;
+    public static final int WHITE_WON = 1;
+    public static final int BLACK_WON = 2;
+    public static final int DRAW = 3;
+
+    // The reasons a game ended
+    public static final int NO_REASON = 0;
+    public static final int CHECKMATE = 1;
+    public static final int STALEMATE = 2;
+    public static final int TIME_UP = 3;
+    public static final int RESIGNATION = 4;
+    public static final int TABLEBASE = 5;
+
+    // The rules engine that holds the position and works out the possible moves
+    private Chess_Rules_Engine rules_engine;
+
+    // The objects observing the game
+    private ArrayList<Game_Listener> listeners;
+
+    // Whether or not the game is timed
+    private boolean isTimed;
+    // The time (in milliseconds) each player had left when their current or most recent turn started
+    private long[] timeRemainingMillis;
+    // The System.currentTimeMillis() at which the current turn started
+    private long turnStartMillis;
+
+    // The endgame tables that end the game as soon as its result is known (may be null)
+    private Tablebase tablebase;
+
+    // The result of the game and the reason it ended
+    private int result;
+    private int resultReason;
+
+    /**
+     * Constructor for the Game class (starts an untimed game from the starting position)
+     */
+    public Game() {
+        rules_engine = new Chess_Rules_Engine();
+        listeners = new ArrayList<>();
+        timeRemainingMillis = new long[2];
+        start(Bitboard_Position.START_FEN, 0);
+    }
+
+    /**
+     * Starts (or restarts) the game from a position. Listeners stay registered.
+     *
+     * @param fen              The FEN string of the starting position
+     * @param timeLimitSeconds The time each player has for the whole game, or 0 for an untimed game
+     * @throws IllegalArgumentException If the FEN string cannot be read
+     */
+    public void start(String fen, int timeLimitSeconds) {
+        rules_engine.setUpPosition(fen);
+        rules_engine.findAndStoreAllPossibleMovesForPlayer();
+        isTimed = timeLimitSeconds > 0;
+        timeRemainingMillis[Bitboard_Position.WHITE] = timeLimitSeconds * 1000L;
+        timeRemainingMillis[Bitboard_Position.BLACK] = timeLimitSeconds * 1000L;
+        turnStartMillis = System.currentTimeMillis();
+        result = IN_PROGRESS;
+        resultReason = NO_REASON;
+        // The starting position could already be checkmate or stalemate
+        checkForEndOfGame();
+    }
+
+    /**
+     * Adds an object that will be told about moves and the end of the game
+     *
+     * @param listener The listener
+     */
+    public void addListener(Game_Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener that was added with addListener()
+     *
+     * @param listener The listener
+     */
+    public void removeListener(Game_Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Getter method for the rules engine of the game, which can be asked about the possible moves
+     *
+     * @return Chess_Rules_Engine  The rules engine
+     */
+    public Chess_Rules_Engine getRulesEngine() {
+        return rules_engine;
+    }
+
+    /**
+     * Getter method for the position of the game
+     *
+     * @return Bitboard_Position  The position
+     */
+    public Bitboard_Position getPosition() {
+        return rules_engine.getPosition();
+    }
+
+    /**
+     * Getter method for whether or not it is the black player's turn
+     *
+     * @return boolean  Whether or not it is the black player's turn
+     */
+    public boolean isBlackTurn() {
+        return getPosition().getSideToMove() == Bitboard_Position.BLACK;
+    }
+
+    /**
+     * Makes a move for the player whose turn it is. Their clock is stopped and the other player's clock
+     * is started, and the listeners are told about the move (and about the end of the game, if the move
+     * ends it). If the player has already run out of time, the game ends instead and the move is not made.
+     *
+     * @param move The packed move (one of the rules engine's possible moves)
+     * @throws IllegalStateException    If the game is already over
+     * @throws IllegalArgumentException If the move is not legal
+     */
+    public void makeMove(int move) {
+        if (isGameOver()) {
+            throw new IllegalStateException("The game is over");
+        }
+        // The player may have run out of time before making the move
+        if (updateClock()) {
+            return;
+        }
+        if (!rules_engine.isPossibleMove(move)) {
+            throw new IllegalArgumentException("Illegal move: " + Move.toCoordinateNotation(move));
+        }
+        long now = System.currentTimeMillis();
+        int mover = getPosition().getSideToMove();
+        timeRemainingMillis[mover] -= now - turnStartMillis;
+        turnStartMillis = now;
+
+        rules_engine.makeMove(move);
+        rules_engine.findAndStoreAllPossibleMovesForPlayer();
+        for (Game_Listener listener : listeners) {
+            listener.moveMade(this, move);
+        }
+        checkForEndOfGame();
+    }
+
+    /**
+     * Ends the game with a player resigning (which the other player wins)
+     *
+     * @param colour The colour of the player who resigns (Bitboard_Position.WHITE or Bitboard_Position.BLACK)
+     * @throws IllegalStateException If the game is already over
+     */
+    public void resign(int colour) {
+        if (isGameOver()) {
+            throw new IllegalStateException("The game is over");
+        }
+        endGame(colour == Bitboard_Position.BLACK ? WHITE_WON : BLACK_WON, RESIGNATION);
+    }
+
+    /**
+     * Checks whether the player whose turn it is has run out of time, and if so ends the game. This
+     * should be called regularly while a timed game is in progress (e.g. by a timer).
+     *
+     * @return boolean  Whether or not the game ended because of the clock
+     */
+    public boolean updateClock() {
+        if (!isTimed || isGameOver()) {
+            return false;
+        }
+        int sideToMove = getPosition().getSideToMove();
+        if (getTimeRemainingMillis(sideToMove) <= 0) {
+            timeRemainingMillis[sideToMove] = 0;
+            endGame(sideToMove == Bitboard_Position.BLACK ? WHITE_WON : BLACK_WON, TIME_UP);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Getter method for the time a player has left, including the time used so far in the current turn
+     *
+     * @param colour The colour of the player (Bitboard_Position.WHITE or Bitboard_Position.BLACK)
+     * @return long  The time left in milliseconds (0 for an untimed game)
+     */
+    public long getTimeRemainingMillis(int colour) {
+        if (!isTimed) {
+            return 0;
+        }
+        if (colour == getPosition().getSideToMove() && !isGameOver()) {
+            return Math.max(0, timeRemainingMillis[colour] - (System.currentTimeMillis() - turnStartMillis));
+        }
+        return timeRemainingMillis[colour];
+    }
+
+    /**
+     * Setter method for whether or not the game is timed. While a game is not timed, neither clock runs.
+     *
+     * @param isTimed Whether or not the game is timed
+     */
+    public void setTimed(boolean isTimed) {
+        if (this.isTimed && !isTimed) {
+            // Stop the clock of the player whose turn it is, keeping the time they have used
+            int sideToMove = getPosition().getSideToMove();
+            timeRemainingMillis[sideToMove] = getTimeRemainingMillis(sideToMove);
+        }
+        turnStartMillis = System.currentTimeMillis();
+        this.isTimed = isTimed;
+    }
+
+    /**
+     * Setter method for the time limit, which gives both players this much time from now on
+     *
+     * @param timeLimitSeconds The time each player has left (in seconds)
+     */
+    public void setTimeLimit(int timeLimitSeconds) {
+        timeRemainingMillis[Bitboard_Position.WHITE] = timeLimitSeconds * 1000L;
+        timeRemainingMillis[Bitboard_Position.BLACK] = timeLimitSeconds * 1000L;
+        turnStartMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Setter method for the endgame tables that adjudicate the game: once a move reaches a position that is
+     * in the tables, the game ends straight away with the tables' result (reason TABLEBASE), rather than
+     * being played out. Only the server's games (Game_Session) are adjudicated; the Swing game plays every
+     * game out, and its computer player uses the tables to choose its moves instead.
+     *
+     * @param tablebase The tablebase, or null to play every game out
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Getter method for whether or not the game is timed
+     *
+     * @return boolean  Whether or not the game is timed
+     */
+    public boolean isTimed() {
+        return isTimed;
+    }
+
+    /**
+     * Getter method for whether or not the game is over
+     *
+     * @return boolean  Whether or not the game is over
+     */
+    public boolean isGameOver() {
+        return result != IN_PROGRESS;
+    }
+
+    /**
+     * Getter method for the result of the game
+     *
+     * @return int  IN_PROGRESS, WHITE_WON, BLACK_WON or DRAW
+     */
+    public int getResult() {
+        return result;
+    }
+
+    /**
+     * Getter method for the reason the game ended
+     *
+     * @return int  NO_REASON (while the game is in progress), CHECKMATE, STALEMATE, TIME_UP, RESIGNATION or
+     *              TABLEBASE
+     */
+    public int getResultReason() {
+        return resultReason;
+    }
+
+    /**
+     * Helper method that ends the game if the player whose turn it is has no possible moves (checkmate
+     * if they are in check, otherwise stalemate), or if the tablebase knows the result
+     */
+    private void checkForEndOfGame() {
+        if (!rules_engine.isGameOver()) {
+            int probe = tablebase == null ? Tablebase.NOT_FOUND : tablebase.probe(getPosition());
+            if (probe != Tablebase.NOT_FOUND) {
+                int result = Tablebase.getResult(probe);
+                if (result == Tablebase.DRAW) {
+                    endGame(DRAW, TABLEBASE);
+                } else {
+                    // The result is for the side to move
+                    endGame((result == Tablebase.WIN) == isBlackTurn() ? BLACK_WON : WHITE_WON, TABLEBASE);
+                }
+            }
+            return;
+        }
+        if (getPosition().isInCheck()) {
+            endGame(isBlackTurn() ? WHITE_WON : BLACK_WON, CHECKMATE);
+        } else {
+            endGame(DRAW, STALEMATE);
+        }
+    }
+
+    /**
+     * Helper method that records the result of the game and tells the listeners
+     *
+     * @param result       The result of the game
+     * @param resultReason The reason the game ended
+     */
+    private void endGame(int result, int resultReason) {
+        this.result = result;
+        this.resultReason = resultReason;
+        for (Game_Listener listener : listeners) {
+            listener.gameOver(this);
+        }
+    }
+}
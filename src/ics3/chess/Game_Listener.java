@@ -0,0 +1,28 @@
+package ics3.chess;
+
+/**
+ * Interface for objects that observe a Game (for example the Swing user interface), which are told
+ * whenever a move is made and when the game ends.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public interface Game_Listener {
+
+    /**
+     * Called after a move has been made in the game (the game's position and possible moves have
+     * already been updated)
+     *
+     * @param game The game the move was made in
+     * @param move The packed move that was made (see the Move class)
+     */
+    void moveMade(Game game, int move);
+
+    /**
+     * Called once when the game ends (by checkmate, stalemate, a player running out of time or resigning)
+     *
+     * @param game The game that ended (see Game.getResult() and Game.getResultReason())
+     */
+    void gameOver(Game game);
+}
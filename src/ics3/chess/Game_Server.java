@@ -0,0 +1,213 @@
+package ics3.chess;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A local server that hosts any number of two-player games at the same time, built on the headless
+ * Game class. Every connection is handled by its own virtual thread (so the server needs Java 21),
+ * which means thousands of connections only cost thousands of small virtual threads rather than
+ * platform threads. Each game has its own Game (and therefore its own Chess_Rules_Engine), which
+ * checks every move.
+ *
+ * The protocol is line-based text. A client sends:
+ *   JOIN name     joins the game with that name (the first player to join is white, the second black)
+ *   MOVE e2e4     makes a move in coordinate notation (e.g. "e7e8q" for a promotion)
+ *   RESIGN        resigns the current game
+ *   BOOK          asks for the opening book's moves in the current position
+ *   QUIT          closes the connection
+ * and the server replies with:
+ *   JOINED WHITE|BLACK       the player has joined a game as that colour
+ *   START fen                both players have joined and the game has started
+ *   OK e2e4                  the player's move was accepted
+ *   OPPONENT e2e4            the opponent made a move
+ *   BOOK e2e4 d2d4           the opening book's moves, best first (just "BOOK" if the position is not in it)
+ *   GAMEOVER result reason   the game is over (e.g. "GAMEOVER WHITE_WON CHECKMATE"); the connection can JOIN again
+ *   ERROR message            the last command was refused
+ *
+ * The server can be given a Polyglot opening book. The book is memory-mapped once and shared by every game,
+ * so even a very large book costs almost nothing to open and no memory per game. It can also be given a
+ * directory of endgame tables (see Tablebase), which are shared the same way: a game that reaches a position
+ * in the tables ends at once with the tables' result (e.g. "GAMEOVER WHITE_WON TABLEBASE").
+ *
+ * Usage: java ics3.chess.Game_Server [port [book [tablebase directory]]]   (the default port is 5050, and a
+ * book of "-" means none)
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public class Game_Server {
+
+    // The port the server listens on when none is given
+    public static final int DEFAULT_PORT = 5050;
+
+    // The socket that accepts connections
+    private ServerSocket serverSocket;
+
+    // The opening book and the endgame tables shared by every game (null if there are none)
+    private final Polyglot_Book openingBook;
+    private final Tablebase tablebase;
+
+    // Runs the virtual thread of each connection
+    private ExecutorService connectionExecutor;
+
+    // The games that are waiting for a second player, by name (a game is removed once both players have joined)
+    private HashMap<String, Game_Session> waitingSessions;
+    // Lock guarding waitingSessions
+    private ReentrantLock waitingSessionsLock;
+
+    /**
+     * Constructor for the Game_Server class, which opens the server socket on the loopback address
+     *
+     * @param port The port to listen on (0 picks any free port)
+     * @throws IOException If the socket cannot be opened
+     */
+    public Game_Server(int port) throws IOException {
+        this(port, null, null);
+    }
+
+    /**
+     * Constructor for the Game_Server class, which opens the server socket on the loopback address
+     *
+     * @param port        The port to listen on (0 picks any free port)
+     * @param openingBook The opening book shared by every game, or null for none
+     * @param tablebase   The endgame tables that adjudicate every game, or null for none
+     * @throws IOException If the socket cannot be opened
+     */
+    public Game_Server(int port, Polyglot_Book openingBook, Tablebase tablebase) throws IOException {
+        this.openingBook = openingBook;
+        this.tablebase = tablebase;
+        serverSocket = new ServerSocket(port, 4096, InetAddress.getLoopbackAddress());
+        connectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        waitingSessions = new HashMap<>();
+        waitingSessionsLock = new ReentrantLock();
+    }
+
+    /**
+     * Getter method for the port the server is listening on
+     *
+     * @return int  The port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Getter method for the opening book shared by every game
+     *
+     * @return Polyglot_Book The opening book, or null if there is none
+     */
+    public Polyglot_Book getOpeningBook() {
+        return openingBook;
+    }
+
+    /**
+     * Getter method for the endgame tables that adjudicate every game
+     *
+     * @return Tablebase The tablebase, or null if there is none
+     */
+    public Tablebase getTablebase() {
+        return tablebase;
+    }
+
+    /**
+     * Starts accepting connections on a virtual thread of its own, and returns straight away
+     */
+    public void start() {
+        Thread.ofVirtual().name("game-server-accept").start(this::acceptConnections);
+    }
+
+    /**
+     * Stops accepting connections and closes the server socket (connections that are already open are
+     * closed as their clients leave)
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // The socket is being thrown away anyway
+        }
+        connectionExecutor.shutdown();
+    }
+
+    /**
+     * Helper method that accepts connections until the server socket is closed, handing each one to a new
+     * virtual thread
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connectionExecutor.execute(new Game_Server_Connection(this, socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Could not accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a connection to the game with the given name, creating the game if nobody is waiting in it yet.
+     * The game starts when the second player joins.
+     *
+     * @param name       The name of the game
+     * @param connection The connection joining the game
+     * @return Game_Session The game that was joined
+     */
+    Game_Session joinGame(String name, Game_Server_Connection connection) {
+        Game_Session session;
+        waitingSessionsLock.lock();
+        try {
+            session = waitingSessions.remove(name);
+            if (session == null) {
+                session = new Game_Session(connection);
+                waitingSessions.put(name, session);
+                connection.send("JOINED WHITE");
+                return session;
+            }
+        } finally {
+            waitingSessionsLock.unlock();
+        }
+        session.addBlackPlayer(connection);
+        return session;
+    }
+
+    /**
+     * Removes a game that is still waiting for its second player (used when the first player leaves)
+     *
+     * @param session The game
+     */
+    void abandonWaitingGame(Game_Session session) {
+        waitingSessionsLock.lock();
+        try {
+            waitingSessions.values().remove(session);
+        } finally {
+            waitingSessionsLock.unlock();
+        }
+    }
+
+    /**
+     * Main method for the game server
+     *
+     * @param args Optionally, the port to listen on, the path of a Polyglot opening book (or "-" for none) and
+     *             the directory of the endgame tables
+     * @throws IOException If the server socket, the opening book or the endgame tables cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        Polyglot_Book openingBook = args.length > 1 && !args[1].equals("-") ? new Polyglot_Book(Path.of(args[1])) : null;
+        Tablebase tablebase = args.length > 2 ? new Tablebase(Path.of(args[2])) : null;
+        Game_Server server = new Game_Server(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT, openingBook, tablebase);
+        server.start();
+        System.out.println("Game server listening on port " + server.getPort());
+    }
+}
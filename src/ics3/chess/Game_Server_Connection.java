@@ -0,0 +1,178 @@
+package ics3.chess;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One client connection to the Game_Server. It runs on its own virtual thread, reading commands one line
+ * at a time and passing them on to the game the client has joined (see Game_Server for the protocol).
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+class Game_Server_Connection implements Runnable {
+
+    // The server this connection belongs to
+    private Game_Server server;
+    // The client's socket
+    private final Socket socket;
+    // Writes lines to the client
+    private BufferedWriter writer;
+    // Lock guarding writer, since both this connection's thread and the opponent's thread send to it
+    // (a ReentrantLock rather than synchronized, so that a virtual thread waiting on it can unmount)
+    private ReentrantLock writerLock;
+
+    // The game this connection is playing in (null between games)
+    private Game_Session session;
+    // The colour this connection plays in that game
+    private int colour;
+
+    /**
+     * Constructor for the Game_Server_Connection class
+     *
+     * @param server The server the connection belongs to
+     * @param socket The client's socket
+     * @throws IOException If the socket's output stream cannot be opened
+     */
+    Game_Server_Connection(Game_Server server, Socket socket) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        writerLock = new ReentrantLock();
+    }
+
+    /**
+     * Reads and carries out commands until the client quits or disconnects
+     */
+    @Override
+    public void run() {
+        try (socket; BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!handleCommand(line.trim())) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; leaving the game below is all that needs to be done
+        } finally {
+            leaveGame();
+        }
+    }
+
+    /**
+     * Helper method that carries out one command from the client
+     *
+     * @param line     The line the client sent
+     * @return boolean Whether or not to keep reading commands (false after QUIT)
+     */
+    private boolean handleCommand(String line) {
+        int spaceIndex = line.indexOf(' ');
+        String command = spaceIndex < 0 ? line : line.substring(0, spaceIndex);
+        String argument = spaceIndex < 0 ? "" : line.substring(spaceIndex + 1).trim();
+        Game_Session currentSession = session;
+        switch (command) {
+            case "JOIN":
+                if (currentSession != null && !currentSession.isFinished()) {
+                    send("ERROR already in a game");
+                } else if (argument.isEmpty()) {
+                    send("ERROR missing game name");
+                } else {
+                    session = server.joinGame(argument, this);
+                }
+                break;
+            case "MOVE":
+                if (currentSession == null) {
+                    send("ERROR not in a game");
+                } else {
+                    currentSession.makeMove(this, argument);
+                }
+                break;
+            case "RESIGN":
+                if (currentSession == null) {
+                    send("ERROR not in a game");
+                } else {
+                    currentSession.resign(this);
+                }
+                break;
+            case "BOOK":
+                if (server.getOpeningBook() == null) {
+                    send("ERROR no opening book");
+                } else if (currentSession == null) {
+                    send("ERROR not in a game");
+                } else {
+                    currentSession.sendBookMoves(this, server.getOpeningBook());
+                }
+                break;
+            case "QUIT":
+                return false;
+            default:
+                send("ERROR unknown command");
+        }
+        return true;
+    }
+
+    /**
+     * Helper method that leaves the current game, which counts as resigning if it has started
+     */
+    private void leaveGame() {
+        Game_Session currentSession = session;
+        if (currentSession != null) {
+            currentSession.leave(this);
+            session = null;
+        }
+    }
+
+    /**
+     * Setter method for the colour this connection plays in its game
+     *
+     * @param colour The colour (Bitboard_Position.WHITE or BLACK)
+     */
+    void setColour(int colour) {
+        this.colour = colour;
+    }
+
+    /**
+     * Getter method for the colour this connection plays in its game
+     *
+     * @return int  The colour (Bitboard_Position.WHITE or BLACK)
+     */
+    int getColour() {
+        return colour;
+    }
+
+    /**
+     * Getter method for the server this connection belongs to
+     *
+     * @return Game_Server The server
+     */
+    Game_Server getServer() {
+        return server;
+    }
+
+    /**
+     * Sends one line to the client. Can be called from any thread; if the client has gone away, the line
+     * is dropped and the reading thread will notice the closed socket.
+     *
+     * @param line The line to send (without the line break)
+     */
+    void send(String line) {
+        writerLock.lock();
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            // The client went away
+        } finally {
+            writerLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package ics3.chess;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One game being played on the Game_Server between two connections. It owns a Game, which checks every
+ * move, and passes moves and the result on to both players.
+ *
+ * Replies are never written to a socket while the session's lock is held, since a client that is slow to
+ * read would then hold up the other player's thread. They are queued, in the order the game produces
+ * them, while the lock is held, and sent once it has been released.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+class Game_Session implements Game_Listener {
+
+    // The game being played
+    private Game game;
+    // The players (black is null until the second player joins)
+    private Game_Server_Connection whitePlayer;
+    private Game_Server_Connection blackPlayer;
+    // Whether or not the game is over (or was abandoned before it started)
+    private boolean isFinished;
+    // Lock guarding everything above, since both players' threads use the session
+    private ReentrantLock lock;
+
+    // The replies waiting to be sent, in order (queued with the lock held), and the lock held by the one
+    // thread at a time that sends them
+    private ConcurrentLinkedQueue<Runnable> queuedReplies;
+    private ReentrantLock sendLock;
+
+    /**
+     * Constructor for the Game_Session class, which creates a game waiting for its second player
+     *
+     * @param whitePlayer The first player to join, who plays white
+     */
+    Game_Session(Game_Server_Connection whitePlayer) {
+        this.whitePlayer = whitePlayer;
+        whitePlayer.setColour(Bitboard_Position.WHITE);
+        lock = new ReentrantLock();
+        queuedReplies = new ConcurrentLinkedQueue<>();
+        sendLock = new ReentrantLock();
+    }
+
+    /**
+     * Adds the second player, who plays black, and starts the game
+     *
+     * @param blackPlayer The second player to join
+     */
+    void addBlackPlayer(Game_Server_Connection blackPlayer) {
+        lock.lock();
+        try {
+            this.blackPlayer = blackPlayer;
+            blackPlayer.setColour(Bitboard_Position.BLACK);
+            queueReply(blackPlayer, "JOINED BLACK");
+            game = new Game();
+            game.setTablebase(blackPlayer.getServer().getTablebase());
+            game.addListener(this);
+            String fen = game.getPosition().toFen();
+            queueReply(whitePlayer, "START " + fen);
+            queueReply(blackPlayer, "START " + fen);
+        } finally {
+            lock.unlock();
+            sendQueuedReplies();
+        }
+    }
+
+    /**
+     * Makes a move for a player, if it is their turn and the move is legal
+     *
+     * @param player             The player making the move
+     * @param coordinateNotation The move (e.g. "e2e4" or "e7e8q")
+     */
+    void makeMove(Game_Server_Connection player, String coordinateNotation) {
+        lock.lock();
+        try {
+            if (game == null) {
+                queueReply(player, "ERROR game has not started");
+            } else if (isFinished) {
+                queueReply(player, "ERROR game is over");
+            } else if (game.getPosition().getSideToMove() != player.getColour()) {
+                queueReply(player, "ERROR not your turn");
+            } else {
+                int move = game.getRulesEngine().findPossibleMove(coordinateNotation);
+                if (move == Move.NONE) {
+                    queueReply(player, "ERROR illegal move " + coordinateNotation);
+                } else {
+                    // The acknowledgement is queued before the OPPONENT and any GAMEOVER that the move causes,
+                    // but, like them, is only sent once the move has been made
+                    queueReply(player, "OK " + coordinateNotation);
+                    game.makeMove(move);
+                }
+            }
+        } finally {
+            lock.unlock();
+            sendQueuedReplies();
+        }
+    }
+
+    /**
+     * Resigns the game for a player
+     *
+     * @param player The player resigning
+     */
+    void resign(Game_Server_Connection player) {
+        lock.lock();
+        try {
+            if (game == null) {
+                queueReply(player, "ERROR game has not started");
+            } else if (isFinished) {
+                queueReply(player, "ERROR game is over");
+            } else {
+                game.resign(player.getColour());
+            }
+        } finally {
+            lock.unlock();
+            sendQueuedReplies();
+        }
+    }
+
+    /**
+     * Sends a player the opening book's moves for the game's current position, best first (e.g. "BOOK e2e4
+     * d2d4", or just "BOOK" if the position is not in the book)
+     *
+     * @param player      The player asking
+     * @param openingBook The opening book
+     */
+    void sendBookMoves(Game_Server_Connection player, Polyglot_Book openingBook) {
+        lock.lock();
+        try {
+            if (game == null) {
+                queueReply(player, "ERROR game has not started");
+                return;
+            }
+            int[] moves = new int[Polyglot_Book.MAX_BOOK_MOVES];
+            int moveCount = openingBook.getMoves(game.getPosition(), moves, new int[moves.length]);
+            StringBuilder reply = new StringBuilder("BOOK");
+            for (int i = 0; i < moveCount; i++) {
+                reply.append(' ').append(Move.toCoordinateNotation(moves[i]));
+            }
+            queueReply(player, reply.toString());
+        } finally {
+            lock.unlock();
+            sendQueuedReplies();
+        }
+    }
+
+    /**
+     * Removes a player who has disconnected. A game in progress is lost by that player, and a game still
+     * waiting for its second player is abandoned.
+     *
+     * @param player The player leaving
+     */
+    void leave(Game_Server_Connection player) {
+        lock.lock();
+        try {
+            if (isFinished) {
+                return;
+            }
+            if (game == null) {
+                isFinished = true;
+                player.getServer().abandonWaitingGame(this);
+            } else {
+                game.resign(player.getColour());
+            }
+        } finally {
+            lock.unlock();
+            sendQueuedReplies();
+        }
+    }
+
+    /**
+     * Getter method for whether or not the game is over (or was abandoned before it started)
+     *
+     * @return boolean Whether or not the game is finished
+     */
+    boolean isFinished() {
+        lock.lock();
+        try {
+            return isFinished;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Helper method that queues a reply to a player, to be sent once the lock has been released (called
+     * with the lock held)
+     *
+     * @param player The player
+     * @param line   The reply
+     */
+    private void queueReply(Game_Server_Connection player, String line) {
+        queuedReplies.add(() -> player.send(line));
+    }
+
+    /**
+     * Helper method, called after the lock has been released, that sends the queued replies in order. Only
+     * one thread sends at a time, so each player gets its replies in the order they were queued, and a
+     * thread that finds another one sending leaves its replies to that thread instead of waiting for it.
+     */
+    private void sendQueuedReplies() {
+        // Going round again picks up a reply queued after the last poll but before sendLock was released
+        while (!queuedReplies.isEmpty() && sendLock.tryLock()) {
+            try {
+                Runnable reply;
+                while ((reply = queuedReplies.poll()) != null) {
+                    reply.run();
+                }
+            } finally {
+                sendLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Passes a move on to the player who did not make it (called by the game with the lock held, so the
+     * reply is queued)
+     *
+     * @param game The game
+     * @param move The move that was made
+     */
+    @Override
+    public void moveMade(Game game, int move) {
+        Game_Server_Connection opponent = game.isBlackTurn() ? blackPlayer : whitePlayer;
+        queueReply(opponent, "OPPONENT " + Move.toCoordinateNotation(move));
+    }
+
+    /**
+     * Tells both players the result (called by the game with the lock held, so the replies are
+     * queued)
+     *
+     * @param game The game
+     */
+    @Override
+    public void gameOver(Game game) {
+        isFinished = true;
+        String[] results = {"IN_PROGRESS", "WHITE_WON", "BLACK_WON", "DRAW"};
+        String[] reasons = {"NONE", "CHECKMATE", "STALEMATE", "TIME_UP", "RESIGNATION", "TABLEBASE"};
+        String line = "GAMEOVER " + results[game.getResult()] + " " + reasons[game.getResultReason()];
+        queueReply(whitePlayer, line);
+        queueReply(blackPlayer, line);
+    }
+}
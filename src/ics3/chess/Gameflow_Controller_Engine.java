@@ -12,21 +12,26 @@ import java.awt.event.ActionListener;
  * @version 1.0
  * @since May 20th, 2017
  */
-public class Gameflow_Controller_Engine implements ActionListener {
+public final class Gameflow_Controller_Engine implements ActionListener, Game_Listener {
 
-    // Whether or not it is the black player's turn
-    private boolean isBlackTurn;
+    // The game being played, which holds the position, the clocks and the result. The chess board
+    // displays the game and is updated whenever the game tells this controller that a move was made.
+    private Game game;
+
+    // Whether or not a game has been started (from the main menu) yet
+    private boolean hasGameStarted;
+
+    // The computer opponent, which plays black when the user has chosen to play against the computer
+    private Computer_Player computer_player;
+    // Whether or not the user wants to play against the computer (takes effect when the next game starts)
+    private boolean isComputerOpponentSelected;
+    // Whether or not the computer is playing black in the current game
+    private boolean isComputerPlaying;
 
     // Index of the selected piece (in the Chess_Board.chess_pieces array)
     // It is -1 if no piece is selected
     private int indexOfSelectedPiece;
 
-    // Whether or not the game is over
-    private boolean isGameOver;
-
-    // If the game ended because of a checkmate (it could also be because a player ran out of time)
-    private boolean lostDueToCheckmate;
-
     // Whether or not a pawn promotion is pending (which occurs when a pawn reaches the 1st or 8th rank)
     private boolean pawnPromotionPending;
 
@@ -36,19 +41,24 @@ public class Gameflow_Controller_Engine implements ActionListener {
     // Whether or not the user has selected the legal moves to be shown
     private boolean showMoves;
 
+    // The text listing the opening book's moves, and the Zobrist key of the position it was made for (it is
+    // only remade when the position changes, since the board is repainted far more often than moves are made)
+    private String bookMovesText;
+    private long bookMovesKey;
+
     // Whether or not the user wants the game to be timed
     private boolean isGameTimed;
 
     // The time limit (in seconds) for each player to play the game
     private int timeLimitSeconds;
 
+    // The identities of the pieces a pawn can be promoted to, in order of piece type (knight to queen)
+    private static final String[] PROMOTION_IDENTITIES = {"knight", "bishop", "rook", "queen"};
+
     /**
      * Constructor for the Gameflow_Controller_Engine class
      */
     public Gameflow_Controller_Engine() {
-        // Initialize isBlackTurn to false, since white always starts
-        isBlackTurn = false;
-
         // No piece has been selected yet
         indexOfSelectedPiece = -1;
 
@@ -57,33 +67,41 @@ public class Gameflow_Controller_Engine implements ActionListener {
 
         pawnPromotionPending = false;
 
-        isGameOver = true;
-        lostDueToCheckmate = false;
+        // The game only starts once the players go to the gameplay menu
+        hasGameStarted = false;
 
         // By default, the game is timed and moves are shown
         showMoves = true;
         isGameTimed = true;
 
-        // Find and store all possible moves for the first move of the game
-        Chess_Rules_Engine.getInstance().findAndStoreAllPossibleMovesForPlayer(Chess.chess_board.getChessPieces(), Chess.chess_board.getBoardSquares(), isBlackTurn);
+        // Create the game (which finds all possible moves for the first move) and observe it
+        game = new Game();
+        game.addListener(this);
+
+        // The computer's moves are made on the event dispatch thread, like the players' clicks
+        computer_player = new Computer_Player(game, Bitboard_Position.BLACK, SwingUtilities::invokeLater);
+        computer_player.setOpeningBook(Chess.opening_book);
+        computer_player.setTablebase(Chess.tablebase);
+        isComputerOpponentSelected = false;
+        isComputerPlaying = false;
     }
 
     /**
-     * Getter method returns whether or not it's the black player's turn
+     * Getter method for the game being played
      *
-     * @return boolean  If it is the black player's turn
+     * @return Game  The game
      */
-    public boolean isBlackTurn() {
-        return isBlackTurn;
+    public Game getGame() {
+        return game;
     }
 
     /**
-     * Setter method to set which player's turn it is
+     * Getter method returns whether or not it's the black player's turn
      *
-     * @param blackTurn Whether or not it is the black player's turn
+     * @return boolean  If it is the black player's turn
      */
-    public void setBlackTurn(boolean blackTurn) {
-        isBlackTurn = blackTurn;
+    public boolean isBlackTurn() {
+        return game.isBlackTurn();
     }
 
     /**
@@ -92,7 +110,16 @@ public class Gameflow_Controller_Engine implements ActionListener {
      * @return boolean  Whether or not the game is over
      */
     public boolean isGameOver() {
-        return isGameOver;
+        return !hasGameStarted || game.isGameOver();
+    }
+
+    /**
+     * Getter method returns whether or not it is the computer's turn to move
+     *
+     * @return boolean  Whether or not it is the computer's turn
+     */
+    public boolean isComputerTurn() {
+        return isComputerPlaying && game.getPosition().getSideToMove() == computer_player.getColour();
     }
 
     /**
@@ -113,6 +140,33 @@ public class Gameflow_Controller_Engine implements ActionListener {
         this.showMoves = showMoves;
     }
 
+    /**
+     * Getter method for the text listing the opening book's moves for the current position (best first), which
+     * is only shown when the user wishes to see the possible moves
+     *
+     * @return String  The text (e.g. "Book: e2e4 d2d4"), or an empty string if there is nothing to show
+     */
+    public String getBookMovesText() {
+        if (!showMoves || Chess.opening_book == null) {
+            return "";
+        }
+        long key = game.getPosition().getZobristKey();
+        if (bookMovesText == null || key != bookMovesKey) {
+            int[] moves = new int[Polyglot_Book.MAX_BOOK_MOVES];
+            int moveCount = Chess.opening_book.getMoves(game.getPosition(), moves, new int[moves.length]);
+            StringBuilder text = new StringBuilder();
+            if (moveCount > 0) {
+                text.append("Book:");
+                for (int i = 0; i < moveCount; i++) {
+                    text.append(' ').append(Move.toCoordinateNotation(moves[i]));
+                }
+            }
+            bookMovesText = text.toString();
+            bookMovesKey = key;
+        }
+        return bookMovesText;
+    }
+
     /**
      * Getter method for the index (in the Chess_Board.chess_pieces array) of the currently selected piece
      *
@@ -128,48 +182,52 @@ public class Gameflow_Controller_Engine implements ActionListener {
      * @return boolean  Whether or not the game ended due to a checkmate
      */
     public boolean isLostDueToCheckmate() {
-        return lostDueToCheckmate;
+        return game.getResultReason() == Game.CHECKMATE;
+    }
+
+    /**
+     * Getter method returns whether or not the game ended in a draw (by stalemate)
+     *
+     * @return boolean  Whether or not the game ended in a draw
+     */
+    public boolean isDraw() {
+        return game.getResult() == Game.DRAW;
     }
 
     /**
-     * Updates the player time if the user has set the game to be timed
+     * Updates the player time if the user has set the game to be timed (the game keeps the time, and the
+     * player clocks display it)
      */
     public void updatePlayerTime() {
-        if (isGameTimed && !isGameOver) {
-            // If it's the black player's turn, then update his/her time
-            if (isBlackTurn()) {
-                Chess.blackPlayer.getPlayerClock().updateTimeElapsed();
-                // If the time is up, then the game is over
-                if (Chess.blackPlayer.getPlayerClock().getTimeRemainingSeconds() <= 0) {
-                    performGameoverAlgorithm(true, false);
-                }
-            }
-            // Otherwise, update the white player's time
-            else {
-                Chess.whitePlayer.getPlayerClock().updateTimeElapsed();
-                // If the time is up, then the game is over
-                if (Chess.whitePlayer.getPlayerClock().getTimeRemainingSeconds() <= 0) {
-                    performGameoverAlgorithm(false, false);
-                }
-            }
+        if (hasGameStarted && isGameTimed && !game.isGameOver()) {
+            // If the time is up, then the game is over (and gameOver() is called)
+            game.updateClock();
+            Chess.whitePlayer.getPlayerClock().setTimeLimit(getTimeRemainingSeconds(Bitboard_Position.WHITE));
+            Chess.blackPlayer.getPlayerClock().setTimeLimit(getTimeRemainingSeconds(Bitboard_Position.BLACK));
         }
     }
 
     /**
-     * Performs the appropriate behaviour when the game is over
+     * Helper method that returns the time a player has left, rounded up to a whole second
+     *
+     * @param colour The colour of the player
+     * @return int   The time left (in seconds)
+     */
+    private int getTimeRemainingSeconds(int colour) {
+        return (int) ((game.getTimeRemainingMillis(colour) + 999) / 1000);
+    }
+
+    /**
+     * Implementation of the gameOver() method in the Game_Listener interface. It performs the appropriate
+     * behaviour when the game is over.
      *
-     * @param didBlackLose Whether or not the black player lost the game
-     * @param wasCheckmate Whether or not the loss was due to a checkmate (loss can also occur if time is up)
+     * @param game The game that ended
      */
-    public void performGameoverAlgorithm(boolean didBlackLose, boolean wasCheckmate) {
-        isGameOver = true;
-        lostDueToCheckmate = wasCheckmate;
+    @Override
+    public void gameOver(Game game) {
         Chess.gameplay_menu.setGameoverComponentsVisible(true);
-        if (didBlackLose) {
-            Chess.whitePlayer.setWonGame(true);
-        } else {
-            Chess.blackPlayer.setWonGame(true);
-        }
+        Chess.whitePlayer.setWonGame(game.getResult() == Game.WHITE_WON);
+        Chess.blackPlayer.setWonGame(game.getResult() == Game.BLACK_WON);
     }
 
     /**
@@ -177,11 +235,14 @@ public class Gameflow_Controller_Engine implements ActionListener {
      * to "restart" the game
      */
     public void restartGame() {
-        // Set the game over variables false
-        isGameOver = false;
-        lostDueToCheckmate = false;
-        // White must always start
-        isBlackTurn = false;
+        // Stop the computer thinking about the old game
+        computer_player.cancel();
+        game.removeListener(computer_player);
+        hasGameStarted = true;
+        indexOfSelectedPiece = -1;
+        pawnPromotionPending = false;
+        Chess.whitePlayer.setWonGame(false);
+        Chess.blackPlayer.setWonGame(false);
         // Reset the chess board
         Chess.chess_board.resetBoard();
         // Reset the player clocks
@@ -189,8 +250,15 @@ public class Gameflow_Controller_Engine implements ActionListener {
         Chess.blackPlayer.getPlayerClock().setTimeLimit(timeLimitSeconds);
         // Clear the shown possible moves
         clearShownPossibleMoves();
-        // Recalculate all possible moves
-        Chess_Rules_Engine.getInstance().findAndStoreAllPossibleMovesForPlayer(Chess.chess_board.getChessPieces(), Chess.chess_board.getBoardSquares(), isBlackTurn);
+        // Start a new game (white always starts), which recalculates all possible moves
+        game.start(Bitboard_Position.START_FEN, timeLimitSeconds);
+        game.setTimed(isGameTimed);
+        // The computer plays black if the user has chosen it (and moves whenever it becomes black's turn)
+        isComputerPlaying = isComputerOpponentSelected;
+        if (isComputerPlaying) {
+            game.addListener(computer_player);
+            computer_player.startThinkingIfToMove();
+        }
     }
 
     /**
@@ -200,7 +268,8 @@ public class Gameflow_Controller_Engine implements ActionListener {
      * @param rowColumnLocationOfTargetBoardSquare The row/column location of the board square that was pressed on
      */
     public void handleMousePressedBoardSquare(Board_Square board_square, int[] rowColumnLocationOfTargetBoardSquare) {
-        if (isGameOver()) {
+        // The players cannot move while the game is over or while the computer is thinking
+        if (isGameOver() || isComputerTurn()) {
             return;
         }
         // If a pawn promotion is pending, do not accept any moves on the chess board, since the player must first click on
@@ -223,30 +292,21 @@ public class Gameflow_Controller_Engine implements ActionListener {
             }
             // Else (if a piece has been selected and a move is attempting to be made), if the move is legal, make the move
             else {
+                Chess_Rules_Engine rules_engine = game.getRulesEngine();
+                int[] locationOfSelectedPiece = Chess.chess_board.getChessPiece(indexOfSelectedPiece).getLocationOfBoardSquareOccupied();
                 // If the move is legal
-                if (Chess_Rules_Engine.getInstance().isMovePartOfPossibleMoves(indexOfSelectedPiece, rowColumnLocationOfTargetBoardSquare)) {
+                if (rules_engine.isMovePartOfPossibleMoves(locationOfSelectedPiece, rowColumnLocationOfTargetBoardSquare)) {
                     // If a pawn promotion is pending
-                    if (Chess.chess_board.getChessPiece(indexOfSelectedPiece).getPieceIdentity().equals("pawn") && Chess_Rules_Engine.getInstance().isPawnUpgradeable(Chess.chess_board.getChessPiece(indexOfSelectedPiece), rowColumnLocationOfTargetBoardSquare[0])) {
+                    if (Move.isPromotion(rules_engine.createMove(locationOfSelectedPiece, rowColumnLocationOfTargetBoardSquare, null))) {
                         pawnPromotionPending = true;
                         targetSquarePendingToBeMovedTo = rowColumnLocationOfTargetBoardSquare;
                         // Set the promotion panel visible
                         Chess.gameplay_menu.initializePromotionPanel(Chess.chess_board.getChessPiece(indexOfSelectedPiece).getIsBlack());
                         Chess.gameplay_menu.setPromotionPanelVisible(true);
                     }
-                    // Otherwise make the move
+                    // Otherwise make the move (the chess board is updated in moveMade())
                     else {
-                        moveSelectedChessPieceToSquare(rowColumnLocationOfTargetBoardSquare);
-
-                        indexOfSelectedPiece = -1;
-                        setBlackTurn(!isBlackTurn());
-                        clearShownPossibleMoves();
-
-                        Chess_Rules_Engine.getInstance().findAndStoreAllPossibleMovesForPlayer(Chess.chess_board.getChessPieces(), Chess.chess_board.getBoardSquares(), isBlackTurn);
-                        if (Chess_Rules_Engine.getInstance().isGameOver()) {
-                            performGameoverAlgorithm(isBlackTurn(), true);
-                        } else {
-                            Chess.chess_board.startRotate();
-                        }
+                        game.makeMove(rules_engine.createMove(locationOfSelectedPiece, rowColumnLocationOfTargetBoardSquare, null));
                     }
                 }
                 // Otherwise (if the move is illegal), deselect the piece and clear the shown possible moves
@@ -267,91 +327,103 @@ public class Gameflow_Controller_Engine implements ActionListener {
      * @param pieceToPromoteTo The piece that the user selected to promote the pawn to
      */
     public void handleMousePressedPromotionPanel(String pieceToPromoteTo) {
-        // Set the identity of the pawn to the chess piece which the user wishes to promote their pawn to
-        Chess.chess_board.getChessPiece(indexOfSelectedPiece).setPieceIdentity(pieceToPromoteTo);
         pawnPromotionPending = false;
+        // Set the promotion panel invisible
+        Chess.gameplay_menu.setPromotionPanelVisible(false);
         // Finish making the move (the move was paused because the program was waiting for the user to indicate
         // which piece to promote to)
-        moveSelectedChessPieceToSquare(targetSquarePendingToBeMovedTo);
+        int[] locationOfSelectedPiece = Chess.chess_board.getChessPiece(indexOfSelectedPiece).getLocationOfBoardSquareOccupied();
+        int[] targetSquare = targetSquarePendingToBeMovedTo;
         targetSquarePendingToBeMovedTo = null;
-        // Set the promotion panel invisible
-        Chess.gameplay_menu.setPromotionPanelVisible(false);
-        // Recalculate all possible moves and, if necessary, end the game
-        Chess_Rules_Engine.getInstance().findAndStoreAllPossibleMovesForPlayer(Chess.chess_board.getChessPieces(), Chess.chess_board.getBoardSquares(), isBlackTurn);
-        if (Chess_Rules_Engine.getInstance().isGameOver()) {
-            performGameoverAlgorithm(isBlackTurn(), true);
+        game.makeMove(game.getRulesEngine().createMove(locationOfSelectedPiece, targetSquare, pieceToPromoteTo));
+    }
+
+    /**
+     * Implementation of the moveMade() method in the Game_Listener interface. It updates the chess board to
+     * match the game after a move: a piece on the target square is captured, the moving piece is moved (and
+     * changed into the piece it is promoted to), and the rook is also moved when the move is a castle. It is
+     * then the other player's turn.
+     *
+     * @param game The game the move was made in
+     * @param move The packed move that was made
+     */
+    @Override
+    public void moveMade(Game game, int move) {
+        int fromSquare = Move.getFromSquare(move);
+        int[] locationOfBoardSquareToMoveTo = {Move.getToSquare(move) / 8, Move.getToSquare(move) % 8};
+        int pieceIndex = Chess.chess_board.getBoardSquare(fromSquare / 8, fromSquare % 8).getIndexOfOccupyingPiece();
+
+        // An en passant capture takes the pawn beside the moving pawn, rather than a piece on the target square
+        if (Move.isEnPassant(move)) {
+            capturePieceOnSquare(fromSquare / 8, locationOfBoardSquareToMoveTo[1]);
         } else {
+            capturePieceOnSquare(locationOfBoardSquareToMoveTo[0], locationOfBoardSquareToMoveTo[1]);
+        }
+        relocateChessPiece(pieceIndex, locationOfBoardSquareToMoveTo);
+        // Set the identity of the pawn to the chess piece which the user wished to promote their pawn to
+        if (Move.isPromotion(move)) {
+            Chess.chess_board.getChessPiece(pieceIndex).setPieceIdentity(PROMOTION_IDENTITIES[Move.getPromotionType(move) - Bitboard_Position.KNIGHT]);
+        }
+
+        // If the move is a castle (special move involving the king and rook), the rook moves to the other side of the king
+        if (Move.getFlags(move) == Move.KING_SIDE_CASTLE) {
+            int row = locationOfBoardSquareToMoveTo[0];
+            relocateChessPiece(Chess.chess_board.getBoardSquare(row, 7).getIndexOfOccupyingPiece(), new int[]{row, locationOfBoardSquareToMoveTo[1] - 1});
+        } else if (Move.getFlags(move) == Move.QUEEN_SIDE_CASTLE) {
+            int row = locationOfBoardSquareToMoveTo[0];
+            relocateChessPiece(Chess.chess_board.getBoardSquare(row, 0).getIndexOfOccupyingPiece(), new int[]{row, locationOfBoardSquareToMoveTo[1] + 1});
+        }
+
+        // It is now the other player's turn (the board is turned to face them, unless the other player is
+        // the computer)
+        indexOfSelectedPiece = -1;
+        clearShownPossibleMoves();
+        if (!game.isGameOver() && !isComputerPlaying) {
             Chess.chess_board.startRotate();
         }
     }
 
     /**
-     * Method used to move the selected chess piece to a certain square on the chess board. This method
-     * will automatically capture a piece in the target square if necessary.
+     * Helper method that captures the piece (if any) on a certain square of the chess board
      *
-     * @param locationOfBoardSquareToMoveTo The location to move the selected chess piece to
+     * @param row    The row of the board square
+     * @param column The column of the board square
      */
-    private void moveSelectedChessPieceToSquare(int[] locationOfBoardSquareToMoveTo) {
-        int columnDelta = locationOfBoardSquareToMoveTo[1] - Chess.chess_board.getChessPiece(indexOfSelectedPiece).getLocationOfBoardSquareOccupied()[1];
-        // If there is a square on the location to move to, capture that square
-        if (Chess.chess_board.getBoardSquare(locationOfBoardSquareToMoveTo[0], locationOfBoardSquareToMoveTo[1]).isOccupiedByPiece()) {
-            int indexOfOccupyingPiece = Chess.chess_board.getBoardSquare(locationOfBoardSquareToMoveTo[0], locationOfBoardSquareToMoveTo[1]).getIndexOfOccupyingPiece();
+    private void capturePieceOnSquare(int row, int column) {
+        Board_Square board_square = Chess.chess_board.getBoardSquare(row, column);
+        if (board_square.isOccupiedByPiece()) {
+            int indexOfOccupyingPiece = board_square.getIndexOfOccupyingPiece();
             Chess.chess_board.getChessPieces()[indexOfOccupyingPiece].setLocationOfBoardSquareOccupied(new int[]{-1, -1});
             Chess.chess_board.getChessPieces()[indexOfOccupyingPiece].setObjectPosition(-100, -100);
-            Chess.chess_board.getChessPieces()[indexOfOccupyingPiece].setHasBeenCaptured(false);
+            Chess.chess_board.getChessPieces()[indexOfOccupyingPiece].setHasBeenCaptured(true);
+            board_square.setOccupiedByPiece(false);
+            board_square.setIndexOfOccupyingPiece(-1);
         }
+    }
+
+    /**
+     * Helper method that moves a chess piece from its current square to another (empty) square
+     *
+     * @param pieceIndex                    The index of the chess piece (in the Chess_Board.chess_pieces array)
+     * @param locationOfBoardSquareToMoveTo The location to move the chess piece to
+     */
+    private void relocateChessPiece(int pieceIndex, int[] locationOfBoardSquareToMoveTo) {
         // Remove the piece from its current square
-        int[] currentSquareOccupiedByPiece = Chess.chess_board.getChessPieces()[indexOfSelectedPiece].getLocationOfBoardSquareOccupied();
+        int[] currentSquareOccupiedByPiece = Chess.chess_board.getChessPieces()[pieceIndex].getLocationOfBoardSquareOccupied();
         Chess.chess_board.getBoardSquare(currentSquareOccupiedByPiece[0], currentSquareOccupiedByPiece[1]).setOccupiedByPiece(false);
         Chess.chess_board.getBoardSquare(currentSquareOccupiedByPiece[0], currentSquareOccupiedByPiece[1]).setIndexOfOccupyingPiece(-1);
 
         // Move_Chain the piece to the new square
         int[] newPieceXYPosition = Chess.chess_board.getBoardSquare(locationOfBoardSquareToMoveTo[0], locationOfBoardSquareToMoveTo[1]).getObjectPosition();
-        Chess.chess_board.getChessPieces()[indexOfSelectedPiece].setObjectPosition(newPieceXYPosition[0], newPieceXYPosition[1]);
-        Chess.chess_board.getChessPieces()[indexOfSelectedPiece].setLocationOfBoardSquareOccupied(locationOfBoardSquareToMoveTo);
+        Chess.chess_board.getChessPieces()[pieceIndex].setObjectPosition(newPieceXYPosition[0], newPieceXYPosition[1]);
+        Chess.chess_board.getChessPieces()[pieceIndex].setLocationOfBoardSquareOccupied(locationOfBoardSquareToMoveTo);
 
         // Give the square the updated properties resulting from the placement of the piece on that square
         Chess.chess_board.getBoardSquare(locationOfBoardSquareToMoveTo[0], locationOfBoardSquareToMoveTo[1]).setOccupiedByPiece(true);
-        Chess.chess_board.getBoardSquare(locationOfBoardSquareToMoveTo[0], locationOfBoardSquareToMoveTo[1]).setIndexOfOccupyingPiece(indexOfSelectedPiece);
-
-        Chess.chess_board.getChessPieces()[indexOfSelectedPiece].setIsFirstMove(false);
-        Chess.chess_board.getChessPieces()[indexOfSelectedPiece].setHasBeenSelected(false);
-
-        // This code is used to perform a castle (special move involving the king and rook) if the user has made that move
-        if (Chess.chess_board.getChessPiece(indexOfSelectedPiece).getPieceIdentity().equals("king") && Chess_Rules_Engine.getInstance().getWasMoveACastle()) {
-            if (Chess_Rules_Engine.getInstance().checkIfOneOfCastleMoves(locationOfBoardSquareToMoveTo)) {
-                int rookBeingCastledWithAndDirection = -1;
-                if (isBlackTurn) {
-                    if (columnDelta == 2) {
-                        rookBeingCastledWithAndDirection = Chess_Rules_Engine.getInstance().getRookBeingCastledWithAndDirection(0);
-                    } else if (columnDelta == -2) {
-                        rookBeingCastledWithAndDirection = Chess_Rules_Engine.getInstance().getRookBeingCastledWithAndDirection(2);
-                    }
-                } else {
-                    if (columnDelta == 2) {
-                        rookBeingCastledWithAndDirection = Chess_Rules_Engine.getInstance().getRookBeingCastledWithAndDirection(1);
-                    } else if (columnDelta == -2) {
-                        rookBeingCastledWithAndDirection = Chess_Rules_Engine.getInstance().getRookBeingCastledWithAndDirection(3);
-                    }
-                }
-                System.out.println(rookBeingCastledWithAndDirection);
-                boolean doesRookMoveLeft = rookBeingCastledWithAndDirection < 0;
-                // If the rook moves to the left for the castle (i.e. king-side castling)
-                if (doesRookMoveLeft) {
-                    int kingIndex = indexOfSelectedPiece;
-                    indexOfSelectedPiece = -rookBeingCastledWithAndDirection;
-                    moveSelectedChessPieceToSquare(new int[]{Chess.chess_board.getChessPiece(kingIndex).getLocationOfBoardSquareOccupied()[0], Chess.chess_board.getChessPiece(kingIndex).getLocationOfBoardSquareOccupied()[1] - 1});
-                    Chess_Rules_Engine.getInstance().setWasMoveACastle(false);
-                }
-                // If the rook moves to the left for the castle (i.e. king-side castling)
-                else {
-                    int kingIndex = indexOfSelectedPiece;
-                    indexOfSelectedPiece = rookBeingCastledWithAndDirection;
-                    moveSelectedChessPieceToSquare(new int[]{Chess.chess_board.getChessPiece(kingIndex).getLocationOfBoardSquareOccupied()[0], Chess.chess_board.getChessPiece(kingIndex).getLocationOfBoardSquareOccupied()[1] + 1});
-                    Chess_Rules_Engine.getInstance().setWasMoveACastle(false);
-                }
-            }
-        }
+        Chess.chess_board.getBoardSquare(locationOfBoardSquareToMoveTo[0], locationOfBoardSquareToMoveTo[1]).setIndexOfOccupyingPiece(pieceIndex);
+
+        Chess.chess_board.getChessPieces()[pieceIndex].setIsFirstMove(false);
+        Chess.chess_board.getChessPieces()[pieceIndex].setHasBeenSelected(false);
     }
 
     /**
@@ -360,11 +432,16 @@ public class Gameflow_Controller_Engine implements ActionListener {
      */
     private void showPossibleMoveLocations() {
         // Cycle through all the legal moves for the selected piece and show them to the user
-        for (int[] squareToMoveTo : Chess_Rules_Engine.getInstance().findPossibleMovesForPiece(indexOfSelectedPiece)) {
-            if (Chess.chess_board.getBoardSquare(squareToMoveTo[0], squareToMoveTo[1]).isOccupiedByPiece()) {
-                Chess.chess_board.getChessPieces()[Chess.chess_board.getBoardSquare(squareToMoveTo[0], squareToMoveTo[1]).getIndexOfOccupyingPiece()].setHighlighted(true);
+        // (each set bit of the bitboard is a square, numbered row * 8 + column, that the piece can move to)
+        long squaresToMoveTo = game.getRulesEngine().getPossibleTargetSquares(Chess.chess_board.getChessPiece(indexOfSelectedPiece).getLocationOfBoardSquareOccupied());
+        while (squaresToMoveTo != 0) {
+            int squareToMoveTo = Long.numberOfTrailingZeros(squaresToMoveTo);
+            squaresToMoveTo &= squaresToMoveTo - 1;
+            Board_Square board_square = Chess.chess_board.getBoardSquare(squareToMoveTo / 8, squareToMoveTo % 8);
+            if (board_square.isOccupiedByPiece()) {
+                Chess.chess_board.getChessPieces()[board_square.getIndexOfOccupyingPiece()].setHighlighted(true);
             } else {
-                Chess.chess_board.getBoardSquare(squareToMoveTo[0], squareToMoveTo[1]).setHighlighted(true);
+                board_square.setHighlighted(true);
             }
         }
     }
@@ -406,8 +483,12 @@ public class Gameflow_Controller_Engine implements ActionListener {
                     showPossibleMoveLocations();
                 }
                 break;
+            case "Computer plays black":
+                isComputerOpponentSelected = !isComputerOpponentSelected;
+                break;
             case "Is game timed":
                 isGameTimed = !isGameTimed;
+                game.setTimed(isGameTimed);
                 Chess.ui.getJMenuBar().getMenu(1).getItem(1).setEnabled(isGameTimed);
                 Chess.whitePlayer.getPlayerClock().setVisible(isGameTimed);
                 Chess.blackPlayer.getPlayerClock().setVisible(isGameTimed);
@@ -461,6 +542,7 @@ public class Gameflow_Controller_Engine implements ActionListener {
         }
         // Assign the timeLimit to the playerClocks for each player (each takes in number of seconds as parameters)
         timeLimitSeconds = timeLimitDesiredMinutes * 60;
+        game.setTimeLimit(timeLimitSeconds);
         Chess.whitePlayer.getPlayerClock().setTimeLimit(timeLimitSeconds);
         Chess.blackPlayer.getPlayerClock().setTimeLimit(timeLimitSeconds);
     }
@@ -29,8 +29,9 @@ public class Gameplay_Menu extends JPanel {
     // Images displayed during a checkmate or a "time up" (every time the game ends)
     private Image checkmateImage, timeUpImage;
 
-    // The font used during rendering
+    // The font used during rendering, and the smaller font of the book moves
     private Font font;
+    private Font bookMovesFont;
 
     /**
      * Constructor for the Gameplay_Menu class
@@ -75,6 +76,7 @@ public class Gameplay_Menu extends JPanel {
 
         // Initialize the font used during rendering
         font = new Font("Times New Roman", Font.PLAIN, 55);
+        bookMovesFont = new Font("Times New Roman", Font.PLAIN, 28);
 
         // Initialize the checkmate image
         checkmateImage = new Image("data\\checkmate_image.png");
@@ -139,8 +141,15 @@ public class Gameplay_Menu extends JPanel {
             g2d.drawImage(user1TurnArrow.getImage(), (int) (0.13 * getWidth()), (int) (0.35 * getHeight()), 100, 100, null);
         }
 
+        // Render the appropriate message when the game is over
+        if (Chess.gameflow_controller_engine.isGameOver() && Chess.gameflow_controller_engine.isDraw()) {
+            // A stalemate is a draw, so nobody won
+            g2d.setColor(Color.ORANGE);
+            g2d.setFont(font);
+            g2d.drawString("STALEMATE - DRAW", (int) (0.5 * getWidth() - 320), (int) (0.01 * getHeight()) + 150 + font.getSize());
+        }
         // Render the appropriate image when the game is over
-        if (Chess.gameflow_controller_engine.isGameOver()) {
+        else if (Chess.gameflow_controller_engine.isGameOver()) {
             // If the game ended due to a checkmate, display the checkmate image
             if (Chess.gameflow_controller_engine.isLostDueToCheckmate()) {
                 g2d.drawImage(checkmateImage.getImage(), (int) (0.5 * getWidth() - 320), (int) (0.02 * getHeight()), 620, 150, null);
@@ -158,5 +167,14 @@ public class Gameplay_Menu extends JPanel {
                 g2d.drawString(Chess.blackPlayer.getPlayerName() + " WON", (int) (0.5 * getWidth() - 320), (int) (0.01 * getHeight()) + 150 + font.getSize());
             }
         }
+        // Otherwise, list the opening book's moves for the position (if the possible moves are being shown)
+        else {
+            String bookMovesText = Chess.gameflow_controller_engine.getBookMovesText();
+            if (!bookMovesText.isEmpty()) {
+                g2d.setColor(Color.ORANGE);
+                g2d.setFont(bookMovesFont);
+                g2d.drawString(bookMovesText, (int) (0.5 * getWidth() - 320), (int) (0.01 * getHeight()) + 150 + bookMovesFont.getSize());
+            }
+        }
     }
 }
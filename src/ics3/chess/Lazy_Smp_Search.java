@@ -0,0 +1,314 @@
+package ics3.chess;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A search that uses several threads at once ("Lazy SMP"). Every thread runs its own Search_Engine on the
+ * same position, and they all share one Transposition_Table. The threads do not divide the work between
+ * them explicitly; instead, each one finds the results the others have stored in the table, so together
+ * they reach a given depth sooner than one thread would. The helper threads skip some depths (each one in a
+ * different pattern), so that they are usually searching a little deeper than the main thread and filling
+ * the table with results it is about to need.
+ *
+ * The main thread runs on the thread that calls search(), and its result is the one returned; the helpers
+ * run on a pool of daemon threads and are stopped as soon as the main thread finishes.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Lazy_Smp_Search implements Search_Listener {
+
+    // The transposition table that every thread shares
+    private Transposition_Table transposition_table;
+
+    // The engine of each thread (the first is the main thread's)
+    private Search_Engine[] engines;
+    // Runs the helpers' searches
+    private ExecutorService helperThreads;
+
+    // The endgame tables every thread looks positions up in (may be null)
+    private Tablebase tablebase;
+    // The number of positions the main thread stops after (0 for no limit)
+    private long nodeLimit;
+
+    // The object told about each iteration the main thread finishes (may be null)
+    private Search_Listener listener;
+
+    /**
+     * Constructor for the Lazy_Smp_Search class, which uses a transposition table of the default size
+     *
+     * @param threadCount The number of threads to search with (at least 1)
+     */
+    public Lazy_Smp_Search(int threadCount) {
+        this(threadCount, new Transposition_Table(Transposition_Table.DEFAULT_SIZE_MB));
+    }
+
+    /**
+     * Constructor for the Lazy_Smp_Search class
+     *
+     * @param threadCount         The number of threads to search with (at least 1)
+     * @param transposition_table The transposition table for the threads to share
+     */
+    public Lazy_Smp_Search(int threadCount, Transposition_Table transposition_table) {
+        this.transposition_table = transposition_table;
+        setThreadCount(threadCount);
+    }
+
+    /**
+     * Changes the number of threads to search with. Must not be called during a search.
+     *
+     * @param threadCount The number of threads (at least 1)
+     * @throws IllegalArgumentException If the number of threads is less than 1
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("At least one search thread is needed");
+        }
+        if (helperThreads != null) {
+            helperThreads.shutdown();
+        }
+        engines = new Search_Engine[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            engines[i] = new Search_Engine(transposition_table);
+            engines[i].setTablebase(tablebase);
+        }
+        engines[0].setListener(this);
+        engines[0].setNodeLimit(nodeLimit);
+        helperThreads = threadCount == 1 ? null : Executors.newFixedThreadPool(threadCount - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Getter method for the number of threads the search uses
+     *
+     * @return int  The number of threads
+     */
+    public int getThreadCount() {
+        return engines.length;
+    }
+
+    /**
+     * Getter method for the transposition table the threads share
+     *
+     * @return Transposition_Table  The transposition table
+     */
+    public Transposition_Table getTranspositionTable() {
+        return transposition_table;
+    }
+
+    /**
+     * Setter method for the endgame tables the threads look positions up in (they share the tablebase and
+     * its block cache). Must not be called during a search.
+     *
+     * @param tablebase The tablebase, or null for none
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+        for (Search_Engine engine : engines) {
+            engine.setTablebase(tablebase);
+        }
+    }
+
+    /**
+     * Setter method for the number of positions after which each search stops. Only the main thread's
+     * positions are counted (the helpers stop when it does). Must not be called during a search.
+     *
+     * @param nodeLimit The number of positions, or 0 for no limit
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+        engines[0].setNodeLimit(nodeLimit);
+    }
+
+    /**
+     * Setter method for the object that is told about each iteration the main thread finishes (with the
+     * node counts of all the threads added together)
+     *
+     * @param listener The listener, or null for none
+     */
+    public void setListener(Search_Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets every thread ready for the next search, clearing any earlier stop(). Must be called before each
+     * search, on the thread that starts it and before the search is handed to another thread (if it is), so
+     * that a stop() made before that thread gets round to starting the search is not lost.
+     */
+    public void prepare() {
+        for (Search_Engine engine : engines) {
+            engine.prepare();
+        }
+    }
+
+    /**
+     * Searches a position with every thread and returns the main thread's best move. The position itself is
+     * not changed, and prepare() must have been called first.
+     *
+     * @param position        The position to search
+     * @param maxDepth        The deepest iteration to search (at most Search_Engine.MAX_PLY - 1)
+     * @param timeLimitMillis The time after which the search stops, or 0 for no limit
+     * @return int            The best move, or Move.NONE if the side to move has no legal moves
+     */
+    public int search(Bitboard_Position position, int maxDepth, long timeLimitMillis) {
+        return search(position, maxDepth, timeLimitMillis > 0 ? Time_Manager.forMoveTime(timeLimitMillis) : null);
+    }
+
+    /**
+     * Searches a position with every thread, stopping when a Time_Manager says to, and returns the main
+     * thread's best move. The position itself is not changed, and prepare() must have been called first.
+     *
+     * @param position     The position to search
+     * @param maxDepth     The deepest iteration to search (at most Search_Engine.MAX_PLY - 1)
+     * @param time_manager Decides when to stop (it is only consulted by the main thread), or null for no
+     *                     time limit
+     * @return int         The best move, or Move.NONE if the side to move has no legal moves
+     */
+    public int search(Bitboard_Position position, int maxDepth, Time_Manager time_manager) {
+        transposition_table.newSearch();
+        // Each engine searches its own copy of the position, which it makes from this one as it starts
+        Bitboard_Position rootPosition = new Bitboard_Position(position);
+        Future<?>[] helperSearches = new Future<?>[engines.length - 1];
+        for (int i = 1; i < engines.length; i++) {
+            Search_Engine helper = engines[i];
+            int helperIndex = i;
+            helperSearches[i - 1] = helperThreads.submit(() -> helper.search(rootPosition, maxDepth, null, helperIndex));
+        }
+
+        int bestMove = engines[0].search(rootPosition, maxDepth, time_manager, 0);
+
+        // The helpers only help the main thread, so they stop when it does
+        for (int i = 1; i < engines.length; i++) {
+            engines[i].stop();
+        }
+        for (Future<?> helperSearch : helperSearches) {
+            try {
+                helperSearch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A search helper failed", e.getCause());
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Tells a search that is running on another thread to stop as soon as possible. The search returns the
+     * best move of the last iteration the main thread finished.
+     */
+    public void stop() {
+        for (Search_Engine engine : engines) {
+            engine.stop();
+        }
+    }
+
+    /**
+     * Getter method for the number of positions searched by all the threads in the last search
+     *
+     * @return long The number of positions
+     */
+    public long getNodeCount() {
+        long nodes = 0;
+        for (Search_Engine engine : engines) {
+            nodes += engine.getNodeCount();
+        }
+        return nodes;
+    }
+
+    /**
+     * Getter method for the fraction of the last search's cut-offs (over all the threads) that were caused by
+     * the first move searched, which measures how well the moves are ordered
+     *
+     * @return double The first-move cut-off rate (0 to 1)
+     */
+    public double getFirstMoveCutoffRate() {
+        long cutoffs = 0;
+        long firstMoveCutoffs = 0;
+        for (Search_Engine engine : engines) {
+            cutoffs += engine.getCutoffCount();
+            firstMoveCutoffs += engine.getFirstMoveCutoffCount();
+        }
+        return cutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * Getter method for the fraction of the last search's pawn hash table probes (over all the threads, each
+     * of which has its own table) that found their pawn structure
+     *
+     * @return double The pawn hash hit rate (0 to 1)
+     */
+    public double getPawnHashHitRate() {
+        long probes = 0;
+        long hits = 0;
+        for (Search_Engine engine : engines) {
+            probes += engine.getPawnHashTable().getProbeCount();
+            hits += engine.getPawnHashTable().getHitCount();
+        }
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    /**
+     * Getter method for the number of positions all the threads found in the tablebase in the last search
+     *
+     * @return long The number of positions
+     */
+    public long getTablebaseHitCount() {
+        long hits = 0;
+        for (Search_Engine engine : engines) {
+            hits += engine.getTablebaseHitCount();
+        }
+        return hits;
+    }
+
+    /**
+     * Getter method for the depth of the last iteration the main thread finished in the last search
+     *
+     * @return int  The depth
+     */
+    public int getCompletedDepth() {
+        return engines[0].getCompletedDepth();
+    }
+
+    /**
+     * Getter method for the score of the best move of the last search
+     *
+     * @return int  The score in centipawns, from the point of view of the side to move
+     */
+    public int getBestScore() {
+        return engines[0].getBestScore();
+    }
+
+    /**
+     * Getter method for the best line found by the last search
+     *
+     * @return int[] The moves of the line, starting with the best move
+     */
+    public int[] getPrincipalVariation() {
+        return engines[0].getPrincipalVariation();
+    }
+
+    /**
+     * Implementation of the depthCompleted() method in the Search_Listener interface. It passes the main
+     * thread's progress on to this search's listener, counting the positions every thread has searched.
+     *
+     * @param depth              The depth that was finished
+     * @param score              The score of the best move in centipawns
+     * @param nodes              The number of positions the main thread has searched so far
+     * @param elapsedNanos       The time the search has taken so far (in nanoseconds)
+     * @param principalVariation The best line found
+     */
+    @Override
+    public void depthCompleted(int depth, int score, long nodes, long elapsedNanos, int[] principalVariation) {
+        if (listener != null) {
+            listener.depthCompleted(depth, score, getNodeCount(), elapsedNanos, principalVariation);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package ics3.chess;
+
+/**
+ * Utility class for moves that are packed into a single int, so that moves can be stored in
+ * primitive arrays without creating any objects. The bits of a move are laid out as follows:
+ * bits 0-5 hold the square moved from, bits 6-11 the square moved to, and bits 12-15 the flags
+ * (the kind of move and, for promotions, the piece promoted to).
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Move {
+
+    // A value that is never a real move (a move from a square to itself)
+    public static final int NONE = 0;
+
+    // The kinds of moves (stored in the flags)
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    // Promotions have this bit set, and the lowest two bits give the piece (see getPromotionType())
+    public static final int PROMOTION = 8;
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Move() {
+    }
+
+    /**
+     * Packs a move into an int
+     *
+     * @param fromSquare The square moved from
+     * @param toSquare   The square moved to
+     * @param flags      The kind of move
+     * @return int       The packed move
+     */
+    public static int encode(int fromSquare, int toSquare, int flags) {
+        return fromSquare | (toSquare << 6) | (flags << 12);
+    }
+
+    /**
+     * Packs a promotion into an int
+     *
+     * @param fromSquare    The square moved from
+     * @param toSquare      The square moved to
+     * @param isCapture     Whether or not the promoting pawn captures a piece
+     * @param promotionType The piece type promoted to (Bitboard_Position.KNIGHT to Bitboard_Position.QUEEN)
+     * @return int          The packed move
+     */
+    public static int encodePromotion(int fromSquare, int toSquare, boolean isCapture, int promotionType) {
+        int flags = PROMOTION | (promotionType - Bitboard_Position.KNIGHT);
+        if (isCapture) {
+            flags |= CAPTURE;
+        }
+        return encode(fromSquare, toSquare, flags);
+    }
+
+    /**
+     * Getter method for the square a move is made from
+     *
+     * @param move The packed move
+     * @return int The square moved from
+     */
+    public static int getFromSquare(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Getter method for the square a move is made to
+     *
+     * @param move The packed move
+     * @return int The square moved to
+     */
+    public static int getToSquare(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * Getter method for the flags of a move
+     *
+     * @param move The packed move
+     * @return int The flags
+     */
+    public static int getFlags(int move) {
+        return (move >>> 12) & 15;
+    }
+
+    /**
+     * Checks whether or not a move captures a piece (including en passant)
+     *
+     * @param move     The packed move
+     * @return boolean Whether or not the move is a capture
+     */
+    public static boolean isCapture(int move) {
+        return (getFlags(move) & CAPTURE) != 0;
+    }
+
+    /**
+     * Checks whether or not a move is a pawn promotion
+     *
+     * @param move     The packed move
+     * @return boolean Whether or not the move is a promotion
+     */
+    public static boolean isPromotion(int move) {
+        return (getFlags(move) & PROMOTION) != 0;
+    }
+
+    /**
+     * Getter method for the piece type a pawn is promoted to
+     *
+     * @param move The packed move (must be a promotion)
+     * @return int The piece type promoted to
+     */
+    public static int getPromotionType(int move) {
+        return Bitboard_Position.KNIGHT + (getFlags(move) & 3);
+    }
+
+    /**
+     * Checks whether or not a move is a castle
+     *
+     * @param move     The packed move
+     * @return boolean Whether or not the move is a castle
+     */
+    public static boolean isCastle(int move) {
+        int flags = getFlags(move);
+        return flags == KING_SIDE_CASTLE || flags == QUEEN_SIDE_CASTLE;
+    }
+
+    /**
+     * Checks whether or not a move is an en passant capture
+     *
+     * @param move     The packed move
+     * @return boolean Whether or not the move is an en passant capture
+     */
+    public static boolean isEnPassant(int move) {
+        return getFlags(move) == EN_PASSANT;
+    }
+
+    /**
+     * Returns the name of a square in algebraic notation (e.g. "e4")
+     *
+     * @param square  The square
+     * @return String The name of the square
+     */
+    public static String getSquareName(int square) {
+        return "" + (char) ('a' + (square & 7)) + (8 - (square >>> 3));
+    }
+
+    /**
+     * Converts the name of a square in algebraic notation (e.g. "e3") into a square number
+     *
+     * @param name The name of the square
+     * @return int The square
+     * @throws IllegalArgumentException If the name is not a square
+     */
+    public static int parseSquare(String name) {
+        if (name.length() != 2 || name.charAt(0) < 'a' || name.charAt(0) > 'h' || name.charAt(1) < '1' || name.charAt(1) > '8') {
+            throw new IllegalArgumentException("Bad square: " + name);
+        }
+        return ('8' - name.charAt(1)) * 8 + (name.charAt(0) - 'a');
+    }
+
+    /**
+     * Returns a move in coordinate notation (e.g. "e2e4", or "e7e8q" for a promotion)
+     *
+     * @param move    The packed move
+     * @return String The move in coordinate notation
+     */
+    public static String toCoordinateNotation(int move) {
+        String notation = getSquareName(getFromSquare(move)) + getSquareName(getToSquare(move));
+        if (isPromotion(move)) {
+            notation += "nbrq".charAt(getPromotionType(move) - Bitboard_Position.KNIGHT);
+        }
+        return notation;
+    }
+}
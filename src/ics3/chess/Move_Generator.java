@@ -0,0 +1,223 @@
+package ics3.chess;
+
+/**
+ * Utility class that generates the legal moves in a Bitboard_Position. Rather than trying every
+ * move and testing whether it leaves the king in check, the generator works out once per position
+ * which pieces are pinned against their king (and along which line they may still move) and which
+ * squares a move must reach to deal with a check. Each piece's reachable squares are then filtered
+ * by those masks, so nearly every move is known to be legal without a separate test.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Move_Generator {
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Move_Generator() {
+    }
+
+    // The largest number of legal moves in any chess position is 218, so this is enough room for one position
+    public static final int MAX_MOVES = 256;
+
+    // The first and last rows of the board, where pawns are promoted
+    private static final long LAST_ROWS = 0xFF000000000000FFL;
+
+    /**
+     * Generates every legal move of the side to move, packed into ints (see the Move class)
+     *
+     * @param position   The position to generate moves for
+     * @param moves      The array that receives the moves (needs MAX_MOVES free places after firstIndex)
+     * @param firstIndex The index in the moves array at which to store the first move
+     * @return int       The number of moves generated
+     */
+    public static int generateLegalMoves(Bitboard_Position position, int[] moves, int firstIndex) {
+        return generate(position, moves, firstIndex, false);
+    }
+
+    /**
+     * Generates the legal captures of the side to move (including en passant) and its promotions, packed
+     * into ints (see the Move class). Pawns are only promoted to a queen here. These are the moves the
+     * quiescence search looks at.
+     *
+     * @param position   The position to generate moves for
+     * @param moves      The array that receives the moves (needs MAX_MOVES free places after firstIndex)
+     * @param firstIndex The index in the moves array at which to store the first move
+     * @return int       The number of moves generated
+     */
+    public static int generateLegalCaptures(Bitboard_Position position, int[] moves, int firstIndex) {
+        return generate(position, moves, firstIndex, true);
+    }
+
+    /**
+     * Helper method that generates the legal moves of the side to move, or only its captures and queen
+     * promotions
+     *
+     * @param position     The position to generate moves for
+     * @param moves        The array that receives the moves
+     * @param firstIndex   The index in the moves array at which to store the first move
+     * @param capturesOnly Whether or not to generate only the captures and queen promotions
+     * @return int         The number of moves generated
+     */
+    private static int generate(Bitboard_Position position, int[] moves, int firstIndex, boolean capturesOnly) {
+        int us = position.getSideToMove();
+        int them = us ^ 1;
+        long occupancy = position.getOccupancy();
+        long ownPieces = position.getColourOccupancy(us);
+        int kingSquare = position.getKingSquare(us);
+        long kingBit = 1L << kingSquare;
+        int moveIndex = firstIndex;
+        // The squares moves may land on (pawns may also land on the last row, where they are promoted)
+        long targetMask = capturesOnly ? position.getColourOccupancy(them) : -1L;
+        long pawnTargetMask = capturesOnly ? targetMask | LAST_ROWS : -1L;
+
+        // Work out which squares a non-king move has to land on to deal with a check. With no check any
+        // square will do, with one check the checker must be captured or blocked, and with two checks
+        // only the king can move.
+        long checkers = position.getCheckers();
+        long evasionMask;
+        if (checkers == 0) {
+            evasionMask = -1L;
+        } else if ((checkers & (checkers - 1)) == 0) {
+            evasionMask = checkers | getSquaresBetween(kingSquare, Long.numberOfTrailingZeros(checkers));
+        } else {
+            evasionMask = 0L;
+        }
+
+        // King moves: the king must not move to an attacked square. It is removed from the occupancy so
+        // that it cannot hide behind itself when moving away from a sliding piece along the same line.
+        long kingTargets = position.getPseudoLegalTargets(kingSquare) & targetMask;
+        while (kingTargets != 0) {
+            int toSquare = Long.numberOfTrailingZeros(kingTargets);
+            kingTargets &= kingTargets - 1;
+            // Castling targets have already been checked for attacks by the position
+            if (Math.abs(toSquare - kingSquare) == 2 || position.getAttackersOf(toSquare, them, occupancy ^ kingBit) == 0) {
+                moves[moveIndex++] = createMove(position, kingSquare, toSquare, Bitboard_Position.QUEEN);
+            }
+        }
+
+        // In a double check, no other piece can move
+        if (evasionMask == 0) {
+            return moveIndex - firstIndex;
+        }
+
+        long pinned = getPinnedPieces(position, us, kingSquare);
+        int enPassantSquare = position.getEnPassantSquare();
+        long pieces = ownPieces & ~kingBit;
+        while (pieces != 0) {
+            int fromSquare = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long pieceTargets = position.getPseudoLegalTargets(fromSquare);
+            // A pinned piece may only move along the line between its king and the pinning piece
+            if ((pinned & (1L << fromSquare)) != 0) {
+                pieceTargets &= getLineThrough(kingSquare, fromSquare);
+            }
+            boolean isPawn = position.getPieceOnSquare(fromSquare) % 6 == Bitboard_Position.PAWN;
+            // An en passant capture removes a pawn from a square other than the target square, which the
+            // masks do not account for, so it is tested on its own
+            if (isPawn && enPassantSquare != Bitboard_Position.NO_SQUARE && (pieceTargets & (1L << enPassantSquare)) != 0) {
+                pieceTargets &= ~(1L << enPassantSquare);
+                if (!position.doesMoveLeaveKingInCheck(fromSquare, enPassantSquare)) {
+                    moves[moveIndex++] = Move.encode(fromSquare, enPassantSquare, Move.EN_PASSANT);
+                }
+            }
+            pieceTargets &= evasionMask & (isPawn ? pawnTargetMask : targetMask);
+            while (pieceTargets != 0) {
+                int toSquare = Long.numberOfTrailingZeros(pieceTargets);
+                pieceTargets &= pieceTargets - 1;
+                // A pawn reaching the last row can be promoted to any of four pieces
+                if (isPawn && (toSquare < 8 || toSquare >= 56)) {
+                    int lowestPromotionType = capturesOnly ? Bitboard_Position.QUEEN : Bitboard_Position.KNIGHT;
+                    for (int promotionType = Bitboard_Position.QUEEN; promotionType >= lowestPromotionType; promotionType--) {
+                        moves[moveIndex++] = createMove(position, fromSquare, toSquare, promotionType);
+                    }
+                } else {
+                    moves[moveIndex++] = createMove(position, fromSquare, toSquare, Bitboard_Position.QUEEN);
+                }
+            }
+        }
+        return moveIndex - firstIndex;
+    }
+
+    /**
+     * Packs a move from one square to another into an int, working out the kind of move (capture,
+     * castle, en passant, etc.) from the position
+     *
+     * @param position      The position the move is made in
+     * @param fromSquare    The square moved from
+     * @param toSquare      The square moved to
+     * @param promotionType The piece type a pawn reaching the last row is promoted to (ignored for other moves)
+     * @return int          The packed move
+     */
+    public static int createMove(Bitboard_Position position, int fromSquare, int toSquare, int promotionType) {
+        int pieceType = position.getPieceOnSquare(fromSquare) % 6;
+        boolean isCapture = position.getPieceOnSquare(toSquare) != Bitboard_Position.NO_PIECE;
+        if (pieceType == Bitboard_Position.PAWN) {
+            if (toSquare < 8 || toSquare >= 56) {
+                return Move.encodePromotion(fromSquare, toSquare, isCapture, promotionType);
+            }
+            if (toSquare == position.getEnPassantSquare()) {
+                return Move.encode(fromSquare, toSquare, Move.EN_PASSANT);
+            }
+            if (Math.abs(toSquare - fromSquare) == 16) {
+                return Move.encode(fromSquare, toSquare, Move.DOUBLE_PAWN_PUSH);
+            }
+        } else if (pieceType == Bitboard_Position.KING && Math.abs(toSquare - fromSquare) == 2) {
+            return Move.encode(fromSquare, toSquare, toSquare > fromSquare ? Move.KING_SIDE_CASTLE : Move.QUEEN_SIDE_CASTLE);
+        }
+        return Move.encode(fromSquare, toSquare, isCapture ? Move.CAPTURE : Move.QUIET);
+    }
+
+    /**
+     * Returns the pieces of the given colour that are pinned against their own king (i.e. they are the
+     * only piece standing between the king and an enemy rook, bishop or queen)
+     *
+     * @param position   The position
+     * @param colour     The colour of the king
+     * @param kingSquare The square of the king
+     * @return long      The squares of the pinned pieces
+     */
+    public static long getPinnedPieces(Bitboard_Position position, int colour, int kingSquare) {
+        int enemy = colour ^ 1;
+        long enemyPieces = position.getColourOccupancy(enemy);
+        long queens = position.getPieces(enemy, Bitboard_Position.QUEEN);
+        // Enemy sliding pieces that would attack the king if none of our pieces were in the way
+        long snipers = (Bitboard_Attacks.rookAttacks(kingSquare, enemyPieces) & (position.getPieces(enemy, Bitboard_Position.ROOK) | queens))
+                | (Bitboard_Attacks.bishopAttacks(kingSquare, enemyPieces) & (position.getPieces(enemy, Bitboard_Position.BISHOP) | queens));
+        long ownPieces = position.getColourOccupancy(colour);
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniperSquare = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = getSquaresBetween(kingSquare, sniperSquare) & position.getOccupancy();
+            if ((blockers & (blockers - 1)) == 0 && (blockers & ownPieces) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Returns the squares strictly between two squares that lie on the same row, column or diagonal
+     *
+     * @param firstSquare  The first square
+     * @param secondSquare The second square
+     * @return long        The squares between them, or 0 if they are not on a shared line
+     */
+    public static long getSquaresBetween(int firstSquare, int secondSquare) {
+        return Bitboard_Attacks.squaresBetween(firstSquare, secondSquare);
+    }
+
+    /**
+     * Returns the whole row, column or diagonal passing through two squares (edge to edge)
+     *
+     * @param firstSquare  The first square
+     * @param secondSquare The second square
+     * @return long        The squares of the line, or 0 if the squares are not on a shared line
+     */
+    public static long getLineThrough(int firstSquare, int secondSquare) {
+        return Bitboard_Attacks.lineThrough(firstSquare, secondSquare);
+    }
+}
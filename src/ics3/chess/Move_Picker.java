@@ -0,0 +1,310 @@
+package ics3.chess;
+
+/**
+ * Hands the search the legal moves of one position one at a time, in the order most likely to cause an early
+ * alpha-beta cut-off. The moves come out in stages:
+ *   1. the best move stored in the transposition table for the position (the hash move)
+ *   2. captures and promotions that do not lose material, most valuable victim first and then least
+ *      valuable attacker first (MVV-LVA)
+ *   3. the killer moves: quiet moves that caused a cut-off at the same ply elsewhere in the tree
+ *   4. the counter move: the quiet move that last refuted the opponent's previous move
+ *   5. the other quiet moves, in order of their history scores (how often they have caused cut-offs)
+ *   6. the captures that lose material once the exchange on their square is played out (found with the
+ *      Static_Exchange_Evaluator)
+ * Each stage is only sorted when it is reached, so a cut-off by the hash move or an early capture costs no
+ * sorting at all, and within a stage the moves are picked one at a time rather than fully sorted.
+ *
+ * For the quiescence search, the picker can instead hand out only the captures and queen promotions, and
+ * then leaves out the losing captures altogether.
+ *
+ * Every ply of a Search_Engine has its own Move_Picker.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+class Move_Picker {
+
+    // The stages, in the order they are gone through
+    private static final int HASH_MOVE_STAGE = 0;
+    private static final int CAPTURE_STAGE = 1;
+    private static final int KILLER_AND_COUNTER_MOVE_STAGE = 2;
+    private static final int QUIET_STAGE = 3;
+    private static final int BAD_CAPTURE_STAGE = 4;
+    private static final int DONE_STAGE = 5;
+
+    // The legal moves (captures and promotions first, then quiet moves) and their ordering scores
+    private final int[] moves = new int[Move_Generator.MAX_MOVES];
+    private final int[] scores = new int[Move_Generator.MAX_MOVES];
+    private int moveCount;
+    // The number of captures and promotions (which are at the start of the moves array)
+    private int captureCount;
+
+    // The position the moves belong to, and the history scores of the side to move's quiet moves
+    private Bitboard_Position position;
+    private int[] history;
+    private int historyOffset;
+
+    // The hash move (or Move.NONE if it is not a legal move here)
+    private int hashMove;
+    // The legal, distinct killer and counter moves that are not the hash move
+    private final int[] specialQuietMoves = new int[3];
+    private int specialQuietMoveCount;
+    // The captures that lose material, which are put off until after the quiet moves
+    private final int[] badCaptures = new int[Move_Generator.MAX_MOVES];
+    private int badCaptureCount;
+
+    // Whether or not only captures are being handed out (for the quiescence search)
+    private boolean isQuiescence;
+
+    // The current stage, and the index of the next move to hand out within it
+    private int stage;
+    private int nextIndex;
+
+    /**
+     * Generates the legal moves of a position and gets ready to hand them out
+     *
+     * @param position     The position
+     * @param hashMove     The transposition table's move for the position, or Move.NONE
+     * @param firstKiller  The most recent killer move for this ply, or Move.NONE
+     * @param secondKiller The other killer move for this ply, or Move.NONE
+     * @param counterMove  The counter move to the previous move, or Move.NONE
+     * @param history      The history scores, indexed by colour * 4096 + from square * 64 + to square
+     * @return int         The number of legal moves
+     */
+    int generate(Bitboard_Position position, int hashMove, int firstKiller, int secondKiller, int counterMove, int[] history) {
+        this.position = position;
+        this.history = history;
+        historyOffset = position.getSideToMove() * 4096;
+        isQuiescence = false;
+        moveCount = Move_Generator.generateLegalMoves(position, moves, 0);
+
+        // Move the captures and promotions to the front
+        captureCount = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int move = moves[i];
+            if (Move.isCapture(move) || Move.isPromotion(move)) {
+                moves[i] = moves[captureCount];
+                moves[captureCount] = move;
+                captureCount++;
+            }
+        }
+
+        // The stored moves may not be legal here (another position can share a killer's ply, or even the
+        // position's key), so each one is only used if it is one of the generated moves
+        this.hashMove = contains(hashMove, 0, moveCount) ? hashMove : Move.NONE;
+        specialQuietMoveCount = 0;
+        addSpecialQuietMove(firstKiller);
+        addSpecialQuietMove(secondKiller);
+        addSpecialQuietMove(counterMove);
+
+        badCaptureCount = 0;
+        stage = HASH_MOVE_STAGE;
+        return moveCount;
+    }
+
+    /**
+     * Generates the legal captures and queen promotions of a position and gets ready to hand out the ones
+     * that do not lose material (for the quiescence search)
+     *
+     * @param position The position
+     * @return int     The number of captures and promotions generated (including the losing ones)
+     */
+    int generateCaptures(Bitboard_Position position) {
+        this.position = position;
+        isQuiescence = true;
+        moveCount = Move_Generator.generateLegalCaptures(position, moves, 0);
+        captureCount = moveCount;
+        hashMove = Move.NONE;
+        specialQuietMoveCount = 0;
+        badCaptureCount = 0;
+        stage = HASH_MOVE_STAGE;
+        return moveCount;
+    }
+
+    /**
+     * Helper method that adds a killer or counter move to the moves handed out before the other quiet moves,
+     * if it is a legal quiet move that has not already been added
+     *
+     * @param move The killer or counter move, or Move.NONE
+     */
+    private void addSpecialQuietMove(int move) {
+        if (move == Move.NONE || move == hashMove || !contains(move, captureCount, moveCount)) {
+            return;
+        }
+        for (int i = 0; i < specialQuietMoveCount; i++) {
+            if (specialQuietMoves[i] == move) {
+                return;
+            }
+        }
+        specialQuietMoves[specialQuietMoveCount++] = move;
+    }
+
+    /**
+     * Returns the next move to search
+     *
+     * @return int  The next move, or Move.NONE once every move has been handed out
+     */
+    int nextMove() {
+        if (stage == HASH_MOVE_STAGE) {
+            stage = CAPTURE_STAGE;
+            scoreCaptures();
+            nextIndex = 0;
+            if (hashMove != Move.NONE) {
+                return hashMove;
+            }
+        }
+        if (stage == CAPTURE_STAGE) {
+            while (nextIndex < captureCount) {
+                int move = pickBestMove(nextIndex++, captureCount);
+                if (move == hashMove) {
+                    continue;
+                }
+                if (!isLosingCapture(move)) {
+                    return move;
+                }
+                // The quiescence search only looks at captures that might win something
+                if (!isQuiescence) {
+                    badCaptures[badCaptureCount++] = move;
+                }
+            }
+            stage = isQuiescence ? DONE_STAGE : KILLER_AND_COUNTER_MOVE_STAGE;
+            nextIndex = 0;
+        }
+        if (stage == KILLER_AND_COUNTER_MOVE_STAGE) {
+            if (nextIndex < specialQuietMoveCount) {
+                return specialQuietMoves[nextIndex++];
+            }
+            stage = QUIET_STAGE;
+            scoreQuietMoves();
+            nextIndex = captureCount;
+        }
+        if (stage == QUIET_STAGE) {
+            while (nextIndex < moveCount) {
+                int move = pickBestMove(nextIndex++, moveCount);
+                if (move != hashMove && !isSpecialQuietMove(move)) {
+                    return move;
+                }
+            }
+            stage = BAD_CAPTURE_STAGE;
+            nextIndex = 0;
+        }
+        if (stage == BAD_CAPTURE_STAGE) {
+            if (nextIndex < badCaptureCount) {
+                return badCaptures[nextIndex++];
+            }
+            stage = DONE_STAGE;
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Helper method that checks whether a capture or promotion loses material once the exchange on its
+     * target square is played out. Taking a piece worth at least as much as the capturing piece can never
+     * lose, so the full static exchange evaluation is only needed for the other captures.
+     *
+     * @param move     The capture or promotion
+     * @return boolean Whether or not the move loses material
+     */
+    private boolean isLosingCapture(int move) {
+        if (Move.isEnPassant(move)) {
+            return false;
+        }
+        if (Move.isCapture(move)) {
+            int victimValue = Static_Exchange_Evaluator.PIECE_VALUES[position.getPieceOnSquare(Move.getToSquare(move)) % 6];
+            int attackerValue = Static_Exchange_Evaluator.PIECE_VALUES[position.getPieceOnSquare(Move.getFromSquare(move)) % 6];
+            if (victimValue >= attackerValue) {
+                return false;
+            }
+        }
+        return Static_Exchange_Evaluator.evaluate(position, move) < 0;
+    }
+
+    /**
+     * Helper method that gives each capture and promotion its MVV-LVA score
+     */
+    private void scoreCaptures() {
+        for (int i = 0; i < captureCount; i++) {
+            int move = moves[i];
+            int score = 0;
+            if (Move.isCapture(move)) {
+                int victim = Move.isEnPassant(move) ? Bitboard_Position.PAWN : position.getPieceOnSquare(Move.getToSquare(move)) % 6;
+                int attacker = position.getPieceOnSquare(Move.getFromSquare(move)) % 6;
+                score = victim * 8 - attacker;
+            }
+            // A promotion counts as capturing the piece it promotes to
+            if (Move.isPromotion(move)) {
+                score += Move.getPromotionType(move) * 8;
+            }
+            scores[i] = score;
+        }
+    }
+
+    /**
+     * Helper method that gives each quiet move its history score
+     */
+    private void scoreQuietMoves() {
+        for (int i = captureCount; i < moveCount; i++) {
+            scores[i] = history[historyOffset + Move.getFromSquare(moves[i]) * 64 + Move.getToSquare(moves[i])];
+        }
+    }
+
+    /**
+     * Helper method that finds the move with the highest score in part of the moves array and swaps it to the
+     * start of that part (a selection sort done one move at a time)
+     *
+     * @param index    The start of the part
+     * @param endIndex The index after the end of the part
+     * @return int     The move now at the start of the part
+     */
+    private int pickBestMove(int index, int endIndex) {
+        int bestIndex = index;
+        for (int i = index + 1; i < endIndex; i++) {
+            if (scores[i] > scores[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        int move = moves[bestIndex];
+        moves[bestIndex] = moves[index];
+        moves[index] = move;
+        int score = scores[bestIndex];
+        scores[bestIndex] = scores[index];
+        scores[index] = score;
+        return move;
+    }
+
+    /**
+     * Helper method that checks whether part of the moves array contains a move
+     *
+     * @param move       The move
+     * @param startIndex The start of the part
+     * @param endIndex   The index after the end of the part
+     * @return boolean   Whether or not the move is in that part
+     */
+    private boolean contains(int move, int startIndex, int endIndex) {
+        if (move == Move.NONE) {
+            return false;
+        }
+        for (int i = startIndex; i < endIndex; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method that checks whether a move is one of the killer and counter moves already handed out
+     *
+     * @param move     The move
+     * @return boolean Whether or not it is a killer or counter move
+     */
+    private boolean isSpecialQuietMove(int move) {
+        for (int i = 0; i < specialQuietMoveCount; i++) {
+            if (specialQuietMoves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,197 @@
+package ics3.chess;
+
+import java.util.Arrays;
+
+/**
+ * A small cache of the pawn structure scores worked out by the Evaluation, keyed by the pawn Zobrist key of
+ * the position (see Bitboard_Position.getPawnZobristKey()). The pawns only change on a pawn move or a
+ * capture of a pawn, so during a search the same pawn structure is scored over and over again, and nearly
+ * every lookup finds its entry.
+ *
+ * Each entry holds the middlegame and endgame pawn structure scores, the passed pawns of both sides, and
+ * the shelter the pawns would give each king on each column. The table is direct-mapped: each pawn
+ * structure has exactly one entry it can be stored in, and a new structure simply replaces whatever was
+ * there. It is not thread-safe, so every search thread has its own.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public class Pawn_Hash_Table {
+
+    // The number of entries if none is given
+    public static final int DEFAULT_ENTRY_COUNT = 1 << 13;
+
+    // The pawn key of each entry, and whether or not the entry has been filled
+    private final long[] keys;
+    private final boolean[] isUsed;
+    // The pawn structure scores of each entry, from white's point of view
+    private final int[] middlegameScores;
+    private final int[] endgameScores;
+    // The passed pawns of both sides in each entry
+    private final long[] passedPawns;
+    // The shelter score of each entry for each colour of king on each column (index = entry * 16 +
+    // colour * 8 + column)
+    private final byte[] shelterScores;
+    // The number of entries minus one (the number of entries is a power of two)
+    private final int indexMask;
+
+    // The number of probes and of probes that found their pawn structure
+    private long probeCount;
+    private long hitCount;
+
+    /**
+     * Constructor for the Pawn_Hash_Table class
+     *
+     * @param entryCount The number of entries (rounded down to a power of two)
+     * @throws IllegalArgumentException If the number of entries is less than 1
+     */
+    public Pawn_Hash_Table(int entryCount) {
+        if (entryCount < 1) {
+            throw new IllegalArgumentException("The pawn hash table needs at least one entry");
+        }
+        entryCount = Integer.highestOneBit(entryCount);
+        keys = new long[entryCount];
+        isUsed = new boolean[entryCount];
+        middlegameScores = new int[entryCount];
+        endgameScores = new int[entryCount];
+        passedPawns = new long[entryCount];
+        shelterScores = new byte[entryCount * 16];
+        indexMask = entryCount - 1;
+    }
+
+    /**
+     * Removes every entry from the table
+     */
+    public void clear() {
+        Arrays.fill(isUsed, false);
+        resetStatistics();
+    }
+
+    /**
+     * Looks up a pawn structure in the table
+     *
+     * @param pawnKey The pawn Zobrist key of the position
+     * @return int    The index of the structure's entry, or -1 if the structure is not in the table
+     */
+    public int probe(long pawnKey) {
+        probeCount++;
+        int index = (int) pawnKey & indexMask;
+        if (isUsed[index] && keys[index] == pawnKey) {
+            hitCount++;
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the scores of a pawn structure, replacing the entry that was there. The shelter scores must
+     * then be set with setShelterScore().
+     *
+     * @param pawnKey         The pawn Zobrist key of the position
+     * @param middlegameScore The middlegame pawn structure score, from white's point of view
+     * @param endgameScore    The endgame pawn structure score, from white's point of view
+     * @param passedPawns     The passed pawns of both sides
+     * @return int            The index of the entry
+     */
+    public int store(long pawnKey, int middlegameScore, int endgameScore, long passedPawns) {
+        int index = (int) pawnKey & indexMask;
+        keys[index] = pawnKey;
+        isUsed[index] = true;
+        middlegameScores[index] = middlegameScore;
+        endgameScores[index] = endgameScore;
+        this.passedPawns[index] = passedPawns;
+        return index;
+    }
+
+    /**
+     * Setter method for the shelter score of a king in an entry
+     *
+     * @param index  The index of the entry
+     * @param colour The colour of the king
+     * @param column The column the king is on
+     * @param score  The shelter score (-128 to 127)
+     */
+    public void setShelterScore(int index, int colour, int column, int score) {
+        shelterScores[index * 16 + colour * 8 + column] = (byte) score;
+    }
+
+    /**
+     * Getter method for the middlegame pawn structure score of an entry
+     *
+     * @param index The index of the entry (from probe() or store())
+     * @return int  The score, from white's point of view
+     */
+    public int getMiddlegameScore(int index) {
+        return middlegameScores[index];
+    }
+
+    /**
+     * Getter method for the endgame pawn structure score of an entry
+     *
+     * @param index The index of the entry (from probe() or store())
+     * @return int  The score, from white's point of view
+     */
+    public int getEndgameScore(int index) {
+        return endgameScores[index];
+    }
+
+    /**
+     * Getter method for the passed pawns of an entry
+     *
+     * @param index The index of the entry (from probe() or store())
+     * @return long The passed pawns of both sides
+     */
+    public long getPassedPawns(int index) {
+        return passedPawns[index];
+    }
+
+    /**
+     * Getter method for the shelter score of a king in an entry
+     *
+     * @param index  The index of the entry (from probe() or store())
+     * @param colour The colour of the king
+     * @param column The column the king is on
+     * @return int   The shelter score, from the king's side's point of view
+     */
+    public int getShelterScore(int index, int colour, int column) {
+        return shelterScores[index * 16 + colour * 8 + column];
+    }
+
+    /**
+     * Getter method for the number of times the table has been probed since the statistics were last reset
+     *
+     * @return long The number of probes
+     */
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    /**
+     * Getter method for the number of probes that found their pawn structure since the statistics were
+     * last reset
+     *
+     * @return long The number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Getter method for the fraction of probes that found their pawn structure since the statistics were
+     * last reset
+     *
+     * @return double The hit rate (0 to 1)
+     */
+    public double getHitRate() {
+        return probeCount == 0 ? 0.0 : (double) hitCount / probeCount;
+    }
+
+    /**
+     * Resets the probe and hit counts
+     */
+    public void resetStatistics() {
+        probeCount = 0;
+        hitCount = 0;
+    }
+}
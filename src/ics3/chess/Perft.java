@@ -0,0 +1,152 @@
+package ics3.chess;
+
+/**
+ * Command-line tool that counts the positions reachable from a position in a certain number of
+ * half-moves ("perft"). Since these counts are known for many positions, comparing against them is
+ * the standard way to check that the move generator is correct, and timing them shows how fast it is.
+ *
+ * Usage:
+ *   java ics3.chess.Perft "FEN" DEPTH         prints the node count and nodes per second
+ *   java ics3.chess.Perft "FEN" DEPTH divide  also prints the count below each move
+ *   java ics3.chess.Perft --suite             checks the reference positions in REFERENCE_POSITIONS
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Perft {
+
+    // Reference positions (from the Chess Programming Wiki) with their FEN, depth and expected node count.
+    // Between them they cover castling, en passant, promotions, pins and discovered checks.
+    private static final String[][] REFERENCE_POSITIONS = {
+            {Bitboard_Position.START_FEN, "5", "4865609"},
+            // "Kiwipete"
+            {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", "4", "4085603"},
+            {"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", "6", "11030083"},
+            {"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", "5", "15833292"},
+            {"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", "4", "2103487"},
+            {"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", "4", "3894594"},
+    };
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Perft() {
+    }
+
+    /**
+     * Counts the leaf positions of the game tree below a position to a certain depth. The position is
+     * the same afterwards.
+     *
+     * @param position The position
+     * @param depth    The number of half-moves to look ahead
+     * @return long    The number of leaf positions
+     */
+    public static long perft(Bitboard_Position position, int depth) {
+        if (depth <= 0) {
+            return 1;
+        }
+        // One block of MAX_MOVES places for each ply, so the search does not create any objects
+        return perft(position, depth, new int[depth * Move_Generator.MAX_MOVES], 0);
+    }
+
+    /**
+     * Helper method that does the counting for perft()
+     *
+     * @param position   The position
+     * @param depth      The number of half-moves left to look ahead (at least 1)
+     * @param moves      The move buffer
+     * @param firstIndex The index of this ply's block in the move buffer
+     * @return long      The number of leaf positions
+     */
+    private static long perft(Bitboard_Position position, int depth, int[] moves, int firstIndex) {
+        int moveCount = Move_Generator.generateLegalMoves(position, moves, firstIndex);
+        // At the last ply, the moves do not need to be made to be counted
+        if (depth == 1) {
+            return moveCount;
+        }
+        long nodes = 0;
+        for (int i = firstIndex; i < firstIndex + moveCount; i++) {
+            position.makeMove(moves[i]);
+            nodes += perft(position, depth - 1, moves, firstIndex + Move_Generator.MAX_MOVES);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs perft on a position with the rules engine and prints the result
+     *
+     * @param fen    The FEN string of the position
+     * @param depth  The depth to search to
+     * @param divide Whether or not to print the count below each legal move
+     * @return long  The number of leaf positions
+     */
+    private static long run(String fen, int depth, boolean divide) {
+        Chess_Rules_Engine engine = new Chess_Rules_Engine();
+        engine.setUpPosition(fen);
+        long startTime = System.nanoTime();
+        long nodes;
+        if (divide && depth > 0) {
+            nodes = 0;
+            engine.findAndStoreAllPossibleMovesForPlayer();
+            for (int i = 0; i < engine.getPossibleMoveCount(); i++) {
+                int move = engine.getPossibleMove(i);
+                engine.makeMove(move);
+                long moveNodes = engine.perft(depth - 1);
+                engine.unmakeMove();
+                System.out.println(Move.toCoordinateNotation(move) + ": " + moveNodes);
+                nodes += moveNodes;
+            }
+        } else {
+            nodes = engine.perft(depth);
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+        System.out.println("Nodes: " + nodes + "  Time: " + elapsedNanos / 1000000 + " ms  NPS: " + nodes * 1000000000L / elapsedNanos);
+        return nodes;
+    }
+
+    /**
+     * Runs every reference position and compares the node counts against the expected values
+     *
+     * @return boolean Whether or not every count matched
+     */
+    private static boolean runSuite() {
+        boolean allPassed = true;
+        for (String[] reference : REFERENCE_POSITIONS) {
+            System.out.println(reference[0] + "  depth " + reference[1]);
+            long nodes = run(reference[0], Integer.parseInt(reference[1]), false);
+            long expected = Long.parseLong(reference[2]);
+            if (nodes != expected) {
+                System.out.println("FAILED: expected " + expected);
+                allPassed = false;
+            }
+        }
+        System.out.println(allPassed ? "All reference positions passed" : "Some reference positions FAILED");
+        return allPassed;
+    }
+
+    /**
+     * Main method for the perft tool
+     *
+     * @param args The command-line arguments (see the class description)
+     */
+    public static void main(String[] args) {
+        if (args.length == 1 && args[0].equals("--suite")) {
+            if (!runSuite()) {
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length < 2 || args.length > 3 || (args.length == 3 && !args[2].equals("divide"))) {
+            System.out.println("Usage: Perft \"FEN\" DEPTH [divide]  or  Perft --suite");
+            System.exit(2);
+        }
+        try {
+            run(args[0], Integer.parseInt(args[1]), args.length == 3);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package ics3.chess;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * An opening book in the Polyglot ".bin" format. The file is a sorted list of 16-byte entries (all numbers
+ * big-endian): the Zobrist key of a position (8 bytes), a move (2 bytes), the move's weight (2 bytes, higher
+ * is better) and 4 bytes of learning data, which are ignored.
+ *
+ * The file is memory-mapped rather than read in, so opening even a book of hundreds of megabytes takes no
+ * time and no heap: the operating system pages in the few parts of it that lookups touch. A position's
+ * entries are found by a binary search on the key. Lookups only read the mapping, so one book can be used by
+ * any number of threads (e.g. by every game on a Game_Server) at once.
+ *
+ * The keys are the positions' Zobrist keys (see Bitboard_Position.getZobristKey()), which are laid out the
+ * way Polyglot lays them out. For books made by other programs to match, Zobrist_Keys must use Polyglot's
+ * own random numbers, which it loads from the file named by the "ics3.chess.zobristRandomNumbers" system
+ * property (see the Zobrist_Keys class). Without them no position is ever found in such a book, so opening
+ * a book without them prints a warning to standard error.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public class Polyglot_Book {
+
+    // The size of one entry (in bytes), and the offsets of its move and weight
+    private static final int ENTRY_SIZE = 16;
+    private static final int MOVE_OFFSET = 8;
+    private static final int WEIGHT_OFFSET = 10;
+
+    // The most moves handed out for one position
+    public static final int MAX_BOOK_MOVES = 64;
+
+    // The mapped entries
+    private final MappedByteBuffer entries;
+    // The number of entries
+    private final int entryCount;
+
+    /**
+     * Constructor for the Polyglot_Book class, which maps the book file into memory
+     *
+     * @param path The path of the book file
+     * @throws IOException If the file cannot be opened, is larger than 2 GB, or is not a whole number of
+     *                     entries long
+     */
+    public Polyglot_Book(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % ENTRY_SIZE != 0) {
+                throw new IOException("Not a Polyglot book (its size is not a multiple of " + ENTRY_SIZE + " bytes): " + path);
+            }
+            // A single mapping is indexed by int, which limits a book to 2 GB (far more than any real book)
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Books larger than 2 GB are not supported: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            entryCount = (int) (size / ENTRY_SIZE);
+        }
+        if (!Zobrist_Keys.usesPolyglotRandomNumbers()) {
+            System.err.println("Warning: the Zobrist keys do not use Polyglot's random numbers, so no position will be found in "
+                    + path + " unless it was made with the same keys (set the " + Zobrist_Keys.RANDOM_NUMBERS_PROPERTY
+                    + " system property to a file of Polyglot's Random64 numbers)");
+        }
+    }
+
+    /**
+     * Getter method for the number of entries in the book
+     *
+     * @return int  The number of entries
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Finds the book moves of a position, best first. Entries whose moves are not legal in the position
+     * (which can only come from two positions sharing a key) are left out.
+     *
+     * @param position The position
+     * @param moves    The array that receives the packed moves (at most its length are found)
+     * @param weights  The array that receives the weight of each move (at least as long as moves)
+     * @return int     The number of moves found (0 if the position is not in the book)
+     */
+    public int getMoves(Bitboard_Position position, int[] moves, int[] weights) {
+        long key = position.getZobristKey();
+        int index = findFirstEntry(key);
+        if (index == entryCount || getKey(index) != key) {
+            return 0;
+        }
+        int[] legalMoves = new int[Move_Generator.MAX_MOVES];
+        int legalMoveCount = Move_Generator.generateLegalMoves(position, legalMoves, 0);
+
+        int moveCount = 0;
+        for (; index < entryCount && getKey(index) == key && moveCount < moves.length; index++) {
+            int move = decodeMove(position, entries.getShort(index * ENTRY_SIZE + MOVE_OFFSET) & 0xFFFF, legalMoves, legalMoveCount);
+            if (move == Move.NONE) {
+                continue;
+            }
+            int weight = entries.getShort(index * ENTRY_SIZE + WEIGHT_OFFSET) & 0xFFFF;
+            // Insert the move so that the moves stay sorted by weight, highest first
+            int insertIndex = moveCount;
+            while (insertIndex > 0 && weights[insertIndex - 1] < weight) {
+                moves[insertIndex] = moves[insertIndex - 1];
+                weights[insertIndex] = weights[insertIndex - 1];
+                insertIndex--;
+            }
+            moves[insertIndex] = move;
+            weights[insertIndex] = weight;
+            moveCount++;
+        }
+        return moveCount;
+    }
+
+    /**
+     * Chooses a book move for a position at random, each move being chosen in proportion to its weight
+     * (moves with a weight of 0 are never chosen)
+     *
+     * @param position The position
+     * @param random   The random number generator to choose with
+     * @return int     The packed move, or Move.NONE if the position has no book moves
+     */
+    public int chooseMove(Bitboard_Position position, Random random) {
+        int[] moves = new int[MAX_BOOK_MOVES];
+        int[] weights = new int[MAX_BOOK_MOVES];
+        int moveCount = getMoves(position, moves, weights);
+        int totalWeight = 0;
+        for (int i = 0; i < moveCount; i++) {
+            totalWeight += weights[i];
+        }
+        if (totalWeight == 0) {
+            return Move.NONE;
+        }
+        int choice = random.nextInt(totalWeight);
+        for (int i = 0; i < moveCount; i++) {
+            choice -= weights[i];
+            if (choice < 0) {
+                return moves[i];
+            }
+        }
+        return moves[0];
+    }
+
+    /**
+     * Helper method that finds the first entry whose key is not less than a key (keys are sorted as unsigned
+     * numbers)
+     *
+     * @param key  The key
+     * @return int The index of the entry, or the number of entries if every key is less
+     */
+    private int findFirstEntry(long key) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(getKey(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Helper method that reads the key of an entry
+     *
+     * @param index The index of the entry
+     * @return long The key
+     */
+    private long getKey(int index) {
+        return entries.getLong(index * ENTRY_SIZE);
+    }
+
+    /**
+     * Helper method that turns a Polyglot move into the matching legal move. Polyglot numbers the squares
+     * from a1 upwards (the rows are flipped from the squares of a Bitboard_Position), numbers the promotion
+     * pieces knight = 1 to queen = 4 (the same as the piece types here), and writes a castle as the king
+     * capturing its own rook.
+     *
+     * @param position       The position
+     * @param polyglotMove   The move as stored in the book
+     * @param legalMoves     The legal moves of the position
+     * @param legalMoveCount The number of legal moves
+     * @return int           The packed move, or Move.NONE if it is not legal in the position
+     */
+    private static int decodeMove(Bitboard_Position position, int polyglotMove, int[] legalMoves, int legalMoveCount) {
+        int toSquare = (polyglotMove & 0x3F) ^ 56;
+        int fromSquare = (polyglotMove >>> 6 & 0x3F) ^ 56;
+        int promotionType = polyglotMove >>> 12 & 7;
+        int piece = position.getPieceOnSquare(fromSquare);
+        if (piece % 6 == Bitboard_Position.KING
+                && position.getPieceOnSquare(toSquare) == piece - Bitboard_Position.KING + Bitboard_Position.ROOK) {
+            toSquare = toSquare > fromSquare ? fromSquare + 2 : fromSquare - 2;
+        }
+        for (int i = 0; i < legalMoveCount; i++) {
+            int move = legalMoves[i];
+            if (Move.getFromSquare(move) == fromSquare && Move.getToSquare(move) == toSquare
+                    && (Move.isPromotion(move) ? Move.getPromotionType(move) == promotionType : promotionType == 0)) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+}
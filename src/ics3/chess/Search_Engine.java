@@ -0,0 +1,646 @@
+package ics3.chess;
+
+import java.util.Arrays;
+
+/**
+ * The search that the computer player uses to choose its moves. It is a negamax alpha-beta search over the
+ * legal moves from the Move_Generator, run with iterative deepening: the position is searched to depth 1,
+ * then 2, and so on until the depth limit is reached or its Time_Manager says to stop, and the best move of
+ * the last finished iteration is played if time runs out part way through the next. At the end of each
+ * line, a quiescence search carries on through the captures until the position is quiet, so that a line is
+ * never scored in the middle of an exchange (the "horizon effect").
+ *
+ * Positions that have already been searched are remembered in a Transposition_Table, whose stored scores
+ * end the search of a position early. Alpha-beta cuts off the most when the best move is searched first, so
+ * each position's moves come from a Move_Picker, which tries the table's stored move first (from earlier
+ * iterations, this is the best line found so far), then captures that do not lose material, killer moves,
+ * the counter move, the other quiet moves by their history scores, and finally the losing captures.
+ *
+ * If the engine has a Tablebase, positions in it are not searched at all: their exact result is used
+ * instead, scored just below a checkmate found by the search itself (and a quicker checkmate in the tables
+ * scores higher).
+ *
+ * A Search_Engine searches on its own copy of the position, so several engines can search at once on
+ * different threads (and can share one transposition table); one engine must only run one search at a time.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public class Search_Engine {
+
+    // The largest score, and the score of being checkmated at the root (a mate found at a ply further from
+    // the root scores less, so the search prefers quicker mates)
+    public static final int INFINITY = 32000;
+    public static final int MATE_SCORE = 31000;
+
+    // The furthest the search can go from the root (in half-moves)
+    public static final int MAX_PLY = 64;
+
+    // The score of a position the tablebase says is won (less the distance to checkmate, if it is known)
+    public static final int TABLEBASE_WIN_SCORE = MATE_SCORE - 2 * MAX_PLY;
+    // The distance to checkmate that a won tablebase position without a known distance counts as
+    private static final int UNKNOWN_TABLEBASE_DISTANCE = 255;
+
+    // The number of positions searched between checks of the clock
+    private static final int NODES_BETWEEN_TIME_CHECKS = 2048;
+
+    // The depths each Lazy SMP helper skips, so that the helpers spread over neighbouring depths instead of
+    // all searching the same one: helper i searches a depth only if ((depth + HELPER_SKIP_PHASES[j]) /
+    // HELPER_SKIP_SIZES[j]) is even, where j = (i - 1) % 20
+    private static final int[] HELPER_SKIP_SIZES = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+    private static final int[] HELPER_SKIP_PHASES = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+    // History scores are halved when one reaches this, so that they never overflow and old cut-offs fade
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    // The position being searched
+    private Bitboard_Position position;
+
+    // Remembers positions that have already been searched (may be shared with other engines)
+    private Transposition_Table transposition_table;
+
+    // Remembers the pawn structure scores of the Evaluation (belongs to this engine alone)
+    private final Pawn_Hash_Table pawn_hash_table = new Pawn_Hash_Table(Pawn_Hash_Table.DEFAULT_ENTRY_COUNT);
+
+    // The endgame tables (may be null, and may be shared with other engines)
+    private Tablebase tablebase;
+    // The number of positions found in the tablebase in the last search
+    private long tablebaseHitCount;
+
+    // Hands out the moves of each ply in order
+    private final Move_Picker[] movePickers = new Move_Picker[MAX_PLY];
+
+    // Move ordering tables, which belong to this engine alone (so no other thread writes them):
+    // the two most recent quiet moves that caused a cut-off at each ply (ply * 2 and ply * 2 + 1)
+    private final int[] killerMoves = new int[MAX_PLY * 2];
+    // how much each quiet move (colour * 4096 + from square * 64 + to square) has caused cut-offs
+    private final int[] history = new int[2 * 64 * 64];
+    // the quiet move that last refuted each move, by the piece that moved (colour * 6 + type) and its target square
+    private final int[] counterMoves = new int[12 * 64];
+
+    // The number of cut-offs in the last search, and how many of them were caused by the first move searched
+    // (the higher the fraction, the better the moves are ordered)
+    private long cutoffCount;
+    private long firstMoveCutoffCount;
+
+    // The best line found from each ply (the triangular principal variation table) and its length
+    private final int[][] principalVariationTable = new int[MAX_PLY][MAX_PLY];
+    private final int[] principalVariationLength = new int[MAX_PLY];
+    // The best line of the last finished iteration
+    private int[] principalVariation = new int[0];
+
+    // The number of positions searched, and the depth and score of the last finished iteration
+    private long nodes;
+    private int completedDepth;
+    private int bestScore;
+
+    // Decides when the search stops (null for no time limit)
+    private Time_Manager time_manager;
+    // Whether or not the search has been told to stop
+    private volatile boolean isStopRequested;
+    // The number of positions after which the search stops (Long.MAX_VALUE for no limit)
+    private long nodeLimit = Long.MAX_VALUE;
+
+    // The object told about each finished iteration (may be null)
+    private Search_Listener listener;
+
+    /**
+     * Constructor for the Search_Engine class, which creates its own transposition table of the default size
+     */
+    public Search_Engine() {
+        this(new Transposition_Table(Transposition_Table.DEFAULT_SIZE_MB));
+    }
+
+    /**
+     * Constructor for the Search_Engine class
+     *
+     * @param transposition_table The transposition table to use, which other engines may also be using
+     */
+    public Search_Engine(Transposition_Table transposition_table) {
+        this.transposition_table = transposition_table;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            movePickers[ply] = new Move_Picker();
+        }
+    }
+
+    /**
+     * Getter method for the transposition table the engine uses
+     *
+     * @return Transposition_Table  The transposition table
+     */
+    public Transposition_Table getTranspositionTable() {
+        return transposition_table;
+    }
+
+    /**
+     * Getter method for the pawn hash table the engine's evaluation uses. Its statistics are reset at the
+     * start of each search.
+     *
+     * @return Pawn_Hash_Table  The pawn hash table
+     */
+    public Pawn_Hash_Table getPawnHashTable() {
+        return pawn_hash_table;
+    }
+
+    /**
+     * Setter method for the endgame tables the search looks positions up in. Must not be called during a
+     * search.
+     *
+     * @param tablebase The tablebase, or null for none
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Setter method for the object that is told about each finished iteration of the search
+     *
+     * @param listener The listener, or null for none
+     */
+    public void setListener(Search_Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Setter method for the number of positions after which each search stops (like the time limit, the
+     * best move of the last finished iteration is then returned)
+     *
+     * @param nodeLimit The number of positions, or 0 for no limit
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the engine ready for its next search, clearing any earlier stop(). Must be called before each
+     * search, on the thread that starts it and before the search is handed to the thread that runs it, so
+     * that a stop() made before that thread gets round to starting the search is not lost.
+     */
+    public void prepare() {
+        isStopRequested = false;
+    }
+
+    /**
+     * Searches a position and returns the best move found. The position itself is not changed, and
+     * prepare() must have been called first.
+     *
+     * @param position        The position to search
+     * @param maxDepth        The deepest iteration to search (at most MAX_PLY - 1)
+     * @param timeLimitMillis The time after which the search stops, or 0 for no limit
+     * @return int            The best move, or Move.NONE if the side to move has no legal moves
+     */
+    public int search(Bitboard_Position position, int maxDepth, long timeLimitMillis) {
+        return search(position, maxDepth, timeLimitMillis > 0 ? Time_Manager.forMoveTime(timeLimitMillis) : null);
+    }
+
+    /**
+     * Searches a position and returns the best move found, stopping when a Time_Manager says to. The
+     * position itself is not changed, and prepare() must have been called first.
+     *
+     * @param position     The position to search
+     * @param maxDepth     The deepest iteration to search (at most MAX_PLY - 1)
+     * @param time_manager Decides when to stop, or null for no time limit
+     * @return int         The best move, or Move.NONE if the side to move has no legal moves
+     */
+    public int search(Bitboard_Position position, int maxDepth, Time_Manager time_manager) {
+        transposition_table.newSearch();
+        return search(position, maxDepth, time_manager, 0);
+    }
+
+    /**
+     * Searches a position as one of the threads of a Lazy_Smp_Search (prepare() must be called first,
+     * and the transposition table must already have been told about the new search). Helpers search the
+     * same position as the main thread, sharing its transposition table, but skip some of the depths.
+     *
+     * @param position     The position to search
+     * @param maxDepth     The deepest iteration to search (at most MAX_PLY - 1)
+     * @param time_manager Decides when to stop, or null for no time limit (helpers have none)
+     * @param helperIndex  0 for the main thread, or the helper's number (1 onwards)
+     * @return int         The best move, or Move.NONE if the side to move has no legal moves
+     */
+    int search(Bitboard_Position position, int maxDepth, Time_Manager time_manager, int helperIndex) {
+        this.position = new Bitboard_Position(position);
+        long startTime = System.nanoTime();
+        this.time_manager = time_manager;
+        nodes = 0;
+        completedDepth = 0;
+        bestScore = 0;
+        principalVariation = new int[0];
+        cutoffCount = 0;
+        firstMoveCutoffCount = 0;
+        tablebaseHitCount = 0;
+        pawn_hash_table.resetStatistics();
+        // Killer moves only apply to the tree they were found in, but the history carries over (at half weight)
+        Arrays.fill(killerMoves, Move.NONE);
+        for (int i = 0; i < history.length; i++) {
+            history[i] /= 2;
+        }
+
+        // With no legal moves there is nothing to search. Otherwise, any legal move is better than none if
+        // the search is stopped before it finds one.
+        int rootMoveCount = movePickers[0].generate(this.position, Move.NONE, Move.NONE, Move.NONE, Move.NONE, history);
+        if (rootMoveCount == 0) {
+            return Move.NONE;
+        }
+        int fallbackMove = movePickers[0].nextMove();
+
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_PLY - 1); depth++) {
+            // Helpers always search depth 1, so they have a move, then skip depths in a staggered pattern
+            if (helperIndex > 0 && depth > 1) {
+                int pattern = (helperIndex - 1) % HELPER_SKIP_SIZES.length;
+                if ((depth + HELPER_SKIP_PHASES[pattern]) / HELPER_SKIP_SIZES[pattern] % 2 != 0) {
+                    continue;
+                }
+            }
+            int score = alphaBeta(depth, 0, -INFINITY, INFINITY);
+            // An unfinished iteration is thrown away (unless there is no finished one yet)
+            if (isStopRequested && completedDepth > 0) {
+                break;
+            }
+            completedDepth = depth;
+            bestScore = score;
+            principalVariation = new int[principalVariationLength[0]];
+            System.arraycopy(principalVariationTable[0], 0, principalVariation, 0, principalVariation.length);
+            if (listener != null) {
+                listener.depthCompleted(depth, score, nodes, System.nanoTime() - startTime, principalVariation.clone());
+            }
+            // Searching deeper cannot find anything better than a forced mate
+            if (isStopRequested || isMateScore(score)) {
+                break;
+            }
+            if (time_manager != null && principalVariation.length > 0
+                    && time_manager.shouldStop(rootMoveCount, principalVariation[0], score)) {
+                break;
+            }
+        }
+        return principalVariation.length > 0 ? principalVariation[0] : fallbackMove;
+    }
+
+    /**
+     * Helper method that checks whether the search has passed its hard deadline, which is a single read of a
+     * volatile field (the deadline can be moved by another thread, e.g. when pondering turns into a normal
+     * search) and of the clock
+     *
+     * @return boolean Whether or not the search must stop
+     */
+    private boolean isOutOfTime() {
+        return time_manager != null && System.nanoTime() >= time_manager.getHardDeadlineNanos();
+    }
+
+    /**
+     * Tells a search that is running on another thread to stop as soon as possible. The search returns the
+     * best move of the last iteration it finished.
+     */
+    public void stop() {
+        isStopRequested = true;
+    }
+
+    /**
+     * Helper method that searches a position with the negamax form of alpha-beta: the score of a position
+     * for the side to move is the best of the negated scores of the positions after each move. Lines that
+     * are already worse than an alternative (below alpha) or that the opponent would avoid (at or above
+     * beta) are cut off.
+     *
+     * @param depth The number of half-moves left to search
+     * @param ply   The number of half-moves from the root
+     * @param alpha The score the side to move is already guaranteed
+     * @param beta  The score the opponent is already guaranteed (as a score for the side to move)
+     * @return int  The score of the position, from the point of view of the side to move
+     */
+    private int alphaBeta(int depth, int ply, int alpha, int beta) {
+        // At the end of the main search only captures are searched (a side in check gets one more ply of
+        // the main search instead, from the check extension below)
+        if (depth <= 0 && !position.isInCheck()) {
+            return quiescence(ply, alpha, beta);
+        }
+        principalVariationLength[ply] = ply;
+        if (((++nodes & (NODES_BETWEEN_TIME_CHECKS - 1)) == 0 && isOutOfTime()) || nodes >= nodeLimit) {
+            isStopRequested = true;
+        }
+        if (isStopRequested) {
+            return 0;
+        }
+        // A repeated position or one under the fifty-move rule is a draw (the root is always searched,
+        // so that there is a move to play)
+        if (ply > 0 && (position.getHalfmoveClock() >= 100 || position.isRepetition())) {
+            return 0;
+        }
+        // A position in the tablebase needs no search (again, except at the root)
+        if (ply > 0 && tablebase != null && Long.bitCount(position.getOccupancy()) <= tablebase.getMaxPieceCount()) {
+            int probe = tablebase.probe(position);
+            if (probe != Tablebase.NOT_FOUND) {
+                tablebaseHitCount++;
+                return getTablebaseScore(probe);
+            }
+        }
+
+        // Checks are searched one ply deeper, since the replies are forced
+        boolean isInCheck = position.isInCheck();
+        if (isInCheck) {
+            depth++;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluation.evaluate(position, pawn_hash_table);
+        }
+
+        // If the position has already been searched deeply enough, its stored score may be enough to finish
+        // here (never at the root, which must produce a move); otherwise its stored move is searched first
+        long positionKey = position.getZobristKey();
+        long entry = transposition_table.probe(positionKey);
+        int hashMove = Move.NONE;
+        if (entry != 0) {
+            hashMove = Transposition_Table.getMove(entry);
+            if (ply > 0 && Transposition_Table.getDepth(entry) >= depth) {
+                int score = scoreFromTable(Transposition_Table.getScore(entry), ply);
+                int bound = Transposition_Table.getBound(entry);
+                if (bound == Transposition_Table.EXACT
+                        || (bound == Transposition_Table.LOWER_BOUND && score >= beta)
+                        || (bound == Transposition_Table.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        // The counter move is looked up by the piece that made the previous move and the square it moved to
+        int counterMoveIndex = -1;
+        if (position.getUndoCount() > 0) {
+            int previousMoveTarget = Move.getToSquare(position.getMadeMove(position.getUndoCount() - 1));
+            counterMoveIndex = position.getPieceOnSquare(previousMoveTarget) * 64 + previousMoveTarget;
+        }
+        Move_Picker move_picker = movePickers[ply];
+        int moveCount = move_picker.generate(position, hashMove, killerMoves[ply * 2], killerMoves[ply * 2 + 1],
+                counterMoveIndex < 0 ? Move.NONE : counterMoves[counterMoveIndex], history);
+        if (moveCount == 0) {
+            return isInCheck ? -MATE_SCORE + ply : 0;
+        }
+
+        int originalAlpha = alpha;
+        int bestMove = Move.NONE;
+        int movesSearched = 0;
+        for (int move = move_picker.nextMove(); move != Move.NONE; move = move_picker.nextMove()) {
+            movesSearched++;
+            position.makeMove(move);
+            int score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+            position.unmakeMove();
+            if (isStopRequested) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                // The best line from here is this move followed by the best line from the next ply
+                principalVariationTable[ply][ply] = move;
+                for (int j = ply + 1; j < principalVariationLength[ply + 1]; j++) {
+                    principalVariationTable[ply][j] = principalVariationTable[ply + 1][j];
+                }
+                principalVariationLength[ply] = principalVariationLength[ply + 1];
+                if (alpha >= beta) {
+                    recordCutoff(move, ply, depth, movesSearched == 1, counterMoveIndex);
+                    break;
+                }
+            }
+        }
+
+        int bound;
+        if (alpha >= beta) {
+            bound = Transposition_Table.LOWER_BOUND;
+        } else if (alpha > originalAlpha) {
+            bound = Transposition_Table.EXACT;
+        } else {
+            bound = Transposition_Table.UPPER_BOUND;
+        }
+        transposition_table.store(positionKey, bestMove, scoreToTable(alpha, ply), depth, bound);
+        return alpha;
+    }
+
+    /**
+     * Helper method that searches only the captures (and queen promotions) of a position, until the
+     * position is quiet, so that the static evaluation is never taken in the middle of an exchange (which
+     * would misjudge a position where, for example, a queen has just taken a defended pawn). The side to
+     * move may also "stand pat" and take the static evaluation instead of capturing, since it is not forced
+     * to capture. Captures that lose material (by static exchange evaluation) are not searched at all. A side
+     * in check cannot stand pat, so every move that gets out of check is searched instead.
+     *
+     * @param ply   The number of half-moves from the root
+     * @param alpha The score the side to move is already guaranteed
+     * @param beta  The score the opponent is already guaranteed (as a score for the side to move)
+     * @return int  The score of the position, from the point of view of the side to move
+     */
+    private int quiescence(int ply, int alpha, int beta) {
+        principalVariationLength[ply] = ply;
+        if (((++nodes & (NODES_BETWEEN_TIME_CHECKS - 1)) == 0 && isOutOfTime()) || nodes >= nodeLimit) {
+            isStopRequested = true;
+        }
+        if (isStopRequested) {
+            return 0;
+        }
+        if (position.getHalfmoveClock() >= 100 || position.isRepetition()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return Evaluation.evaluate(position, pawn_hash_table);
+        }
+
+        Move_Picker move_picker = movePickers[ply];
+        if (position.isInCheck()) {
+            if (move_picker.generate(position, Move.NONE, Move.NONE, Move.NONE, Move.NONE, history) == 0) {
+                return -MATE_SCORE + ply;
+            }
+        } else {
+            int standPatScore = Evaluation.evaluate(position, pawn_hash_table);
+            if (standPatScore >= beta) {
+                return standPatScore;
+            }
+            alpha = Math.max(alpha, standPatScore);
+            move_picker.generateCaptures(position);
+        }
+
+        for (int move = move_picker.nextMove(); move != Move.NONE; move = move_picker.nextMove()) {
+            position.makeMove(move);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            position.unmakeMove();
+            if (isStopRequested) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Helper method that turns a tablebase probe into a score. The score does not depend on the ply, so it
+     * can be stored in the transposition table as it is.
+     *
+     * @param probe The result of Tablebase.probe() (not Tablebase.NOT_FOUND)
+     * @return int  The score, from the point of view of the side to move
+     */
+    private static int getTablebaseScore(int probe) {
+        int result = Tablebase.getResult(probe);
+        if (result == Tablebase.DRAW) {
+            return 0;
+        }
+        int distance = Tablebase.getMateDistance(probe);
+        int score = TABLEBASE_WIN_SCORE - (distance < 0 ? UNKNOWN_TABLEBASE_DISTANCE : distance);
+        return result == Tablebase.WIN ? score : -score;
+    }
+
+    /**
+     * Helper method that converts a score to the form it is stored in the transposition table. Mate scores
+     * are counted from the root during the search, but are stored counted from the position itself, since
+     * the position can be reached at a different ply later.
+     *
+     * @param score The score, with mates counted from the root
+     * @param ply   The number of half-moves from the root to the position
+     * @return int  The score, with mates counted from the position
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score + ply;
+        } else if (score <= -MATE_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Helper method that converts a score stored in the transposition table back to the form the search
+     * uses (the reverse of scoreToTable())
+     *
+     * @param score The stored score, with mates counted from the position
+     * @param ply   The number of half-moves from the root to the position
+     * @return int  The score, with mates counted from the root
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE_SCORE - MAX_PLY) {
+            return score - ply;
+        } else if (score <= -MATE_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Helper method that updates the move ordering tables after a move causes a cut-off. A quiet move becomes
+     * a killer move for its ply, the counter move to the previous move, and has its history score raised
+     * (more for deeper searches, whose cut-offs save more work).
+     *
+     * @param move             The move that caused the cut-off
+     * @param ply              The number of half-moves from the root
+     * @param depth            The depth that was being searched
+     * @param isFirstMove      Whether or not the move was the first one searched
+     * @param counterMoveIndex The index of the previous move in the counter move table, or -1 if there is none
+     */
+    private void recordCutoff(int move, int ply, int depth, boolean isFirstMove, int counterMoveIndex) {
+        cutoffCount++;
+        if (isFirstMove) {
+            firstMoveCutoffCount++;
+        }
+        if (Move.isCapture(move) || Move.isPromotion(move)) {
+            return;
+        }
+        if (killerMoves[ply * 2] != move) {
+            killerMoves[ply * 2 + 1] = killerMoves[ply * 2];
+            killerMoves[ply * 2] = move;
+        }
+        if (counterMoveIndex >= 0) {
+            counterMoves[counterMoveIndex] = move;
+        }
+        int historyIndex = position.getSideToMove() * 4096 + Move.getFromSquare(move) * 64 + Move.getToSquare(move);
+        history[historyIndex] += depth * depth;
+        if (history[historyIndex] >= HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] /= 2;
+            }
+        }
+    }
+
+    /**
+     * Getter method for the number of positions the last search found in the tablebase
+     *
+     * @return long The number of positions
+     */
+    public long getTablebaseHitCount() {
+        return tablebaseHitCount;
+    }
+
+    /**
+     * Getter method for the number of positions searched by the last search. It can also be read from
+     * another thread while a search is running, in which case the count may be slightly behind.
+     *
+     * @return long The number of positions
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Getter method for the depth of the last iteration the last search finished
+     *
+     * @return int  The depth
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Getter method for the score of the best move of the last search
+     *
+     * @return int  The score in centipawns, from the point of view of the side to move
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Getter method for the best line found by the last search
+     *
+     * @return int[] The moves of the line, starting with the best move
+     */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Getter method for the number of cut-offs in the last search
+     *
+     * @return long The number of cut-offs
+     */
+    public long getCutoffCount() {
+        return cutoffCount;
+    }
+
+    /**
+     * Getter method for the number of cut-offs in the last search that were caused by the first move searched
+     *
+     * @return long The number of first-move cut-offs
+     */
+    public long getFirstMoveCutoffCount() {
+        return firstMoveCutoffCount;
+    }
+
+    /**
+     * Getter method for the fraction of the last search's cut-offs that were caused by the first move
+     * searched, which measures how well the moves are ordered (1 would be perfect ordering)
+     *
+     * @return double The first-move cut-off rate (0 to 1)
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffCount == 0 ? 0.0 : (double) firstMoveCutoffCount / cutoffCount;
+    }
+
+    /**
+     * Checks whether a score means that one side can force checkmate
+     *
+     * @param score    The score
+     * @return boolean Whether or not the score is a mate score
+     */
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE_SCORE - MAX_PLY;
+    }
+}
@@ -0,0 +1,24 @@
+package ics3.chess;
+
+/**
+ * Interface for objects that want to follow the progress of a Search_Engine (for example to display it,
+ * or to send it to a chess GUI), which are told each time an iteration of the search finishes.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public interface Search_Listener {
+
+    /**
+     * Called on the searching thread after the search has finished searching to a certain depth
+     *
+     * @param depth              The depth that was finished
+     * @param score              The score of the best move in centipawns, from the point of view of the side
+     *                           to move (see Search_Engine.isMateScore() for mate scores)
+     * @param nodes              The number of positions searched so far
+     * @param elapsedNanos       The time the search has taken so far (in nanoseconds)
+     * @param principalVariation The best line found, starting with the best move
+     */
+    void depthCompleted(int depth, int score, long nodes, long elapsedNanos, int[] principalVariation);
+}
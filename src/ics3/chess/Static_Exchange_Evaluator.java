@@ -0,0 +1,114 @@
+package ics3.chess;
+
+/**
+ * Utility class that works out what a capture wins or loses once every recapture on the target square has
+ * been played out (static exchange evaluation, or SEE). The sides take turns capturing on the square with
+ * their least valuable attacker, and either side may stop capturing whenever carrying on would lose
+ * material. This is done on the bitboards alone, without making any moves: each attacker is removed from
+ * the occupancy as it captures, and the rooks, bishops and queens that were standing behind it (x-rays) are
+ * then added to the attackers.
+ *
+ * Pins are ignored, so a pinned piece is counted as able to recapture, and the king only recaptures when
+ * the other side has no attackers left.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Static_Exchange_Evaluator {
+
+    // The value of each piece type (pawn to king) in centipawns. The king's value is only used as the value
+    // of the piece standing on the square, since it is never captured.
+    public static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 20000};
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Static_Exchange_Evaluator() {
+    }
+
+    /**
+     * Works out how much material a move wins for the side making it, once the exchange on its target
+     * square has been played out. A move that is not a capture or promotion scores what the opponent can
+     * win by capturing the moved piece (0 or less).
+     *
+     * @param position The position the move is made in
+     * @param move     The packed move
+     * @return int     The material won (negative if material is lost), in centipawns
+     */
+    public static int evaluate(Bitboard_Position position, int move) {
+        int fromSquare = Move.getFromSquare(move);
+        int toSquare = Move.getToSquare(move);
+        int side = position.getSideToMove();
+        long occupancy = position.getOccupancy() ^ (1L << fromSquare);
+
+        int gain = 0;
+        int pieceOnSquareValue = PIECE_VALUES[position.getPieceOnSquare(fromSquare) % 6];
+        if (Move.isEnPassant(move)) {
+            gain = PIECE_VALUES[Bitboard_Position.PAWN];
+            occupancy ^= 1L << (side == Bitboard_Position.WHITE ? toSquare + 8 : toSquare - 8);
+        } else if (Move.isCapture(move)) {
+            gain = PIECE_VALUES[position.getPieceOnSquare(toSquare) % 6];
+        }
+        if (Move.isPromotion(move)) {
+            pieceOnSquareValue = PIECE_VALUES[Move.getPromotionType(move)];
+            gain += pieceOnSquareValue - PIECE_VALUES[Bitboard_Position.PAWN];
+        }
+
+        long attackers = (position.getAttackersOf(toSquare, Bitboard_Position.WHITE, occupancy)
+                | position.getAttackersOf(toSquare, Bitboard_Position.BLACK, occupancy)) & occupancy;
+        return gain - getRecaptureGain(position, toSquare, side ^ 1, pieceOnSquareValue, occupancy, attackers);
+    }
+
+    /**
+     * Helper method that works out how much one side gains by recapturing on a square with its least valuable
+     * attacker, given that the other side then does the same, and so on. A side only recaptures if it gains
+     * something, so the result is never negative.
+     *
+     * @param position           The position
+     * @param square             The square the exchange is on
+     * @param side               The side to recapture next
+     * @param pieceOnSquareValue The value of the piece standing on the square
+     * @param occupancy          The occupancy, without the pieces that have already captured
+     * @param attackers          The pieces of both sides that can still capture on the square
+     * @return int               The material the side gains (0 if it does not recapture)
+     */
+    private static int getRecaptureGain(Bitboard_Position position, int square, int side, int pieceOnSquareValue,
+                                        long occupancy, long attackers) {
+        long sideAttackers = attackers & position.getColourOccupancy(side);
+        if (sideAttackers == 0) {
+            return 0;
+        }
+        // Find the least valuable attacker
+        int attackerType = Bitboard_Position.PAWN;
+        long attackerBit = 0;
+        for (; attackerType <= Bitboard_Position.KING; attackerType++) {
+            long pieces = sideAttackers & position.getPieces(side, attackerType);
+            if (pieces != 0) {
+                attackerBit = pieces & -pieces;
+                break;
+            }
+        }
+        // The king cannot capture onto a square that is still defended
+        if (attackerType == Bitboard_Position.KING && (attackers & position.getColourOccupancy(side ^ 1)) != 0) {
+            return 0;
+        }
+
+        occupancy ^= attackerBit;
+        // Rooks, bishops and queens standing behind the piece that captured can now reach the square
+        long diagonalSliders = position.getPieces(Bitboard_Position.WHITE, Bitboard_Position.BISHOP)
+                | position.getPieces(Bitboard_Position.BLACK, Bitboard_Position.BISHOP)
+                | position.getPieces(Bitboard_Position.WHITE, Bitboard_Position.QUEEN)
+                | position.getPieces(Bitboard_Position.BLACK, Bitboard_Position.QUEEN);
+        long straightSliders = position.getPieces(Bitboard_Position.WHITE, Bitboard_Position.ROOK)
+                | position.getPieces(Bitboard_Position.BLACK, Bitboard_Position.ROOK)
+                | position.getPieces(Bitboard_Position.WHITE, Bitboard_Position.QUEEN)
+                | position.getPieces(Bitboard_Position.BLACK, Bitboard_Position.QUEEN);
+        attackers |= (Bitboard_Attacks.bishopAttacks(square, occupancy) & diagonalSliders)
+                | (Bitboard_Attacks.rookAttacks(square, occupancy) & straightSliders);
+        attackers &= occupancy;
+
+        int gain = pieceOnSquareValue - getRecaptureGain(position, square, side ^ 1, PIECE_VALUES[attackerType], occupancy, attackers);
+        return Math.max(0, gain);
+    }
+}
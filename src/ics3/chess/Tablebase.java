@@ -0,0 +1,437 @@
+package ics3.chess;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The endgame tables in a directory, which give the exact result (and, for tables that hold them, the
+ * distance to checkmate) of positions with few pieces. Each table is a memory-mapped Tablebase_File, so
+ * opening a directory of tables only reads their headers. A table is looked up by the signature of its
+ * pieces (e.g. "KQvK", white's pieces first); positions where black has the stronger pieces are looked up
+ * in the table with the colours swapped.
+ *
+ * A probe inflates the compressed block that holds the position. The inflated blocks are kept in a cache
+ * shared by every thread, which throws away the least recently used blocks once it is full, so during a
+ * search (where the same few blocks are probed over and over) nearly every probe is served from memory.
+ * Probes are thread-safe: the cache is guarded by a lock, which is held only to look up or add a block,
+ * never while one is being inflated.
+ *
+ * The tables ignore the fifty-move rule, and positions with castling rights or a possible en passant
+ * capture are never found in them.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public class Tablebase {
+
+    // The results of a position, for the side to move
+    public static final int LOSS = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+
+    // The result of probe() when the position is not in any table
+    public static final int NOT_FOUND = 0;
+
+    // The most pieces (including the kings) a table can have
+    public static final int MAX_PIECE_COUNT = 5;
+
+    // The size of the block cache if none is given (in megabytes)
+    public static final int DEFAULT_CACHE_SIZE_MB = 32;
+
+    // The letter of each piece type (pawn to king) in a signature
+    private static final String PIECE_LETTERS = "PNBRQK";
+
+    // The tables, by signature (never changed after the constructor, so they can be read by any thread)
+    private final HashMap<String, Tablebase_File> tables;
+    // The most pieces in any of the tables
+    private final int maxPieceCount;
+
+    // The inflated blocks, by table id * 2^32 + block number, least recently used first
+    private final LinkedHashMap<Long, byte[]> blockCache;
+    // The most bytes of blocks the cache holds, and the number it holds now
+    private final long cacheCapacityBytes;
+    private long cachedBytes;
+    // The number of blocks looked up in the cache, and how many of them were found there
+    private long blockLookupCount;
+    private long blockHitCount;
+    // Lock guarding the cache and its statistics
+    private final ReentrantLock blockCacheLock;
+
+    /**
+     * Constructor for the Tablebase class, which opens every table in a directory and uses a block cache of
+     * the default size
+     *
+     * @param directory The directory
+     * @throws IOException If the directory or one of its tables cannot be read
+     */
+    public Tablebase(Path directory) throws IOException {
+        this(directory, DEFAULT_CACHE_SIZE_MB);
+    }
+
+    /**
+     * Constructor for the Tablebase class, which opens every table in a directory
+     *
+     * @param directory   The directory
+     * @param cacheSizeMb The most memory the inflated blocks may take up (in megabytes)
+     * @throws IOException If the directory or one of its tables cannot be read
+     */
+    public Tablebase(Path directory, int cacheSizeMb) throws IOException {
+        tables = new HashMap<>();
+        int largestPieceCount = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + Tablebase_File.FILE_EXTENSION)) {
+            for (Path file : files) {
+                Tablebase_File table = new Tablebase_File(file, tables.size());
+                tables.put(table.getSignature(), table);
+                largestPieceCount = Math.max(largestPieceCount, table.getPieces().length);
+            }
+        }
+        maxPieceCount = largestPieceCount;
+        blockCache = new LinkedHashMap<>(16, 0.75f, true);
+        cacheCapacityBytes = (long) cacheSizeMb << 20;
+        blockCacheLock = new ReentrantLock();
+    }
+
+    /**
+     * Getter method for the number of tables
+     *
+     * @return int  The number of tables
+     */
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    /**
+     * Getter method for the most pieces (including the kings) in any of the tables. Positions with more
+     * pieces need not be probed.
+     *
+     * @return int  The number of pieces (0 if there are no tables)
+     */
+    public int getMaxPieceCount() {
+        return maxPieceCount;
+    }
+
+    /**
+     * Checks whether or not there is a table for a set of pieces (in either colour)
+     *
+     * @param signature The signature of the pieces (e.g. "KQvK")
+     * @return boolean  Whether or not there is a table for them
+     */
+    public boolean hasTable(String signature) {
+        return tables.containsKey(signature) || tables.containsKey(getSwappedSignature(signature));
+    }
+
+    /**
+     * Looks up a position in the tables. Bare kings are always a draw, even without a table.
+     *
+     * @param position The position
+     * @return int     The result and distance to checkmate, packed together (read them with getResult() and
+     *                 getMateDistance()), or NOT_FOUND if the position is not in any table
+     */
+    public int probe(Bitboard_Position position) {
+        long occupancy = position.getOccupancy();
+        int pieceCount = Long.bitCount(occupancy);
+        if (pieceCount == 2) {
+            return pack(DRAW, -1);
+        }
+        if (pieceCount > maxPieceCount || position.getCastlingRights() != 0 || isEnPassantPossible(position)) {
+            return NOT_FOUND;
+        }
+
+        // Look for the table with white's pieces first, and then for the one with the colours swapped (in
+        // which the position is mirrored top to bottom)
+        String signature = getSignature(position);
+        boolean isSwapped = false;
+        Tablebase_File table = tables.get(signature);
+        if (table == null) {
+            table = tables.get(getSwappedSignature(signature));
+            isSwapped = true;
+            if (table == null) {
+                return NOT_FOUND;
+            }
+        }
+
+        long index = position.getSideToMove() ^ (isSwapped ? 1 : 0);
+        int[] pieces = table.getPieces();
+        for (int i = 0; i < pieces.length; ) {
+            int piece = pieces[i];
+            long squares = position.getPieces((piece / 6) ^ (isSwapped ? 1 : 0), piece % 6);
+            if (isSwapped) {
+                squares = Long.reverseBytes(squares);
+            }
+            // Pieces of the same kind are listed together, in increasing order of square
+            for (; i < pieces.length && pieces[i] == piece; i++) {
+                index = index * 64 + Long.numberOfTrailingZeros(squares);
+                squares &= squares - 1;
+            }
+        }
+
+        int valuesPerBlock = table.getValuesPerBlock();
+        byte[] block = getBlock(table, (int) (index / valuesPerBlock));
+        int value = table.getValue(block, (int) (index % valuesPerBlock));
+        if (!table.hasDistances()) {
+            return pack(value == 1 ? WIN : value == 2 ? LOSS : DRAW, -1);
+        }
+        if (value == 0) {
+            return pack(DRAW, -1);
+        }
+        int distance = value - 1;
+        return pack(distance % 2 == 1 ? WIN : LOSS, distance);
+    }
+
+    /**
+     * Reads the result out of a probe
+     *
+     * @param probe The result of probe() (not NOT_FOUND)
+     * @return int  WIN, DRAW or LOSS, for the side to move
+     */
+    public static int getResult(int probe) {
+        return (probe & 3) - 2;
+    }
+
+    /**
+     * Reads the distance to checkmate out of a probe
+     *
+     * @param probe The result of probe() (not NOT_FOUND)
+     * @return int  The number of half-moves to checkmate with best play, or -1 if the position is a draw or
+     *              its table does not hold distances
+     */
+    public static int getMateDistance(int probe) {
+        return (probe >>> 2) - 1;
+    }
+
+    /**
+     * Finds the best move in a position from the tables: the quickest checkmate when winning, a move that
+     * keeps the draw when drawing, and the slowest defeat when losing. A won position in a table without
+     * distances has no best move, since a move that keeps the win need not make any progress towards it.
+     * Some moves may lead to positions the tables cannot answer (e.g. a double pawn push that allows an en
+     * passant capture, or a capture or promotion into a table that is missing), and one of those may be the
+     * only move that keeps the result; so there is only a best move if one of the moves the tables do answer
+     * keeps it (and, when losing, only if they answer every move, since the slowest defeat may be unknown).
+     *
+     * @param position The position
+     * @return int     The packed move, or Move.NONE if the tables cannot tell which move is best
+     */
+    public int getBestMove(Bitboard_Position position) {
+        int rootProbe = probe(position);
+        if (rootProbe == NOT_FOUND || (getResult(rootProbe) == WIN && getMateDistance(rootProbe) < 0)) {
+            return Move.NONE;
+        }
+        int[] moves = new int[Move_Generator.MAX_MOVES];
+        int moveCount = Move_Generator.generateLegalMoves(position, moves, 0);
+        Bitboard_Position child = new Bitboard_Position(position);
+        int bestMove = Move.NONE;
+        int bestScore = Integer.MIN_VALUE;
+        int bestChildResult = WIN;
+        boolean hasUnknownChild = false;
+        for (int i = 0; i < moveCount; i++) {
+            child.makeMove(moves[i]);
+            int childProbe = probe(child);
+            child.unmakeMove();
+            if (childProbe == NOT_FOUND) {
+                hasUnknownChild = true;
+                continue;
+            }
+            // The child's result is for the opponent. A distance that is not known counts as very long.
+            int distance = getMateDistance(childProbe) < 0 ? 1000 : getMateDistance(childProbe);
+            int score;
+            if (getResult(childProbe) == LOSS) {
+                score = 100000 - distance;
+            } else if (getResult(childProbe) == DRAW) {
+                score = 0;
+            } else {
+                score = -100000 + distance;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = moves[i];
+                bestChildResult = getResult(childProbe);
+            }
+        }
+        int rootResult = getResult(rootProbe);
+        if (bestMove == Move.NONE || bestChildResult != -rootResult || (rootResult == LOSS && hasUnknownChild)) {
+            return Move.NONE;
+        }
+        return bestMove;
+    }
+
+    /**
+     * Getter method for the fraction of block lookups that were served from the cache
+     *
+     * @return double The cache hit rate (0 to 1)
+     */
+    public double getCacheHitRate() {
+        blockCacheLock.lock();
+        try {
+            return blockLookupCount == 0 ? 0.0 : (double) blockHitCount / blockLookupCount;
+        } finally {
+            blockCacheLock.unlock();
+        }
+    }
+
+    /**
+     * Works out the signature of a set of pieces: the letters of white's pieces (king first, then queens,
+     * rooks, bishops, knights and pawns), "v", and then the letters of black's pieces (e.g. "KRPvKR")
+     *
+     * @param pieces The pieces (colour * 6 + type), in any order
+     * @return String The signature
+     */
+    public static String getSignature(int[] pieces) {
+        StringBuilder signature = new StringBuilder();
+        for (int colour = Bitboard_Position.WHITE; colour <= Bitboard_Position.BLACK; colour++) {
+            if (colour == Bitboard_Position.BLACK) {
+                signature.append('v');
+            }
+            for (int type = Bitboard_Position.KING; type >= Bitboard_Position.PAWN; type--) {
+                for (int piece : pieces) {
+                    if (piece == colour * 6 + type) {
+                        signature.append(PIECE_LETTERS.charAt(type));
+                    }
+                }
+            }
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Works out the pieces of a signature, in the order they are indexed in a table (white's pieces first,
+     * each colour's from the king to the pawns)
+     *
+     * @param signature The signature (e.g. "KQvK")
+     * @return int[]    The pieces (colour * 6 + type)
+     * @throws IllegalArgumentException If the signature is not valid
+     */
+    public static int[] getPieces(String signature) {
+        int separatorIndex = signature.indexOf('v');
+        if (separatorIndex < 1 || signature.length() - 1 > MAX_PIECE_COUNT || signature.charAt(0) != 'K'
+                || signature.indexOf('K', 1) != separatorIndex + 1 || signature.indexOf('K', separatorIndex + 2) >= 0) {
+            throw new IllegalArgumentException("Invalid signature: " + signature);
+        }
+        int[] pieces = new int[signature.length() - 1];
+        int pieceCount = 0;
+        for (int i = 0; i < signature.length(); i++) {
+            if (i == separatorIndex) {
+                continue;
+            }
+            int type = PIECE_LETTERS.indexOf(signature.charAt(i));
+            if (type < 0) {
+                throw new IllegalArgumentException("Invalid signature: " + signature);
+            }
+            pieces[pieceCount++] = (i < separatorIndex ? Bitboard_Position.WHITE : Bitboard_Position.BLACK) * 6 + type;
+        }
+        if (!getSignature(pieces).equals(signature)) {
+            throw new IllegalArgumentException("Invalid signature (each side's pieces must be listed from the "
+                    + "queens to the pawns): " + signature);
+        }
+        return pieces;
+    }
+
+    /**
+     * Helper method that works out the signature of the pieces in a position
+     *
+     * @param position The position
+     * @return String  The signature
+     */
+    private static String getSignature(Bitboard_Position position) {
+        StringBuilder signature = new StringBuilder();
+        for (int colour = Bitboard_Position.WHITE; colour <= Bitboard_Position.BLACK; colour++) {
+            if (colour == Bitboard_Position.BLACK) {
+                signature.append('v');
+            }
+            for (int type = Bitboard_Position.KING; type >= Bitboard_Position.PAWN; type--) {
+                for (int count = Long.bitCount(position.getPieces(colour, type)); count > 0; count--) {
+                    signature.append(PIECE_LETTERS.charAt(type));
+                }
+            }
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Helper method that swaps the colours of a signature (e.g. "KvKQ" becomes "KQvK")
+     *
+     * @param signature The signature
+     * @return String   The signature with the colours swapped
+     */
+    private static String getSwappedSignature(String signature) {
+        int separatorIndex = signature.indexOf('v');
+        return signature.substring(separatorIndex + 1) + 'v' + signature.substring(0, separatorIndex);
+    }
+
+    /**
+     * Helper method that checks whether the side to move can capture en passant (such positions are not in
+     * the tables)
+     *
+     * @param position The position
+     * @return boolean Whether or not an en passant capture is possible
+     */
+    private static boolean isEnPassantPossible(Bitboard_Position position) {
+        int enPassantSquare = position.getEnPassantSquare();
+        if (enPassantSquare == Bitboard_Position.NO_SQUARE) {
+            return false;
+        }
+        int side = position.getSideToMove();
+        return (Bitboard_Attacks.pawnAttacks(side ^ 1, enPassantSquare) & position.getPieces(side, Bitboard_Position.PAWN)) != 0;
+    }
+
+    /**
+     * Helper method that packs a result and a distance to checkmate into the result of probe() (which is
+     * never NOT_FOUND)
+     *
+     * @param result   WIN, DRAW or LOSS
+     * @param distance The distance to checkmate in half-moves, or -1 if it is not known
+     * @return int     The packed probe
+     */
+    private static int pack(int result, int distance) {
+        return (distance + 1) << 2 | (result + 2);
+    }
+
+    /**
+     * Helper method that returns an inflated block of a table, inflating it (outside the lock) if it is not
+     * in the cache, and throwing the least recently used blocks out of the cache if it is then too full
+     *
+     * @param table The table
+     * @param block The number of the block
+     * @return byte[] The bit-packed values of the block
+     */
+    private byte[] getBlock(Tablebase_File table, int block) {
+        Long key = (long) table.getId() << 32 | block;
+        blockCacheLock.lock();
+        try {
+            blockLookupCount++;
+            byte[] values = blockCache.get(key);
+            if (values != null) {
+                blockHitCount++;
+                return values;
+            }
+        } finally {
+            blockCacheLock.unlock();
+        }
+
+        // Two threads may inflate the same block at once, in which case the first one's copy is kept
+        byte[] values = table.inflateBlock(block);
+        blockCacheLock.lock();
+        try {
+            byte[] cachedValues = blockCache.putIfAbsent(key, values);
+            if (cachedValues != null) {
+                return cachedValues;
+            }
+            cachedBytes += values.length;
+            Iterator<Map.Entry<Long, byte[]>> leastRecentlyUsed = blockCache.entrySet().iterator();
+            while (cachedBytes > cacheCapacityBytes && blockCache.size() > 1) {
+                cachedBytes -= leastRecentlyUsed.next().getValue().length;
+                leastRecentlyUsed.remove();
+            }
+        } finally {
+            blockCacheLock.unlock();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,259 @@
+package ics3.chess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * One memory-mapped endgame table, holding the value of every position with one set of pieces (e.g. king
+ * and queen against king). Each position is given an index: the side to move, followed by the square of
+ * each piece in the order the pieces are listed in the file (pieces of the same kind in increasing order
+ * of square), i.e. index = ((side to move * 64 + square of piece 1) * 64 + square of piece 2) * 64 + ...
+ * The values are bit-packed in index order, and split into blocks that are compressed with deflate
+ * separately, so one position can be looked up by inflating only its own block.
+ *
+ * A value is either 2 bits (0 = draw, 1 = the side to move wins, 2 = the side to move loses) or 8 bits
+ * (0 = draw, otherwise 1 + the number of half-moves to checkmate with best play: an odd number of half-moves
+ * means that the side to move wins, an even number that it is mated). Positions that cannot occur (e.g. two
+ * pieces on one square) are stored as draws.
+ *
+ * The file (all numbers big-endian) is laid out as:
+ *   int   MAGIC, int VERSION
+ *   int   bits per value (2 or 8)
+ *   int   number of pieces, followed by one byte per piece (colour * 6 + type)
+ *   int   values per block, int number of blocks
+ *   long  the offset of each block in the file, and then the offset of the end of the last block
+ *   the compressed blocks
+ *
+ * Only the header is read when a table is opened; the blocks stay in the mapping until they are probed.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+class Tablebase_File {
+
+    // The first numbers of every table file ("ICTB" and the format version)
+    static final int MAGIC = 0x49435442;
+    static final int VERSION = 1;
+    // The ending of the names of table files
+    static final String FILE_EXTENSION = ".ictb";
+
+    // The mapped file
+    private final MappedByteBuffer data;
+    // The number identifying the table within its Tablebase (used to tell apart the blocks of the tables)
+    private final int id;
+
+    // The pieces of the positions in the table (colour * 6 + type), in index order, and their signature
+    private final int[] pieces;
+    private final String signature;
+    // The number of bits in each value, and the number of values in each block
+    private final int bitsPerValue;
+    private final int valuesPerBlock;
+    // The number of blocks, and where the block offsets start in the file
+    private final int blockCount;
+    private final int blockOffsetsStart;
+
+    /**
+     * Constructor for the Tablebase_File class, which maps a table file and reads its header
+     *
+     * @param path The path of the table file
+     * @param id   The number identifying the table within its Tablebase
+     * @throws IOException If the file cannot be opened, is larger than 2 GB, or is not a valid table
+     */
+    Tablebase_File(Path path, int id) throws IOException {
+        this.id = id;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tables larger than 2 GB are not supported: " + path);
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+                throw new IOException("Not an endgame table: " + path);
+            }
+            bitsPerValue = data.getInt(8);
+            int pieceCount = data.getInt(12);
+            if ((bitsPerValue != 2 && bitsPerValue != 8) || pieceCount < 2 || pieceCount > Tablebase.MAX_PIECE_COUNT) {
+                throw new IOException("Unsupported endgame table: " + path);
+            }
+            pieces = new int[pieceCount];
+            for (int i = 0; i < pieceCount; i++) {
+                pieces[i] = data.get(16 + i);
+            }
+            valuesPerBlock = data.getInt(16 + pieceCount);
+            blockCount = data.getInt(20 + pieceCount);
+            blockOffsetsStart = 24 + pieceCount;
+            if (valuesPerBlock <= 0 || valuesPerBlock % 8 != 0
+                    || (long) blockCount * valuesPerBlock < getValueCount(pieceCount)
+                    || blockOffsetsStart + (blockCount + 1L) * 8 > data.capacity()
+                    || getBlockOffset(blockCount) > data.capacity()) {
+                throw new IOException("Corrupt endgame table: " + path);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt endgame table: " + path, e);
+        }
+        signature = Tablebase.getSignature(pieces);
+    }
+
+    /**
+     * Getter method for the number identifying the table within its Tablebase
+     *
+     * @return int  The number
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Getter method for the pieces of the positions in the table, in index order
+     *
+     * @return int[] The pieces (colour * 6 + type)
+     */
+    int[] getPieces() {
+        return pieces;
+    }
+
+    /**
+     * Getter method for the signature of the table (e.g. "KQvK")
+     *
+     * @return String The signature
+     */
+    String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Getter method for whether or not the table holds the distance to checkmate (and not only the result)
+     *
+     * @return boolean Whether or not it holds distances
+     */
+    boolean hasDistances() {
+        return bitsPerValue == 8;
+    }
+
+    /**
+     * Getter method for the number of values in each block
+     *
+     * @return int  The number of values
+     */
+    int getValuesPerBlock() {
+        return valuesPerBlock;
+    }
+
+    /**
+     * Getter method for the size of a block once it is inflated
+     *
+     * @return int  The size (in bytes)
+     */
+    int getInflatedBlockSize() {
+        return valuesPerBlock / 8 * bitsPerValue;
+    }
+
+    /**
+     * Inflates one block of the table
+     *
+     * @param block The number of the block
+     * @return byte[] The bit-packed values of the block
+     * @throws IllegalStateException If the block is corrupt
+     */
+    byte[] inflateBlock(int block) {
+        int start = (int) getBlockOffset(block);
+        int end = (int) getBlockOffset(block + 1);
+        byte[] values = new byte[getInflatedBlockSize()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.slice(start, end - start));
+            int length = 0;
+            while (length < values.length && !inflater.finished()) {
+                int inflated = inflater.inflate(values, length, values.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != values.length) {
+                throw new IllegalStateException("Corrupt block " + block + " in the " + signature + " endgame table");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in the " + signature + " endgame table", e);
+        } finally {
+            inflater.end();
+        }
+        return values;
+    }
+
+    /**
+     * Reads a value out of an inflated block
+     *
+     * @param values The bit-packed values of the block
+     * @param index  The index of the position within the block
+     * @return int   The stored value
+     */
+    int getValue(byte[] values, int index) {
+        if (bitsPerValue == 8) {
+            return values[index] & 0xFF;
+        }
+        return values[index >>> 2] >>> ((index & 3) * 2) & 3;
+    }
+
+    /**
+     * Helper method that reads the offset of a block in the file
+     *
+     * @param block The number of the block (or the number of blocks, for the end of the last block)
+     * @return long The offset (in bytes)
+     */
+    private long getBlockOffset(int block) {
+        return data.getLong(blockOffsetsStart + block * 8);
+    }
+
+    /**
+     * Works out the number of positions in a table with a number of pieces (2 sides to move times 64
+     * squares for each piece)
+     *
+     * @param pieceCount The number of pieces
+     * @return long      The number of positions
+     */
+    static long getValueCount(int pieceCount) {
+        return 2L << (6 * pieceCount);
+    }
+
+    /**
+     * Writes the header and block offsets of a table (the compressed blocks follow them)
+     *
+     * @param pieces         The pieces, in index order
+     * @param bitsPerValue   The number of bits in each value (2 or 8)
+     * @param valuesPerBlock The number of values in each block (a multiple of 8)
+     * @param blockOffsets   The offset of each block, and then of the end of the last block
+     * @return ByteBuffer    The header, ready to be written
+     */
+    static ByteBuffer createHeader(int[] pieces, int bitsPerValue, int valuesPerBlock, long[] blockOffsets) {
+        ByteBuffer header = ByteBuffer.allocate(getHeaderSize(pieces.length, blockOffsets.length - 1));
+        header.putInt(MAGIC).putInt(VERSION).putInt(bitsPerValue).putInt(pieces.length);
+        for (int piece : pieces) {
+            header.put((byte) piece);
+        }
+        header.putInt(valuesPerBlock).putInt(blockOffsets.length - 1);
+        for (long offset : blockOffsets) {
+            header.putLong(offset);
+        }
+        return header.flip();
+    }
+
+    /**
+     * Works out the size of the header of a table, which is where its first block starts
+     *
+     * @param pieceCount The number of pieces
+     * @param blockCount The number of blocks
+     * @return int       The size of the header (in bytes)
+     */
+    static int getHeaderSize(int pieceCount, int blockCount) {
+        return 24 + pieceCount + (blockCount + 1) * 8;
+    }
+}
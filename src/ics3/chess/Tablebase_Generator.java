@@ -0,0 +1,744 @@
+package ics3.chess;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * Command-line tool that works out the endgame tables (see Tablebase_File) for endings of 3 and 4 pieces by
+ * retrograde analysis, using the Move_Generator and nothing else, so no tables need to be downloaded.
+ *
+ * Each table is solved in two parts. First, every position is set up and its legal moves are generated:
+ * checkmates and stalemates are found, the moves that stay within the table are counted, and the moves
+ * that leave it (captures and promotions) are looked up in the smaller tables, which are generated first.
+ * Then the table is solved backwards one half-move at a time: the positions one move before a position
+ * that is lost in n half-moves are won in n + 1, and a position whose moves have all been found to lead to
+ * won positions for the opponent is lost. Moves are played backwards ("un-moves") to find those positions,
+ * so each level only touches the positions next to the ones found in the level before. Positions that are
+ * never found to be won or lost are draws.
+ *
+ * Every pass over a table is split across a ForkJoinPool, one range of positions per task; the counts of
+ * moves still to be found are decreased atomically, since several threads can reach the same position at
+ * once.
+ *
+ * En passant captures are not considered (positions reached by a double pawn push are scored as if no en
+ * passant capture were possible), and neither is the fifty-move rule.
+ *
+ * Usage:
+ *   java ics3.chess.Tablebase_Generator DIRECTORY [--distances] [SIGNATURE ...]
+ * With no signatures, every 3- and 4-piece table is generated; otherwise the given tables (e.g. "KRvKP") and
+ * any smaller tables they need that are not already in the directory. The tables hold only the result of
+ * each position (2 bits per position), unless --distances is given, in which case they hold the distance to
+ * checkmate (8 bits per position), which the computer needs to play won endings perfectly.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Tablebase_Generator {
+
+    // The most pieces a generated table can have
+    public static final int MAX_PIECE_COUNT = 4;
+
+    // The number of positions in each compressed block of a table
+    private static final int VALUES_PER_BLOCK = 1 << 15;
+    // The number of positions each task of a pass works through
+    private static final int POSITIONS_PER_TASK = 1 << 14;
+
+    // The piece letters of the pieces other than kings, strongest first
+    private static final String PIECE_STRENGTH_ORDER = "QRBNP";
+
+    // A value of exitLosses meaning that a move out of the table draws
+    private static final int DRAWING_EXIT = 255;
+
+    // Atomic access to the elements of byte arrays
+    private static final VarHandle BYTE_ARRAY = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    // The directory the tables are written to, and whether or not they hold distances to checkmate
+    private final Path directory;
+    private final boolean withDistances;
+    // The pool the passes run in
+    private final ForkJoinPool pool;
+
+    // The pieces of the table being generated, and its number of positions
+    private int[] pieces;
+    private int positionCount;
+    // The smaller tables that moves out of the table lead to
+    private Tablebase smallerTables;
+
+    // For each position of the table being generated: 0 while it is not known to be won or lost, otherwise
+    // 1 + its distance to checkmate in half-moves
+    private byte[] values;
+    // The number of moves within the table that have not yet been found to lead to a won position for the
+    // opponent
+    private byte[] remainingMoves;
+    // 1 + the distance to checkmate of the quickest win by a move out of the table (0 if there is none)
+    private byte[] exitWins;
+    // 1 + the distance to checkmate of the slowest loss by a move out of the table (0 if there are no moves
+    // out of the table, DRAWING_EXIT if one of them draws)
+    private byte[] exitLosses;
+
+    /**
+     * Functional interface for the work done on one range of positions by one task of a pass
+     */
+    private interface Range_Processor {
+        /**
+         * Processes a range of positions
+         *
+         * @param position A position the task may set up as it likes
+         * @param start    The index of the first position
+         * @param end      The index after the last position
+         */
+        void process(Bitboard_Position position, int start, int end);
+    }
+
+    /**
+     * A task that processes a range of positions, splitting it in two until it is small enough to do itself
+     */
+    private static final class Range_Task extends RecursiveAction {
+
+        // RecursiveAction is Serializable, although the tasks are never serialized
+        private static final long serialVersionUID = 1L;
+
+        // The work to do (a lambda, so it is not serializable), and the range of positions to do it on
+        private final transient Range_Processor processor;
+        private final int start;
+        private final int end;
+
+        /**
+         * Constructor for the Range_Task class
+         *
+         * @param processor The work to do
+         * @param start     The index of the first position
+         * @param end       The index after the last position
+         */
+        Range_Task(Range_Processor processor, int start, int end) {
+            this.processor = processor;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Processes the range, or splits it between two new tasks
+         */
+        @Override
+        protected void compute() {
+            if (end - start <= POSITIONS_PER_TASK) {
+                processor.process(new Bitboard_Position(), start, end);
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Range_Task(processor, start, middle), new Range_Task(processor, middle, end));
+            }
+        }
+    }
+
+    /**
+     * Constructor for the Tablebase_Generator class
+     *
+     * @param directory     The directory the tables are written to (and smaller tables are read from)
+     * @param withDistances Whether or not the tables hold distances to checkmate
+     * @param pool          The pool to run the passes in
+     */
+    public Tablebase_Generator(Path directory, boolean withDistances, ForkJoinPool pool) {
+        this.directory = directory;
+        this.withDistances = withDistances;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates one table and writes it to the directory. Every smaller table that its captures and
+     * promotions lead to must already be in the directory.
+     *
+     * @param signature The signature of the table (e.g. "KQvKR")
+     * @return long[]   The number of legal positions that are won, drawn and lost for the side to move, and
+     *                  the longest distance to checkmate (in half-moves)
+     * @throws IOException              If the smaller tables cannot be read or the table cannot be written
+     * @throws IllegalArgumentException If the signature is not valid or has too many pieces
+     * @throws IllegalStateException    If a smaller table is missing (or has no distances when they are needed)
+     */
+    public long[] generate(String signature) throws IOException {
+        pieces = Tablebase.getPieces(signature);
+        if (pieces.length > MAX_PIECE_COUNT) {
+            throw new IllegalArgumentException("Tables of more than " + MAX_PIECE_COUNT + " pieces cannot be generated: " + signature);
+        }
+        positionCount = (int) Tablebase_File.getValueCount(pieces.length);
+        smallerTables = new Tablebase(directory);
+        values = new byte[positionCount];
+        remainingMoves = new byte[positionCount];
+        exitWins = new byte[positionCount];
+        exitLosses = new byte[positionCount];
+
+        LongAdder legalPositions = new LongAdder();
+        pool.invoke(new Range_Task((position, start, end) -> findMoves(position, start, end, legalPositions), 0, positionCount));
+        int longestExit = 0;
+        for (int i = 0; i < positionCount; i++) {
+            longestExit = Math.max(longestExit, exitWins[i] & 0xFF);
+            if ((exitLosses[i] & 0xFF) != DRAWING_EXIT) {
+                longestExit = Math.max(longestExit, exitLosses[i] & 0xFF);
+            }
+        }
+
+        // Level n finds the positions that are won (n odd) or lost (n even) in n half-moves, from the
+        // positions found by level n - 1. Once no level finds anything and no move out of the table can
+        // still decide a position, the table is solved.
+        int quietLevels = 0;
+        for (int level = 1; quietLevels < 2 || level <= longestExit; level++) {
+            if (level > 254) {
+                throw new IllegalStateException("A distance to checkmate in " + signature + " does not fit in a byte");
+            }
+            int currentLevel = level;
+            LongAdder found = new LongAdder();
+            pool.invoke(new Range_Task((position, start, end) -> solveLevel(position, start, end, currentLevel, found), 0, positionCount));
+            quietLevels = found.sum() == 0 ? quietLevels + 1 : 0;
+        }
+
+        long wins = 0;
+        long losses = 0;
+        int longestMate = 0;
+        for (int i = 0; i < positionCount; i++) {
+            int value = values[i] & 0xFF;
+            if (value != 0) {
+                if ((value - 1) % 2 == 1) {
+                    wins++;
+                } else {
+                    losses++;
+                }
+                longestMate = Math.max(longestMate, value - 1);
+            }
+        }
+        writeTable(signature);
+        values = null;
+        remainingMoves = null;
+        exitWins = null;
+        exitLosses = null;
+        return new long[]{wins, legalPositions.sum() - wins - losses, losses, longestMate};
+    }
+
+    /**
+     * Helper method for the first pass: sets up each position of a range, finds checkmates, counts the moves
+     * that stay within the table, and looks up the moves that leave it in the smaller tables
+     *
+     * @param position       The position to set up the positions in
+     * @param start          The index of the first position
+     * @param end            The index after the last position
+     * @param legalPositions Counts the legal positions
+     */
+    private void findMoves(Bitboard_Position position, int start, int end, LongAdder legalPositions) {
+        int[] moves = new int[Move_Generator.MAX_MOVES];
+        long legalCount = 0;
+        for (int index = start; index < end; index++) {
+            if (!setUpPosition(position, index)) {
+                continue;
+            }
+            legalCount++;
+            int moveCount = Move_Generator.generateLegalMoves(position, moves, 0);
+            if (moveCount == 0) {
+                // Checkmated now (distance 0), or stalemated (a draw)
+                if (position.isInCheck()) {
+                    values[index] = 1;
+                }
+                continue;
+            }
+            int movesWithinTable = 0;
+            int quickestExitWin = Integer.MAX_VALUE;
+            int slowestExitLoss = 0;
+            for (int i = 0; i < moveCount; i++) {
+                int move = moves[i];
+                if (!Move.isCapture(move) && !Move.isPromotion(move)) {
+                    movesWithinTable++;
+                    continue;
+                }
+                position.makeMove(move);
+                int probe = smallerTables.probe(position);
+                position.unmakeMove();
+                if (probe == Tablebase.NOT_FOUND) {
+                    throw new IllegalStateException("The tables that " + Tablebase.getSignature(pieces)
+                            + " leads to must be generated first (no table for " + describeMove(position, move) + ")");
+                }
+                int result = Tablebase.getResult(probe);
+                if (result == Tablebase.DRAW) {
+                    slowestExitLoss = DRAWING_EXIT;
+                    continue;
+                }
+                // The distances only order the search when the tables hold results alone, so a smaller
+                // table without distances counts as the quickest result of its kind
+                int distance = Tablebase.getMateDistance(probe);
+                if (distance < 0) {
+                    if (withDistances) {
+                        throw new IllegalStateException("The tables that " + Tablebase.getSignature(pieces)
+                                + " leads to have no distances to checkmate (regenerate them with --distances)");
+                    }
+                    distance = result == Tablebase.LOSS ? 0 : 1;
+                }
+                if (result == Tablebase.LOSS) {
+                    quickestExitWin = Math.min(quickestExitWin, distance + 1);
+                } else if (slowestExitLoss != DRAWING_EXIT) {
+                    slowestExitLoss = Math.max(slowestExitLoss, distance + 1);
+                }
+            }
+            remainingMoves[index] = (byte) movesWithinTable;
+            exitWins[index] = (byte) (quickestExitWin == Integer.MAX_VALUE ? 0 : quickestExitWin + 1);
+            exitLosses[index] = (byte) (slowestExitLoss == DRAWING_EXIT ? DRAWING_EXIT : slowestExitLoss == 0 ? 0 : slowestExitLoss + 1);
+        }
+        legalPositions.add(legalCount);
+    }
+
+    /**
+     * Helper method for one level of the backward search, over a range of positions. On an odd level, the
+     * positions before each position lost at the previous level are won; on an even level, the positions
+     * before each position won at the previous level have one fewer move left to be refuted, and are lost
+     * once none is left. Positions whose result at this level comes from a move out of the table are also
+     * marked.
+     *
+     * @param position The position to set up the positions in
+     * @param start    The index of the first position
+     * @param end      The index after the last position
+     * @param level    The level (the distance to checkmate of the positions it finds, in half-moves)
+     * @param found    Counts the positions the level finds
+     */
+    private void solveLevel(Bitboard_Position position, int start, int end, int level, LongAdder found) {
+        boolean isWinLevel = level % 2 == 1;
+        long foundCount = 0;
+        for (int index = start; index < end; index++) {
+            int value = values[index] & 0xFF;
+            if (value == 0) {
+                // Decided by a move out of the table
+                boolean isDecided = isWinLevel ? (exitWins[index] & 0xFF) == level + 1
+                        : remainingMoves[index] == 0 && exitWins[index] == 0 && (exitLosses[index] & 0xFF) == level + 1;
+                if (isDecided && BYTE_ARRAY.compareAndSet(values, index, (byte) 0, (byte) (level + 1))) {
+                    foundCount++;
+                }
+                continue;
+            }
+            if (value != level) {
+                continue;
+            }
+            // The position was found by the previous level, so the positions one move before it are affected
+            setUpPosition(position, index);
+            foundCount += visitPreviousPositions(position, level);
+        }
+        found.add(foundCount);
+    }
+
+    /**
+     * Helper method that plays every un-move of the side that moved last in a position (every move within the
+     * table that could have led to it), and updates each previous position for the level
+     *
+     * @param position The position (found by the previous level), which is the same afterwards
+     * @param level    The level
+     * @return int     The number of previous positions that were decided
+     */
+    private int visitPreviousPositions(Bitboard_Position position, int level) {
+        int sideToMove = position.getSideToMove();
+        int mover = sideToMove ^ 1;
+        long emptySquares = ~position.getOccupancy();
+        int decidedCount = 0;
+        for (int type = Bitboard_Position.PAWN; type <= Bitboard_Position.KING; type++) {
+            long moverPieces = position.getPieces(mover, type);
+            while (moverPieces != 0) {
+                int toSquare = Long.numberOfTrailingZeros(moverPieces);
+                moverPieces &= moverPieces - 1;
+                long fromSquares = getUnMoveOrigins(position, mover, type, toSquare) & emptySquares;
+                while (fromSquares != 0) {
+                    int fromSquare = Long.numberOfTrailingZeros(fromSquares);
+                    fromSquares &= fromSquares - 1;
+                    position.removePiece(toSquare);
+                    position.putPiece(mover, type, fromSquare);
+                    position.setSideToMove(mover);
+                    // The previous position is only legal if the side that is not to move there is not in check
+                    if (!position.isSquareAttacked(position.getKingSquare(sideToMove), mover)
+                            && updatePreviousPosition(getIndex(position), level)) {
+                        decidedCount++;
+                    }
+                    position.removePiece(fromSquare);
+                    position.putPiece(mover, type, toSquare);
+                    position.setSideToMove(sideToMove);
+                }
+            }
+        }
+        return decidedCount;
+    }
+
+    /**
+     * Helper method that updates a position one move before a position found by the previous level
+     *
+     * @param index    The index of the previous position
+     * @param level    The level
+     * @return boolean Whether or not the level decided the previous position
+     */
+    private boolean updatePreviousPosition(int index, int level) {
+        if ((values[index] & 0xFF) != 0) {
+            return false;
+        }
+        if (level % 2 == 1) {
+            // A move to a lost position for the opponent wins
+            return BYTE_ARRAY.compareAndSet(values, index, (byte) 0, (byte) (level + 1));
+        }
+        // One more move is refuted; once they all are, the position is lost (unless a move out of the table
+        // wins or draws, or loses more slowly, in which case a later level decides it)
+        byte remaining;
+        do {
+            remaining = (byte) BYTE_ARRAY.getVolatile(remainingMoves, index);
+        } while (!BYTE_ARRAY.compareAndSet(remainingMoves, index, remaining, (byte) (remaining - 1)));
+        if (remaining != 1 || exitWins[index] != 0) {
+            return false;
+        }
+        int slowestExitLoss = exitLosses[index] & 0xFF;
+        return slowestExitLoss != DRAWING_EXIT && slowestExitLoss <= level + 1
+                && BYTE_ARRAY.compareAndSet(values, index, (byte) 0, (byte) (level + 1));
+    }
+
+    /**
+     * Helper method that finds the squares a piece could have moved from to reach its square, without
+     * capturing or promoting (the squares must still be checked to be empty)
+     *
+     * @param position The position
+     * @param colour   The colour of the piece
+     * @param type     The type of the piece
+     * @param square   The square the piece is on
+     * @return long    The squares it could have come from
+     */
+    private static long getUnMoveOrigins(Bitboard_Position position, int colour, int type, int square) {
+        long occupancy = position.getOccupancy();
+        switch (type) {
+            case Bitboard_Position.PAWN:
+                // White pawns move towards lower squares, black pawns towards higher ones
+                int backward = colour == Bitboard_Position.WHITE ? 8 : -8;
+                int fromSquare = square + backward;
+                if (fromSquare < 8 || fromSquare >= 56 || (occupancy & 1L << fromSquare) != 0) {
+                    return 0L;
+                }
+                long origins = 1L << fromSquare;
+                // A pawn on its fourth row may have come from its second with a double push
+                if ((colour == Bitboard_Position.WHITE && square / 8 == 4) || (colour == Bitboard_Position.BLACK && square / 8 == 3)) {
+                    origins |= 1L << (fromSquare + backward);
+                }
+                return origins;
+            case Bitboard_Position.KNIGHT:
+                return Bitboard_Attacks.knightAttacks(square);
+            case Bitboard_Position.BISHOP:
+                return Bitboard_Attacks.bishopAttacks(square, occupancy);
+            case Bitboard_Position.ROOK:
+                return Bitboard_Attacks.rookAttacks(square, occupancy);
+            case Bitboard_Position.QUEEN:
+                return Bitboard_Attacks.queenAttacks(square, occupancy);
+            default:
+                return Bitboard_Attacks.kingAttacks(square);
+        }
+    }
+
+    /**
+     * Helper method that sets up the position with an index. Positions that cannot occur (two pieces on one
+     * square, a pawn on the first or last row, or the side not to move in check) are rejected, as are those
+     * where pieces of the same kind are not in increasing order of square (the same position is stored
+     * under the index where they are).
+     *
+     * @param position The position to set up
+     * @param index    The index
+     * @return boolean Whether or not the index is a legal position
+     */
+    private boolean setUpPosition(Bitboard_Position position, int index) {
+        position.clear();
+        int remainingIndex = index;
+        int previousSquare = 64;
+        for (int i = pieces.length - 1; i >= 0; i--) {
+            int square = remainingIndex & 63;
+            remainingIndex >>>= 6;
+            int piece = pieces[i];
+            if (position.getPieceOnSquare(square) != Bitboard_Position.NO_PIECE
+                    || (piece % 6 == Bitboard_Position.PAWN && (square < 8 || square >= 56))
+                    || (i + 1 < pieces.length && pieces[i + 1] == piece && square >= previousSquare)) {
+                return false;
+            }
+            position.putPiece(piece / 6, piece % 6, square);
+            previousSquare = square;
+        }
+        int sideToMove = remainingIndex;
+        position.setSideToMove(sideToMove);
+        return !position.isSquareAttacked(position.getKingSquare(sideToMove ^ 1), sideToMove);
+    }
+
+    /**
+     * Helper method that works out the index of a position of the table being generated
+     *
+     * @param position The position
+     * @return int     The index
+     */
+    private int getIndex(Bitboard_Position position) {
+        int index = position.getSideToMove();
+        for (int i = 0; i < pieces.length; ) {
+            int piece = pieces[i];
+            long squares = position.getPieces(piece / 6, piece % 6);
+            for (; i < pieces.length && pieces[i] == piece; i++) {
+                index = index * 64 + Long.numberOfTrailingZeros(squares);
+                squares &= squares - 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Helper method that compresses the values into blocks (in parallel) and writes the table. It is written
+     * to a temporary file first, so that an unfinished table is never left in the directory.
+     *
+     * @param signature The signature of the table
+     * @throws IOException If the table cannot be written
+     */
+    private void writeTable(String signature) throws IOException {
+        int bitsPerValue = withDistances ? 8 : 2;
+        int blockCount = (positionCount + VALUES_PER_BLOCK - 1) / VALUES_PER_BLOCK;
+        byte[][] blocks = new byte[blockCount][];
+        pool.invoke(new Range_Task((position, start, end) -> {
+            for (int block = start; block < end; block++) {
+                blocks[block] = compressBlock(block, bitsPerValue);
+            }
+        }, 0, blockCount));
+
+        long[] blockOffsets = new long[blockCount + 1];
+        blockOffsets[0] = Tablebase_File.getHeaderSize(pieces.length, blockCount);
+        for (int block = 0; block < blockCount; block++) {
+            blockOffsets[block + 1] = blockOffsets[block] + blocks[block].length;
+        }
+        Path file = directory.resolve(signature + Tablebase_File.FILE_EXTENSION);
+        Path temporaryFile = directory.resolve(signature + Tablebase_File.FILE_EXTENSION + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream output = Channels.newOutputStream(channel)) {
+            channel.write(Tablebase_File.createHeader(pieces, bitsPerValue, VALUES_PER_BLOCK, blockOffsets));
+            for (byte[] block : blocks) {
+                output.write(block);
+            }
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Helper method that bit-packs and deflates one block of the values
+     *
+     * @param block        The number of the block
+     * @param bitsPerValue The number of bits in each value (2 or 8)
+     * @return byte[]      The compressed block
+     */
+    private byte[] compressBlock(int block, int bitsPerValue) {
+        byte[] packed = new byte[VALUES_PER_BLOCK / 8 * bitsPerValue];
+        int start = block * VALUES_PER_BLOCK;
+        int end = Math.min(start + VALUES_PER_BLOCK, positionCount);
+        for (int index = start; index < end; index++) {
+            int value = values[index] & 0xFF;
+            int offset = index - start;
+            if (bitsPerValue == 8) {
+                packed[offset] = (byte) value;
+            } else if (value != 0) {
+                // An odd distance to checkmate is a win for the side to move (1), an even one a loss (2)
+                packed[offset >>> 2] |= (byte) (((value - 1) % 2 == 1 ? 1 : 2) << ((offset & 3) * 2));
+            }
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(packed);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(packed.length / 4);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Helper method that describes a move out of the table by the pieces it leads to
+     *
+     * @param position The position before the move
+     * @param move     The capture or promotion
+     * @return String  The signature of the pieces after the move
+     */
+    private static String describeMove(Bitboard_Position position, int move) {
+        Bitboard_Position after = new Bitboard_Position(position);
+        after.makeMove(move);
+        List<Integer> remainingPieces = new ArrayList<>();
+        for (int square = 0; square < 64; square++) {
+            if (after.getPieceOnSquare(square) != Bitboard_Position.NO_PIECE) {
+                remainingPieces.add(after.getPieceOnSquare(square));
+            }
+        }
+        return getCanonicalSignature(Tablebase.getSignature(remainingPieces.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Picks which of a signature and its colour-swapped twin (e.g. "KvKQ" and "KQvK") a table is stored as:
+     * the one where white has more pieces, or, with as many pieces each, the stronger ones
+     *
+     * @param signature The signature
+     * @return String   The signature the table is stored as
+     * @throws IllegalArgumentException If the signature is not valid
+     */
+    public static String getCanonicalSignature(String signature) {
+        Tablebase.getPieces(signature);
+        int separatorIndex = signature.indexOf('v');
+        String whitePieces = signature.substring(1, separatorIndex);
+        String blackPieces = signature.substring(separatorIndex + 2);
+        int comparison = Integer.compare(whitePieces.length(), blackPieces.length());
+        for (int i = 0; comparison == 0 && i < whitePieces.length(); i++) {
+            comparison = Integer.compare(PIECE_STRENGTH_ORDER.indexOf(blackPieces.charAt(i)),
+                    PIECE_STRENGTH_ORDER.indexOf(whitePieces.charAt(i)));
+        }
+        return comparison >= 0 ? signature : "K" + blackPieces + "vK" + whitePieces;
+    }
+
+    /**
+     * Works out the tables needed to generate some tables: the tables themselves, and every smaller table that
+     * their captures and promotions lead to (other than those already in the directory), smallest first
+     *
+     * @param signatures The signatures of the tables
+     * @param directory  The directory the tables are written to
+     * @return List<String> The signatures of the tables to generate, in the order to generate them
+     * @throws IllegalArgumentException If a signature is not valid or has too many pieces
+     */
+    public static List<String> getGenerationOrder(List<String> signatures, Path directory) {
+        LinkedHashSet<String> tables = new LinkedHashSet<>();
+        for (String signature : signatures) {
+            if (Tablebase.getPieces(signature).length > MAX_PIECE_COUNT) {
+                throw new IllegalArgumentException("Tables of more than " + MAX_PIECE_COUNT + " pieces cannot be generated: " + signature);
+            }
+            addTableAndSmallerTables(getCanonicalSignature(signature), directory, tables, true);
+        }
+        List<String> order = new ArrayList<>(tables);
+        // Captures lead to tables with fewer pieces, and promotions to tables with fewer pawns
+        order.sort(Comparator.comparingInt((String signature) -> signature.length())
+                .thenComparingLong(signature -> signature.chars().filter(letter -> letter == 'P').count()));
+        return order;
+    }
+
+    /**
+     * Helper method that adds a table and the smaller tables it needs to a set (tables already in the
+     * directory are only added if they were asked for)
+     *
+     * @param signature   The canonical signature of the table
+     * @param directory   The directory the tables are written to
+     * @param tables      The set of tables to generate
+     * @param isRequested Whether or not the table was asked for
+     */
+    private static void addTableAndSmallerTables(String signature, Path directory, LinkedHashSet<String> tables, boolean isRequested) {
+        int[] tablePieces = Tablebase.getPieces(signature);
+        if (tablePieces.length < 3 || tables.contains(signature)
+                || (!isRequested && Files.exists(directory.resolve(signature + Tablebase_File.FILE_EXTENSION)))) {
+            return;
+        }
+        for (int i = 0; i < tablePieces.length; i++) {
+            int type = tablePieces[i] % 6;
+            if (type == Bitboard_Position.KING) {
+                continue;
+            }
+            // Capturing the piece
+            int[] smallerPieces = new int[tablePieces.length - 1];
+            for (int j = 0, k = 0; j < tablePieces.length; j++) {
+                if (j != i) {
+                    smallerPieces[k++] = tablePieces[j];
+                }
+            }
+            addTableAndSmallerTables(getCanonicalSignature(Tablebase.getSignature(smallerPieces)), directory, tables, false);
+            // Promoting the pawn
+            if (type == Bitboard_Position.PAWN) {
+                for (int promotionType = Bitboard_Position.KNIGHT; promotionType <= Bitboard_Position.QUEEN; promotionType++) {
+                    int[] promotedPieces = tablePieces.clone();
+                    promotedPieces[i] = tablePieces[i] - Bitboard_Position.PAWN + promotionType;
+                    addTableAndSmallerTables(getCanonicalSignature(Tablebase.getSignature(promotedPieces)), directory, tables, false);
+                }
+            }
+        }
+        tables.add(signature);
+    }
+
+    /**
+     * Lists every table of 3 and 4 pieces (each once, by its canonical signature)
+     *
+     * @return List<String> The signatures
+     */
+    public static List<String> getAllSignatures() {
+        LinkedHashSet<String> signatures = new LinkedHashSet<>();
+        for (int first = 0; first < PIECE_STRENGTH_ORDER.length(); first++) {
+            String firstPiece = PIECE_STRENGTH_ORDER.substring(first, first + 1);
+            signatures.add(getCanonicalSignature("K" + firstPiece + "vK"));
+            for (int second = first; second < PIECE_STRENGTH_ORDER.length(); second++) {
+                String secondPiece = PIECE_STRENGTH_ORDER.substring(second, second + 1);
+                signatures.add(getCanonicalSignature("K" + firstPiece + secondPiece + "vK"));
+                signatures.add(getCanonicalSignature("K" + firstPiece + "vK" + secondPiece));
+            }
+        }
+        return new ArrayList<>(signatures);
+    }
+
+    /**
+     * Main method for the tablebase generator
+     *
+     * @param args The command-line arguments (see the class description)
+     * @throws IOException If a table cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: Tablebase_Generator DIRECTORY [--distances] [SIGNATURE ...]");
+            System.exit(2);
+        }
+        Path directory = Path.of(args[0]);
+        boolean withDistances = false;
+        List<String> signatures = new ArrayList<>();
+        for (String argument : Arrays.asList(args).subList(1, args.length)) {
+            if (argument.equals("--distances")) {
+                withDistances = true;
+            } else {
+                signatures.add(argument);
+            }
+        }
+        Files.createDirectories(directory);
+        List<String> order;
+        try {
+            order = getGenerationOrder(signatures.isEmpty() ? getAllSignatures() : signatures, directory);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        Tablebase_Generator generator = new Tablebase_Generator(directory, withDistances, pool);
+        System.out.printf("Generating %d tables with %d threads%n", order.size(), pool.getParallelism());
+        System.out.printf("%-8s %12s %12s %12s %12s %10s %12s%n", "table", "wins", "draws", "losses", "longest mate", "time (s)", "size (bytes)");
+        long totalStart = System.nanoTime();
+        long totalSize = 0;
+        for (String signature : order) {
+            long start = System.nanoTime();
+            long[] counts;
+            try {
+                counts = generator.generate(signature);
+            } catch (IllegalStateException e) {
+                System.out.println(e.getMessage());
+                System.exit(1);
+                return;
+            }
+            long size = Files.size(directory.resolve(signature + Tablebase_File.FILE_EXTENSION));
+            totalSize += size;
+            // Without distances in the smaller tables, the longest mate is only known for tables without captures
+            System.out.printf("%-8s %12d %12d %12d %12s %10.1f %12d%n", signature, counts[0], counts[1], counts[2],
+                    withDistances ? Long.toString(counts[3]) : "-", (System.nanoTime() - start) / 1e9, size);
+        }
+        System.out.printf("Total: %.1f s, %d bytes%n", (System.nanoTime() - totalStart) / 1e9, totalSize);
+        pool.shutdown();
+    }
+}
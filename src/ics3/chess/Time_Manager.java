@@ -0,0 +1,201 @@
+package ics3.chess;
+
+/**
+ * Decides how long one search may take. A search with a clock has two limits: a soft limit, which is the
+ * time it normally aims to use, and a hard limit, after which it stops even in the middle of an iteration.
+ * The soft limit is an equal share of the time left over the moves still to play, plus most of the
+ * increment; the hard limit is a few times that, but never more than a third of the clock (or three
+ * quarters of it for the last move before the time control), and the soft limit is at most half of that.
+ *
+ * The soft limit is checked after each finished iteration, and is stretched or shrunk by how settled the
+ * search is: while the best move keeps changing (or the score falls), the search is given more time, and
+ * once the same move has been best for several iterations in a row it stops early. A search with only one
+ * legal move stops after its first iteration. Since the next iteration usually takes longer than all the
+ * earlier ones put together, a new one is only started if at least half of the stretched soft limit is
+ * left.
+ *
+ * A search with a fixed time per move (e.g. from Computer_Player.setThinkingTime) uses the same limit for
+ * both, and is never stopped early except with only one legal move.
+ *
+ * The limits are measured from when the Time_Manager is made. A search on the opponent's time
+ * ("pondering") runs with its limits paused until the opponent makes the expected move. The time spent
+ * pondering then counts as if it had been the searcher's own, since the search is that much further on: a
+ * search that has already run for its whole soft limit stops at once. This can only make the search
+ * shorter than one started at the opponent's move, so it never costs time on the clock. The search itself
+ * only compares the hard deadline, a volatile System.nanoTime() value that another thread can move, with
+ * the clock every few thousand positions; the soft limit is only checked between iterations.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public class Time_Manager {
+
+    // Without a number of moves to the next time control, the time left is shared out as if this many moves
+    // were left
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+    // The time kept back from every move for making it and for the user interface or GUI (in milliseconds)
+    public static final long MOVE_OVERHEAD_MILLIS = 50;
+
+    // The hard limit is at most this many times the soft limit
+    private static final int HARD_LIMIT_FACTOR = 4;
+    // Outside the last move before the time control, one move may use at most this fraction of the clock
+    private static final int MAX_CLOCK_SHARE_DIVISOR = 3;
+    // How much the soft limit is stretched when the best move has just changed, and when the score has just
+    // fallen by at least SCORE_DROP_CENTIPAWNS (in percent)
+    private static final int UNSTABLE_PERCENT = 160;
+    private static final int SCORE_DROP_PERCENT = 130;
+    private static final int SCORE_DROP_CENTIPAWNS = 30;
+    // After this many iterations in a row with the same best move, the soft limit is shrunk to EASY_PERCENT
+    private static final int STABLE_ITERATIONS = 4;
+    private static final int EASY_PERCENT = 50;
+
+    // When the limits started, and the hard deadline (as System.nanoTime() values; the deadline is
+    // Long.MAX_VALUE while the limits are paused)
+    private volatile long startNanos;
+    private volatile long hardDeadlineNanos;
+    // The limits (in nanoseconds)
+    private final long softLimitNanos;
+    private final long hardLimitNanos;
+    // Whether or not the search is stopped early or given more time by how settled it is
+    private final boolean isAdaptive;
+
+    // The best move and score of the last finished iteration, and the number of iterations in a row that
+    // have had the same best move
+    private int previousBestMove = Move.NONE;
+    private int previousScore;
+    private int stableIterations;
+
+    /**
+     * Constructor for the Time_Manager class
+     *
+     * @param softLimitMillis The time the search aims to use (in milliseconds)
+     * @param hardLimitMillis The time after which the search stops (in milliseconds)
+     * @param isAdaptive      Whether or not the soft limit depends on how settled the search is
+     */
+    private Time_Manager(long softLimitMillis, long hardLimitMillis, boolean isAdaptive) {
+        softLimitNanos = softLimitMillis * 1000000L;
+        hardLimitNanos = hardLimitMillis * 1000000L;
+        this.isAdaptive = isAdaptive;
+        start();
+    }
+
+    /**
+     * Makes the limits for a move in a game with a clock
+     *
+     * @param remainingMillis The time left on the clock of the side to move (in milliseconds)
+     * @param incrementMillis The time added to the clock after each move (in milliseconds)
+     * @param movesToGo       The number of moves until the next time control, or 0 if there is none
+     * @return Time_Manager   The limits
+     */
+    public static Time_Manager forClock(long remainingMillis, long incrementMillis, int movesToGo) {
+        long availableMillis = Math.max(1, remainingMillis - MOVE_OVERHEAD_MILLIS);
+        long maxMillis = Math.max(1, movesToGo == 1 ? availableMillis * 3 / 4 : availableMillis / MAX_CLOCK_SHARE_DIVISOR);
+        long softLimitMillis = availableMillis / (movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO) + incrementMillis * 3 / 4;
+        softLimitMillis = Math.max(1, Math.min(softLimitMillis, maxMillis / 2));
+        long hardLimitMillis = Math.min(softLimitMillis * HARD_LIMIT_FACTOR, maxMillis);
+        return new Time_Manager(softLimitMillis, hardLimitMillis, true);
+    }
+
+    /**
+     * Makes the limits for a fixed time per move
+     *
+     * @param moveTimeMillis The time to search for (in milliseconds)
+     * @return Time_Manager  The limits
+     */
+    public static Time_Manager forMoveTime(long moveTimeMillis) {
+        return new Time_Manager(moveTimeMillis, moveTimeMillis, false);
+    }
+
+    /**
+     * Helper method that starts the limits from now
+     */
+    private void start() {
+        startNanos = System.nanoTime();
+        hardDeadlineNanos = startNanos + hardLimitNanos;
+    }
+
+    /**
+     * Starts limits that were paused while pondering, once the opponent has made the expected move. Can be
+     * called from any thread while a search is using them.
+     */
+    public void ponderHit() {
+        long nowNanos = System.nanoTime();
+        hardDeadlineNanos = nowNanos - startNanos >= softLimitNanos ? nowNanos : startNanos + hardLimitNanos;
+    }
+
+    /**
+     * Pauses the limits while pondering, so that a search using them runs until it is stopped or
+     * ponderHit() is called
+     */
+    public void pause() {
+        hardDeadlineNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Getter method for the time after which the search must stop, even part way through an iteration
+     *
+     * @return long The deadline (as a System.nanoTime() value), or Long.MAX_VALUE while the limits are paused
+     */
+    public long getHardDeadlineNanos() {
+        return hardDeadlineNanos;
+    }
+
+    /**
+     * Getter method for the soft limit
+     *
+     * @return long The time the search aims to use (in milliseconds)
+     */
+    public long getSoftLimitMillis() {
+        return softLimitNanos / 1000000L;
+    }
+
+    /**
+     * Getter method for the hard limit
+     *
+     * @return long The time after which the search stops (in milliseconds)
+     */
+    public long getHardLimitMillis() {
+        return hardLimitNanos / 1000000L;
+    }
+
+    /**
+     * Decides, after an iteration of the search has finished, whether to stop or to search one ply deeper.
+     * Must be called after every finished iteration, since it keeps track of how the best move changes.
+     *
+     * @param rootMoveCount The number of legal moves in the position being searched
+     * @param bestMove      The best move of the iteration
+     * @param score         The score of the best move (in centipawns)
+     * @return boolean      Whether or not to stop searching
+     */
+    public boolean shouldStop(int rootMoveCount, int bestMove, int score) {
+        boolean isFirstIteration = previousBestMove == Move.NONE;
+        boolean hasScoreDropped = !isFirstIteration && score <= previousScore - SCORE_DROP_CENTIPAWNS;
+        stableIterations = bestMove == previousBestMove ? stableIterations + 1 : 0;
+        previousBestMove = bestMove;
+        previousScore = score;
+
+        if (hardDeadlineNanos == Long.MAX_VALUE) {
+            return false;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        if (rootMoveCount == 1) {
+            return true;
+        }
+        if (!isAdaptive) {
+            return elapsedNanos >= hardLimitNanos;
+        }
+        long limitNanos = softLimitNanos;
+        if (!isFirstIteration && stableIterations == 0) {
+            limitNanos = limitNanos * UNSTABLE_PERCENT / 100;
+        } else if (stableIterations >= STABLE_ITERATIONS) {
+            limitNanos = limitNanos * EASY_PERCENT / 100;
+        }
+        if (hasScoreDropped) {
+            limitNanos = limitNanos * SCORE_DROP_PERCENT / 100;
+        }
+        limitNanos = Math.min(limitNanos, hardLimitNanos);
+        // The next iteration would very likely not finish in what is left
+        return elapsedNanos * 2 >= limitNanos;
+    }
+}
@@ -0,0 +1,288 @@
+package ics3.chess;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size hash table that remembers the results of positions the search has already searched, keyed
+ * by their Zobrist keys. The same position is often reached by different move orders (a transposition),
+ * and then its stored score can be used instead of searching it again, or at least its stored best move can
+ * be searched first.
+ *
+ * The table is a single long[] so that it takes no more memory than asked for and creates no objects. Each
+ * entry is two longs: the data (move, score, depth, bound and age packed together) and the Zobrist key
+ * XORed with the data. Several search threads read and write the table at the same time without any
+ * locks. If two threads write the same entry at once, the two longs can end up coming from different
+ * writes, but then the key no longer matches once it is XORed with the data, so the mixed entry is simply
+ * treated as missing.
+ *
+ * Entries are grouped into buckets of four (64 bytes, one cache line). A position can be stored in any
+ * entry of its bucket; when the bucket is full, the entry that is least useful is replaced, which is the
+ * one searched to the lowest depth, counting entries left over from earlier searches as shallower.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Transposition_Table {
+
+    // The kinds of score an entry can hold: the exact score, or only a bound on it (after a cut-off, the real
+    // score is at least the stored score; when no move reached alpha, it is at most the stored score)
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    // The size of the table if none is given (in megabytes)
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    // The number of entries in a bucket, and the number of longs in an entry and in a bucket
+    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int LONGS_PER_BUCKET = ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+
+    // Positions of the fields packed into an entry's data (the move takes the lowest 16 bits)
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int AGE_SHIFT = 42;
+    private static final int AGE_MASK = 63;
+
+    // The entries (for each entry, the key XORed with the data, then the data)
+    private long[] table;
+    // The number of buckets minus one (the number of buckets is a power of two)
+    private int bucketMask;
+
+    // The age of the current search (entries written by earlier searches are replaced first)
+    private volatile int age;
+
+    // The number of probes and of probes that found their position, for tuning the size of the table
+    private final LongAdder probeCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * Constructor for the Transposition_Table class
+     *
+     * @param sizeMegabytes The most memory the table may take (in megabytes)
+     */
+    public Transposition_Table(int sizeMegabytes) {
+        resize(sizeMegabytes);
+    }
+
+    /**
+     * Changes the size of the table, which also clears it. Must not be called during a search.
+     *
+     * @param sizeMegabytes The most memory the table may take (in megabytes)
+     * @throws IllegalArgumentException If the size is less than one megabyte
+     */
+    public void resize(int sizeMegabytes) {
+        if (sizeMegabytes < 1) {
+            throw new IllegalArgumentException("The transposition table must be at least 1 MB");
+        }
+        // The largest power of two number of buckets that fits in the size
+        long bucketCount = Long.highestOneBit(sizeMegabytes * 1024L * 1024L / (LONGS_PER_BUCKET * 8));
+        // Java arrays are indexed by int, so the most buckets that fit in one array is 2^27, which is 8 GB (the
+        // largest Hash the UCI engine accepts)
+        bucketCount = Math.min(bucketCount, 1 << 27);
+        table = new long[(int) bucketCount * LONGS_PER_BUCKET];
+        bucketMask = (int) bucketCount - 1;
+        age = 0;
+        resetStatistics();
+    }
+
+    /**
+     * Removes every entry from the table. Must not be called during a search.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        age = 0;
+        resetStatistics();
+    }
+
+    /**
+     * Getter method for the size of the table
+     *
+     * @return long  The memory the table takes (in bytes)
+     */
+    public long getSizeBytes() {
+        return table.length * 8L;
+    }
+
+    /**
+     * Tells the table that a new search is starting, so that entries from earlier searches are replaced
+     * before entries from this one
+     */
+    public void newSearch() {
+        age = (age + 1) & AGE_MASK;
+    }
+
+    /**
+     * Looks up a position in the table
+     *
+     * @param key   The Zobrist key of the position
+     * @return long The entry's data (see getMove(), getScore(), getDepth() and getBound()), or 0 if the
+     *              position is not in the table
+     */
+    public long probe(long key) {
+        probeCount.increment();
+        int bucketIndex = getBucketIndex(key);
+        for (int i = bucketIndex; i < bucketIndex + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            long data = table[i + 1];
+            if (data != 0 && (table[i] ^ data) == key) {
+                hitCount.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores the result of searching a position. If the position is already in the table its entry is
+     * updated; otherwise the least useful entry of its bucket is replaced.
+     *
+     * @param key   The Zobrist key of the position
+     * @param move  The best move found, or Move.NONE if none is known
+     * @param score The score (mate scores must be relative to the position, not to the root)
+     * @param depth The depth the position was searched to (0 to 255)
+     * @param bound The kind of score (UPPER_BOUND, LOWER_BOUND or EXACT)
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int bucketIndex = getBucketIndex(key);
+        int currentAge = age;
+        int replaceIndex = bucketIndex;
+        int replaceValue = Integer.MAX_VALUE;
+        for (int i = bucketIndex; i < bucketIndex + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            long data = table[i + 1];
+            if (data != 0 && (table[i] ^ data) == key) {
+                // The position's own entry is always updated, keeping its best move if this search did not
+                // find one
+                if (move == Move.NONE) {
+                    move = getMove(data);
+                }
+                replaceIndex = i;
+                break;
+            }
+            // Otherwise an empty entry is used first, then the shallowest, with entries from earlier searches
+            // counting as 8 plies shallower for each search since
+            int value = data == 0 ? Integer.MIN_VALUE : getDepth(data) - 8 * ((currentAge - getAge(data)) & AGE_MASK);
+            if (value < replaceValue) {
+                replaceValue = value;
+                replaceIndex = i;
+            }
+        }
+        long data = (move & 0xFFFFL)
+                | (score & 0xFFFFL) << SCORE_SHIFT
+                | (long) Math.min(depth, 255) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) currentAge << AGE_SHIFT;
+        table[replaceIndex] = key ^ data;
+        table[replaceIndex + 1] = data;
+    }
+
+    /**
+     * Helper method that finds the index (in the table array) of the bucket of a position
+     *
+     * @param key  The Zobrist key of the position
+     * @return int The index of the bucket's first long
+     */
+    private int getBucketIndex(long key) {
+        // The upper half of the key chooses the bucket (any bits would do, since the key is random)
+        return (int) (key >>> 32 & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    /**
+     * Getter method for the best move stored in an entry
+     *
+     * @param data  The entry's data (from probe())
+     * @return int  The packed move, or Move.NONE
+     */
+    public static int getMove(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    /**
+     * Getter method for the score stored in an entry
+     *
+     * @param data  The entry's data (from probe())
+     * @return int  The score
+     */
+    public static int getScore(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    /**
+     * Getter method for the depth stored in an entry
+     *
+     * @param data  The entry's data (from probe())
+     * @return int  The depth the position was searched to
+     */
+    public static int getDepth(long data) {
+        return (int) (data >>> DEPTH_SHIFT & 0xFF);
+    }
+
+    /**
+     * Getter method for the kind of score stored in an entry
+     *
+     * @param data  The entry's data (from probe())
+     * @return int  UPPER_BOUND, LOWER_BOUND or EXACT
+     */
+    public static int getBound(long data) {
+        return (int) (data >>> BOUND_SHIFT & 3);
+    }
+
+    /**
+     * Helper method that returns the age of the search that wrote an entry
+     *
+     * @param data  The entry's data
+     * @return int  The age
+     */
+    private static int getAge(long data) {
+        return (int) (data >>> AGE_SHIFT & AGE_MASK);
+    }
+
+    /**
+     * Getter method for the number of times the table has been probed since the statistics were last reset
+     *
+     * @return long The number of probes
+     */
+    public long getProbeCount() {
+        return probeCount.sum();
+    }
+
+    /**
+     * Getter method for the fraction of probes that found their position since the statistics were last
+     * reset
+     *
+     * @return double The hit rate (0 to 1)
+     */
+    public double getHitRate() {
+        long probes = probeCount.sum();
+        return probes == 0 ? 0.0 : (double) hitCount.sum() / probes;
+    }
+
+    /**
+     * Resets the probe and hit counts
+     */
+    public void resetStatistics() {
+        probeCount.reset();
+        hitCount.reset();
+    }
+
+    /**
+     * Estimates how full the table is with entries from the current search, by looking at (up to) the
+     * first thousand entries
+     *
+     * @return int  The number of entries per thousand that were written by the current search
+     */
+    public int getFillPermille() {
+        int currentAge = age;
+        int sampleSize = Math.min(1000, table.length / LONGS_PER_ENTRY);
+        int used = 0;
+        for (int entry = 0; entry < sampleSize; entry++) {
+            long data = table[entry * LONGS_PER_ENTRY + 1];
+            if (data != 0 && getAge(data) == currentAge) {
+                used++;
+            }
+        }
+        return used * 1000 / sampleSize;
+    }
+}
@@ -0,0 +1,470 @@
+package ics3.chess;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the engine as a command-line program that speaks the Universal Chess Interface (UCI) protocol on
+ * standard input and output, so that chess GUIs, match runners and tuning tools can play it. No Swing
+ * classes are loaded.
+ *
+ * The commands that are understood are:
+ *   uci                                        the engine names itself and its options, then "uciok"
+ *   isready                                    "readyok" (answered at once, even during a search)
+ *   setoption name Hash value MB               the size of the transposition table
+ *   setoption name Threads value N             the number of search threads (Lazy SMP)
+ *   setoption name Ponder value true|false     accepted, so that GUIs will ask the engine to ponder
+ *   ucinewgame                                 clears the transposition table
+ *   position startpos|fen FEN [moves M1 M2 ...]
+ *   go [ponder] [infinite] [wtime T] [btime T] [winc T] [binc T] [movestogo N] [movetime T] [depth D] [nodes N]
+ *   stop                                       ends the search, which then sends its "bestmove"
+ *   ponderhit                                  the expected move was played: the ponder search carries on
+ *                                              as a normal search, with its time limit starting now
+ *   quit
+ *
+ * The time for each move is decided by a Time_Manager, from the clock and increment (or "movetime").
+ *
+ * The search runs on its own thread, so the thread reading the commands is always free to answer them. Each
+ * finished iteration is reported with an "info" line (depth, score, nodes, nodes per second, time,
+ * hashfull and principal variation). While pondering or searching with "infinite", the "bestmove" is held
+ * back until "stop" or "ponderhit" arrives, as the protocol requires.
+ *
+ * Usage:
+ *   java ics3.chess.Uci_Engine
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Uci_Engine implements Search_Listener {
+
+    // The name the engine gives itself
+    private static final String ENGINE_NAME = "ICS3 Chess";
+    private static final String ENGINE_AUTHOR = "Sukhveer Sahota";
+
+    // The limits of the options
+    private static final int MAX_HASH_MB = 8192;
+    private static final int MAX_THREADS = 256;
+
+    // Where the responses are written, and the lock that keeps lines from different threads apart
+    private final PrintStream output;
+    private final ReentrantLock outputLock = new ReentrantLock();
+
+    // The search, and the position the next search starts from
+    private final Lazy_Smp_Search search;
+    private Bitboard_Position position;
+
+    // The thread the searches run on, and the search running on it (null before the first)
+    private final ExecutorService searchThread;
+    private Future<?> currentSearch;
+
+    // Holds back the "bestmove" of a ponder or infinite search until "stop" or "ponderhit" arrives (null when
+    // the current search sends it as soon as it finishes)
+    private CountDownLatch bestMoveRelease;
+    // Whether or not the current search is pondering, and its time limits, which start on "ponderhit" (null
+    // for none)
+    private boolean isPondering;
+    private Time_Manager ponderTimeManager;
+
+    /**
+     * Constructor for the Uci_Engine class
+     *
+     * @param output Where the responses are written
+     */
+    public Uci_Engine(PrintStream output) {
+        this.output = output;
+        search = new Lazy_Smp_Search(1);
+        search.setListener(this);
+        searchThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "uci-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        position = new Bitboard_Position();
+        position.setFromFen(Bitboard_Position.START_FEN);
+    }
+
+    /**
+     * Reads and carries out commands until "quit" or the end of the input
+     *
+     * @param input Where the commands are read from
+     * @throws IOException If the input cannot be read
+     */
+    public void run(BufferedReader input) throws IOException {
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (!handleCommand(line.trim())) {
+                break;
+            }
+        }
+        stopSearch();
+        waitForSearch();
+    }
+
+    /**
+     * Helper method that carries out one command
+     *
+     * @param line     The line that was read
+     * @return boolean Whether or not to keep reading commands (false after "quit")
+     */
+    private boolean handleCommand(String line) {
+        String[] tokens = line.split("\\s+");
+        switch (tokens[0]) {
+            case "uci":
+                send("id name " + ENGINE_NAME);
+                send("id author " + ENGINE_AUTHOR);
+                send("option name Hash type spin default " + Transposition_Table.DEFAULT_SIZE_MB + " min 1 max " + MAX_HASH_MB);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("option name Ponder type check default false");
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "setoption":
+                waitForSearch();
+                setOption(line);
+                break;
+            case "ucinewgame":
+                waitForSearch();
+                search.getTranspositionTable().clear();
+                break;
+            case "position":
+                waitForSearch();
+                setPosition(tokens);
+                break;
+            case "go":
+                stopSearch();
+                waitForSearch();
+                startSearch(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "ponderhit":
+                ponderHit();
+                break;
+            case "quit":
+                return false;
+            default:
+                // Unknown commands (and "debug" and "register") are ignored, as the protocol asks
+        }
+        return true;
+    }
+
+    /**
+     * Helper method that carries out "setoption name NAME value VALUE"
+     *
+     * @param line The command
+     */
+    private void setOption(String line) {
+        int nameIndex = line.indexOf(" name ");
+        int valueIndex = line.indexOf(" value ");
+        if (nameIndex < 0) {
+            return;
+        }
+        String name = (valueIndex < 0 ? line.substring(nameIndex + 6) : line.substring(nameIndex + 6, valueIndex)).trim();
+        String value = valueIndex < 0 ? "" : line.substring(valueIndex + 7).trim();
+        try {
+            if (name.equalsIgnoreCase("Hash")) {
+                search.getTranspositionTable().resize(Math.min(Integer.parseInt(value), MAX_HASH_MB));
+            } else if (name.equalsIgnoreCase("Threads")) {
+                search.setThreadCount(Math.min(Integer.parseInt(value), MAX_THREADS));
+            } else if (!name.equalsIgnoreCase("Ponder")) {
+                send("info string unknown option " + name);
+            }
+        } catch (IllegalArgumentException e) {
+            send("info string invalid value for " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Helper method that carries out "position startpos|fen FEN [moves ...]". If the FEN or a move is not
+     * valid, the position is left as it was before the command.
+     *
+     * @param tokens The words of the command
+     */
+    private void setPosition(String[] tokens) {
+        Bitboard_Position newPosition = new Bitboard_Position();
+        int index = 1;
+        try {
+            if (tokens.length > 1 && tokens[1].equals("startpos")) {
+                newPosition.setFromFen(Bitboard_Position.START_FEN);
+                index = 2;
+            } else if (tokens.length > 1 && tokens[1].equals("fen")) {
+                StringBuilder fen = new StringBuilder();
+                for (index = 2; index < tokens.length && !tokens[index].equals("moves"); index++) {
+                    fen.append(tokens[index]).append(' ');
+                }
+                newPosition.setFromFen(fen.toString().trim());
+            } else {
+                send("info string position needs startpos or fen");
+                return;
+            }
+        } catch (RuntimeException e) {
+            send("info string invalid FEN: " + e.getMessage());
+            return;
+        }
+        if (index < tokens.length && tokens[index].equals("moves")) {
+            int[] moves = new int[Move_Generator.MAX_MOVES];
+            for (index++; index < tokens.length; index++) {
+                int move = findLegalMove(newPosition, tokens[index], moves);
+                if (move == Move.NONE) {
+                    send("info string illegal move " + tokens[index]);
+                    return;
+                }
+                newPosition.makeMove(move);
+            }
+        }
+        // The position keeps the moves that led to it, so that the search recognises repetitions of them
+        position = newPosition;
+    }
+
+    /**
+     * Helper method that finds the legal move written in coordinate notation (castling is written as the
+     * king's move, e.g. "e1g1")
+     *
+     * @param position           The position
+     * @param coordinateNotation The move
+     * @param moves              An array to generate the legal moves into
+     * @return int               The packed move, or Move.NONE if it is not legal
+     */
+    private static int findLegalMove(Bitboard_Position position, String coordinateNotation, int[] moves) {
+        int moveCount = Move_Generator.generateLegalMoves(position, moves, 0);
+        for (int i = 0; i < moveCount; i++) {
+            if (Move.toCoordinateNotation(moves[i]).equals(coordinateNotation)) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Helper method that carries out "go", starting a search on the search thread
+     *
+     * @param tokens The words of the command
+     */
+    private void startSearch(String[] tokens) {
+        long whiteTime = -1;
+        long blackTime = -1;
+        long whiteIncrement = 0;
+        long blackIncrement = 0;
+        int movesToGo = 0;
+        long moveTime = 0;
+        int depth = Search_Engine.MAX_PLY - 1;
+        long nodes = 0;
+        boolean isInfinite = false;
+        boolean ponder = false;
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                switch (tokens[i]) {
+                    case "wtime":
+                        whiteTime = Long.parseLong(tokens[++i]);
+                        break;
+                    case "btime":
+                        blackTime = Long.parseLong(tokens[++i]);
+                        break;
+                    case "winc":
+                        whiteIncrement = Long.parseLong(tokens[++i]);
+                        break;
+                    case "binc":
+                        blackIncrement = Long.parseLong(tokens[++i]);
+                        break;
+                    case "movestogo":
+                        movesToGo = Integer.parseInt(tokens[++i]);
+                        break;
+                    case "movetime":
+                        moveTime = Long.parseLong(tokens[++i]);
+                        break;
+                    case "depth":
+                        depth = Math.max(1, Math.min(Integer.parseInt(tokens[++i]), Search_Engine.MAX_PLY - 1));
+                        break;
+                    case "nodes":
+                        nodes = Long.parseLong(tokens[++i]);
+                        break;
+                    case "infinite":
+                        isInfinite = true;
+                        break;
+                    case "ponder":
+                        ponder = true;
+                        break;
+                    default:
+                        // Other limits (e.g. "mate" and "searchmoves") are not supported and are ignored
+                }
+            }
+        } catch (RuntimeException e) {
+            send("info string invalid go command");
+        }
+
+        // A ponder search runs with its limits paused until "ponderhit"; an infinite one has none
+        Time_Manager time_manager = null;
+        boolean isWhite = position.getSideToMove() == Bitboard_Position.WHITE;
+        long remainingTime = isWhite ? whiteTime : blackTime;
+        if (moveTime > 0) {
+            time_manager = Time_Manager.forMoveTime(moveTime);
+        } else if (remainingTime >= 0) {
+            time_manager = Time_Manager.forClock(remainingTime, isWhite ? whiteIncrement : blackIncrement, movesToGo);
+        }
+        if (isInfinite) {
+            time_manager = null;
+        } else if (ponder && time_manager != null) {
+            time_manager.pause();
+        }
+
+        Bitboard_Position rootPosition = new Bitboard_Position(position);
+        int maxDepth = depth;
+        Time_Manager search_time_manager = time_manager;
+        search.setNodeLimit(nodes);
+        ponderTimeManager = ponder ? time_manager : null;
+        isPondering = ponder;
+        bestMoveRelease = isInfinite || ponder ? new CountDownLatch(1) : null;
+        CountDownLatch release = bestMoveRelease;
+        // The search is armed here rather than on the search thread, so that a "stop" that arrives before
+        // that thread starts it still stops it
+        search.prepare();
+        currentSearch = searchThread.submit(() -> {
+            int bestMove = search.search(rootPosition, maxDepth, search_time_manager);
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sendBestMove(bestMove, search.getPrincipalVariation());
+        });
+    }
+
+    /**
+     * Helper method that carries out "ponderhit": the ponder search goes on as an ordinary search, whose time
+     * limits start now (see Time_Manager.ponderHit), and sends its move as soon as it finishes
+     */
+    private void ponderHit() {
+        if (!isPondering) {
+            return;
+        }
+        isPondering = false;
+        if (ponderTimeManager != null) {
+            ponderTimeManager.ponderHit();
+        }
+        bestMoveRelease.countDown();
+    }
+
+    /**
+     * Helper method that stops the current search (if any) and lets it send its move
+     */
+    private void stopSearch() {
+        if (currentSearch == null || currentSearch.isDone()) {
+            return;
+        }
+        isPondering = false;
+        search.stop();
+        if (bestMoveRelease != null) {
+            bestMoveRelease.countDown();
+        }
+    }
+
+    /**
+     * Helper method that waits for the current search (if any) to finish and send its move. A ponder or
+     * infinite search is only waited for once it has been stopped.
+     */
+    private void waitForSearch() {
+        if (currentSearch == null) {
+            return;
+        }
+        if (bestMoveRelease != null && bestMoveRelease.getCount() > 0) {
+            // The protocol does not allow anything but "stop" or "ponderhit" here, so treat it as a stop
+            stopSearch();
+        }
+        try {
+            currentSearch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The search failed", e.getCause());
+        }
+    }
+
+    /**
+     * Helper method that sends the result of a search
+     *
+     * @param bestMove           The best move, or Move.NONE if there are no legal moves
+     * @param principalVariation The best line found (its second move is the reply to ponder on)
+     */
+    private void sendBestMove(int bestMove, int[] principalVariation) {
+        if (bestMove == Move.NONE) {
+            // The protocol has no way to say that there is no move; "0000" is the usual null move
+            send("bestmove 0000");
+        } else if (principalVariation.length > 1 && principalVariation[0] == bestMove) {
+            send("bestmove " + Move.toCoordinateNotation(bestMove) + " ponder " + Move.toCoordinateNotation(principalVariation[1]));
+        } else {
+            send("bestmove " + Move.toCoordinateNotation(bestMove));
+        }
+    }
+
+    /**
+     * Implementation of the depthCompleted() method in the Search_Listener interface. It sends an "info"
+     * line about the iteration.
+     *
+     * @param depth              The depth that was finished
+     * @param score              The score of the best move in centipawns
+     * @param nodes              The number of positions searched so far
+     * @param elapsedNanos       The time the search has taken so far (in nanoseconds)
+     * @param principalVariation The best line found
+     */
+    @Override
+    public void depthCompleted(int depth, int score, long nodes, long elapsedNanos, int[] principalVariation) {
+        StringBuilder line = new StringBuilder();
+        line.append("info depth ").append(depth);
+        if (Search_Engine.isMateScore(score)) {
+            // A mate score is the mate score less the number of half-moves to the mate
+            int plies = Search_Engine.MATE_SCORE - Math.abs(score);
+            line.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -(plies / 2));
+        } else {
+            line.append(" score cp ").append(score);
+        }
+        line.append(" nodes ").append(nodes)
+                .append(" nps ").append(nodes * 1000000000L / Math.max(1, elapsedNanos))
+                .append(" time ").append(elapsedNanos / 1000000)
+                .append(" hashfull ").append(search.getTranspositionTable().getFillPermille())
+                .append(" pv");
+        for (int move : principalVariation) {
+            line.append(' ').append(Move.toCoordinateNotation(move));
+        }
+        send(line.toString());
+    }
+
+    /**
+     * Helper method that sends one line. Can be called from any thread.
+     *
+     * @param line The line to send (without the line break)
+     */
+    private void send(String line) {
+        outputLock.lock();
+        try {
+            output.println(line);
+            output.flush();
+        } finally {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * Main method for the UCI engine
+     *
+     * @param args Not used
+     * @throws IOException If standard input cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        Uci_Engine engine = new Uci_Engine(System.out);
+        engine.run(new BufferedReader(new InputStreamReader(System.in)));
+    }
+}
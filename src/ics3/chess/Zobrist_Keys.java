@@ -0,0 +1,196 @@
+package ics3.chess;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class holding the random numbers used to give every position a 64-bit Zobrist key. The key
+ * of a position is the XOR of one number for each piece on each square, one for each castling right
+ * that is available, one for the column of a usable en passant square, and one when white is to move.
+ * Because XOR undoes itself, a move only has to XOR in and out the few numbers it changes.
+ *
+ * The numbers are stored in the same layout as the Polyglot opening book format (781 numbers: 768
+ * for pieces, 4 for castling rights, 8 for en passant columns and 1 for the side to move). By default
+ * the numbers are generated from a fixed seed. Keys that match the ones in opening books made by other
+ * programs need Polyglot's own numbers: if the "ics3.chess.zobristRandomNumbers" system property names a
+ * file, the numbers are read from it instead. The file must hold exactly 781 numbers, each written as
+ * "0x" followed by 16 hex digits, in Polyglot order (Polyglot's own Random64 table, copied from its
+ * source code, can be used as it is). Whether the numbers in use are Polyglot's is checked against the key
+ * the Polyglot format gives for the starting position, so that an opening book can warn that it will never
+ * match anything.
+ *
+ * @author Sukhveer Sahota
+ * @version 1.0
+ * @since October 18th, 2026
+ */
+public final class Zobrist_Keys {
+
+    // The system property naming a file of random numbers to use instead of the generated ones
+    public static final String RANDOM_NUMBERS_PROPERTY = "ics3.chess.zobristRandomNumbers";
+
+    // The random numbers, in Polyglot order
+    private static final long[] RANDOM = new long[781];
+    // Offsets of the castling, en passant and side to move numbers in the RANDOM array
+    private static final int CASTLING_OFFSET = 768;
+    private static final int EN_PASSANT_OFFSET = 772;
+    private static final int WHITE_TO_MOVE_OFFSET = 780;
+
+    // The numbers for each piece (colour * 6 + type) on each square, rearranged from the RANDOM array
+    private static final long[][] PIECE_SQUARE_KEYS = new long[12][64];
+    // The XOR of the castling numbers for every combination of castling right flags
+    private static final long[] CASTLING_KEYS = new long[16];
+
+    // The key of the starting position with Polyglot's numbers, as given in the Polyglot book format
+    private static final long POLYGLOT_START_POSITION_KEY = 0x463B96181691FC9CL;
+    // The piece types on the back rows of the starting position, from the a column to the h column
+    private static final int[] BACK_ROW_TYPES = {Bitboard_Position.ROOK, Bitboard_Position.KNIGHT, Bitboard_Position.BISHOP,
+            Bitboard_Position.QUEEN, Bitboard_Position.KING, Bitboard_Position.BISHOP, Bitboard_Position.KNIGHT, Bitboard_Position.ROOK};
+
+    static {
+        String randomNumbersFile = System.getProperty(RANDOM_NUMBERS_PROPERTY);
+        if (randomNumbersFile != null) {
+            loadRandomNumbers(Path.of(randomNumbersFile));
+        } else {
+            // Fixed seed, so that the same position always has the same key
+            long seed = 0x2F0B3D5A91C6E487L;
+            for (int i = 0; i < RANDOM.length; i++) {
+                seed += 0x9E3779B97F4A7C15L;
+                RANDOM[i] = mix(seed);
+            }
+        }
+        fillTables();
+    }
+
+    /**
+     * Private constructor, since this class only has static methods
+     */
+    private Zobrist_Keys() {
+    }
+
+    /**
+     * Helper method that scrambles the bits of a number (the SplitMix64 finaliser)
+     *
+     * @param value The number to scramble
+     * @return long The scrambled number
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Helper method that reads the random numbers from a file. Every "0x" followed by 16 hex digits in the
+     * file is taken as the next number, and anything else is ignored.
+     *
+     * @param file The file
+     * @throws UncheckedIOException  If the file cannot be read
+     * @throws IllegalStateException If the file does not hold exactly 781 numbers
+     */
+    private static void loadRandomNumbers(Path file) {
+        String text;
+        try {
+            text = Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the Zobrist random numbers from " + file, e);
+        }
+        Matcher matcher = Pattern.compile("0[xX]([0-9a-fA-F]{16})").matcher(text);
+        int count = 0;
+        while (matcher.find()) {
+            if (count == RANDOM.length) {
+                throw new IllegalStateException(file + " holds more than " + RANDOM.length + " random numbers");
+            }
+            RANDOM[count++] = Long.parseUnsignedLong(matcher.group(1), 16);
+        }
+        if (count != RANDOM.length) {
+            throw new IllegalStateException(file + " holds " + count + " random numbers instead of " + RANDOM.length);
+        }
+    }
+
+    /**
+     * Helper method that rebuilds the lookup tables from the RANDOM array
+     */
+    private static void fillTables() {
+        for (int colour = Bitboard_Position.WHITE; colour <= Bitboard_Position.BLACK; colour++) {
+            for (int type = Bitboard_Position.PAWN; type <= Bitboard_Position.KING; type++) {
+                // Polyglot numbers the pieces black pawn, white pawn, black knight, ... and the squares
+                // from a1 (row 7 here) upwards, so the row is flipped
+                int polyglotPiece = type * 2 + (colour == Bitboard_Position.WHITE ? 1 : 0);
+                for (int square = 0; square < 64; square++) {
+                    PIECE_SQUARE_KEYS[colour * 6 + type][square] = RANDOM[polyglotPiece * 64 + (square ^ 56)];
+                }
+            }
+        }
+        for (int rights = 0; rights < 16; rights++) {
+            long key = 0L;
+            for (int bit = 0; bit < 4; bit++) {
+                if ((rights & (1 << bit)) != 0) {
+                    key ^= RANDOM[CASTLING_OFFSET + bit];
+                }
+            }
+            CASTLING_KEYS[rights] = key;
+        }
+    }
+
+    /**
+     * Works out whether the numbers in use are Polyglot's own, by comparing the key they give the starting
+     * position with the one the Polyglot format gives
+     *
+     * @return boolean Whether or not the keys match those of Polyglot opening books
+     */
+    public static boolean usesPolyglotRandomNumbers() {
+        // The starting position's castling rights are all four flags
+        long key = CASTLING_KEYS[15] ^ RANDOM[WHITE_TO_MOVE_OFFSET];
+        for (int column = 0; column < 8; column++) {
+            key ^= PIECE_SQUARE_KEYS[Bitboard_Position.BLACK * 6 + BACK_ROW_TYPES[column]][column];
+            key ^= PIECE_SQUARE_KEYS[Bitboard_Position.BLACK * 6 + Bitboard_Position.PAWN][8 + column];
+            key ^= PIECE_SQUARE_KEYS[Bitboard_Position.WHITE * 6 + Bitboard_Position.PAWN][48 + column];
+            key ^= PIECE_SQUARE_KEYS[Bitboard_Position.WHITE * 6 + BACK_ROW_TYPES[column]][56 + column];
+        }
+        return key == POLYGLOT_START_POSITION_KEY;
+    }
+
+    /**
+     * Getter method for the number of a piece standing on a square
+     *
+     * @param piece  The piece (colour * 6 + type)
+     * @param square The square
+     * @return long  The Zobrist number
+     */
+    public static long getPieceKey(int piece, int square) {
+        return PIECE_SQUARE_KEYS[piece][square];
+    }
+
+    /**
+     * Getter method for the combined number of a set of castling rights
+     *
+     * @param castlingRights The castling right flags
+     * @return long          The Zobrist number
+     */
+    public static long getCastlingKey(int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * Getter method for the number of an en passant square's column
+     *
+     * @param column The column of the en passant square
+     * @return long  The Zobrist number
+     */
+    public static long getEnPassantKey(int column) {
+        return RANDOM[EN_PASSANT_OFFSET + column];
+    }
+
+    /**
+     * Getter method for the number that is included when white is to move
+     *
+     * @return long The Zobrist number
+     */
+    public static long getWhiteToMoveKey() {
+        return RANDOM[WHITE_TO_MOVE_OFFSET];
+    }
+}